@@ -0,0 +1,62 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import abstractfactory.SelvaPieceFactory;
+import abstractfactory.SelvaPieceFactoryImpl;
+import builder.SelvaTabletopBuilder;
+import builder.TabletopDirector;
+import builder.TabletopProduct;
+import composite.TabletopComponent;
+import factorymethod.SelvaCellCreator;
+import flyweight.TabletopFlyweightConcreteCreator;
+import prototype.BoardTemplateRegistry;
+
+/** Montagem do tabuleiro e renderização do Composite dos tiles. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardConstructionBenchmark {
+    private final SelvaCellCreator cellCreator = new SelvaCellCreator();
+    private final TabletopFlyweightConcreteCreator flyFactory = new TabletopFlyweightConcreteCreator();
+    private final SelvaPieceFactory pieceFactory = new SelvaPieceFactoryImpl();
+    private TabletopComponent boardTiles;
+
+    @Setup
+    public void setup() {
+        boardTiles = GameFixture.newGame().getBoard().getTiles().get(0);
+    }
+
+    /** Pipeline completo do Builder (células, tiles e peças), sem renderizar as células. */
+    @Benchmark
+    public TabletopProduct directorConstruct() {
+        TabletopDirector director = new TabletopDirector(new SelvaTabletopBuilder().withRendering(false));
+        return director.construct(7, 9, cellCreator, flyFactory, pieceFactory);
+    }
+
+    /** Cópia do modelo registrado, usada por GameFacade.setupSelva. */
+    @Benchmark
+    public TabletopProduct templateRegistry() {
+        return BoardTemplateRegistry.shared().create(7, 9, cellCreator, flyFactory, pieceFactory);
+    }
+
+    /** TabletopComposite.operation() sobre os 63 tiles do tabuleiro. */
+    @Benchmark
+    public String compositeOperation() {
+        return boardTiles.operation();
+    }
+}
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import abstractfactory.SelvaPieceFactory;
+import abstractfactory.SelvaPieceFactoryImpl;
+import builder.TabletopProduct;
+import command.CommandLog;
+import enums.PieceKind;
+import context.PlayerSide;
+import facade.GameFacade;
+import factorymethod.SelvaCellCreator;
+import flyweight.TabletopFlyweightConcreteCreator;
+import log.Level;
+import log.Log;
+import singleton.TurnManager;
+
+/**
+ * Partidas para os benchmarks: tabuleiro Selva 7x9 padrão, log desligado e jogadas descartadas
+ * (sem disco), para medir só o caminho da jogada.
+ */
+final class GameFixture {
+
+    /** Elefante branco na posição inicial. */
+    static final int ELEFANTE_X = 6, ELEFANTE_Y = 2;
+
+    private GameFixture() {
+    }
+
+    static GameFacade newGame() {
+        Log.setLevel(Level.OFF);
+        GameFacade facade = new GameFacade(CommandLog.DISCARD, TurnManager.newInstance());
+        facade.setupSelva(7, 9,
+                          new SelvaCellCreator(),
+                          new TabletopFlyweightConcreteCreator(),
+                          new SelvaPieceFactoryImpl());
+        return facade;
+    }
+
+    /** Troca as peças do tabuleiro pelas 16 da abertura completa do Selva (casas da fábrica). */
+    static void standardOpening(TabletopProduct board) {
+        SelvaPieceFactory pieces = new SelvaPieceFactoryImpl();
+        board.clearPieces();
+        for (PlayerSide side : PlayerSide.values()) {
+            for (PieceKind kind : PieceKind.values()) {
+                board.placePiece(pieces.create(kind.getNome(), side));
+            }
+        }
+    }
+}
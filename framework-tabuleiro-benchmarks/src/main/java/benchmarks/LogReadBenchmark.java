@@ -0,0 +1,108 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import command.CommandLogManager;
+import context.PlayerSide;
+import enums.PieceKind;
+import journal.MoveJournal;
+import journal.MoveRecord;
+import movegen.MoveBuffer;
+import movegen.PackedMove;
+
+/**
+ * Leitura de logs grandes: o log em texto e o journal binário, pela leitura em stream
+ * ({@code readMoves}) e pela leitura das jogadas codificadas em um {@link MoveBuffer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogReadBenchmark {
+
+    private static final int WIDTH = 7;
+
+    @Param({"100000"})
+    public int moves;
+
+    private Path directory;
+    private Path textLog;
+    private MoveJournal journal;
+    private int gameId;
+    private final MoveBuffer packed = new MoveBuffer();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("selva-bench");
+        textLog = directory.resolve("command.log");
+        journal = MoveJournal.open(directory.resolve("journal"));
+        gameId = journal.newGameId();
+        try (Writer out = Files.newBufferedWriter(textLog, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < moves; i++) {
+                int from = 2 + (i & 1), to = 3 - (i & 1);
+                out.write("MoverPecaCommand;Elefante;WHITE;6;" + from + ";6;" + to + "\n");
+                journal.append(gameId, PackedMove.encode(from * WIDTH + 6, to * WIDTH + 6,
+                                                         PieceKind.ELEFANTE, PlayerSide.WHITE, null, 0), WIDTH);
+            }
+        }
+        journal.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try {
+                    Files.delete(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /** Log em texto lido em stream e convertido em MoveRecord. */
+    @Benchmark
+    public void readTextLog(Blackhole bh) throws IOException {
+        try (Stream<MoveRecord> records = CommandLogManager.readMoves(textLog)) {
+            records.forEach(bh::consume);
+        }
+    }
+
+    /** Journal binário lido em stream pelo índice da partida. */
+    @Benchmark
+    public void readJournal(Blackhole bh) {
+        CommandLogManager.readMoves(journal, gameId, 0).forEach(bh::consume);
+    }
+
+    /** Journal binário lido em um buffer de jogadas codificadas, sem objetos por jogada. */
+    @Benchmark
+    public int readJournalPacked() {
+        return journal.read(gameId, 0, WIDTH, packed);
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import builder.TabletopProduct;
+import command.CommandInvoker;
+import command.CommandLog;
+import command.MoverPecaCommand;
+import context.Peca;
+import context.PlayerSide;
+import facade.GameFacade;
+import observer.TabletopConcreteSubject;
+import responsability.BoundsValidator;
+import responsability.CaptureValidator;
+import responsability.CellEntryValidator;
+import responsability.MoveValidator;
+import responsability.ValidationKernel;
+
+/**
+ * Caminho da jogada. Cada operação leva o elefante branco uma casa à frente e de volta,
+ * para o tabuleiro voltar ao estado inicial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveBenchmark {
+    private static final int X = GameFixture.ELEFANTE_X, Y = GameFixture.ELEFANTE_Y;
+
+    private GameFacade facade;
+    private TabletopProduct board;
+    private Peca elefante;
+    private MoveValidator validatorChain;
+    private ValidationKernel validationKernel;
+    private CommandInvoker invoker;
+    private TabletopConcreteSubject subject;
+    private MoverPecaCommand command;
+
+    @Setup
+    public void setup() {
+        facade = GameFixture.newGame();
+        board = facade.getBoard();
+        elefante = board.getPieceAt(X, Y);
+        validatorChain = new BoundsValidator(new CellEntryValidator(new CaptureValidator(null)));
+        validationKernel = ValidationKernel.compile(validatorChain);
+        invoker = new CommandInvoker();
+        subject = new TabletopConcreteSubject("benchmark");
+        command = new MoverPecaCommand(elefante, board, X, Y, X, Y + 1, subject, CommandLog.DISCARD);
+    }
+
+    /** GameFacade.executeMove de ponta a ponta (validação, comando, log, repetição), ida e volta. */
+    @Benchmark
+    public boolean executeMove() {
+        boolean ida = facade.executeMove("Elefante", PlayerSide.WHITE, X, Y, X, Y + 1);
+        boolean volta = facade.executeMove("Elefante", PlayerSide.WHITE, X, Y + 1, X, Y);
+        return ida & volta;
+    }
+
+    /** Só a cadeia de validadores (Chain of Responsibility). */
+    @Benchmark
+    public boolean validatorChain() {
+        return validatorChain.validate(elefante, board, X, Y, X, Y + 1);
+    }
+
+    /** A mesma cadeia compilada no ValidationKernel (consulta à CaptureMatrix). */
+    @Benchmark
+    public boolean validationKernel() {
+        return validationKernel.validate(elefante, board, X, Y, X, Y + 1);
+    }
+
+    /** CommandInvoker: executa o comando (reaproveitado) e o desfaz pelo UndoLog. */
+    @Benchmark
+    public Object executeAndUndo() {
+        invoker.executeCommand(command.reset(elefante, X, Y, X, Y + 1));
+        invoker.undo();
+        return invoker;
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import context.PlayerSide;
+import context.Position;
+import facade.GameFacade;
+import movegen.MoveBuffer;
+
+/** Consulta de movimentos válidos, com o cache de posições aquecido e vazio. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+    private GameFacade facade;
+    private final MoveBuffer buffer = new MoveBuffer();
+
+    @Setup
+    public void setup() {
+        facade = GameFixture.newGame();
+    }
+
+    @Benchmark
+    public List<Position> getValidMoves() {
+        return facade.getValidMoves(GameFixture.ELEFANTE_X, GameFixture.ELEFANTE_Y);
+    }
+
+    /** Gera os movimentos do zero a cada chamada. */
+    @Benchmark
+    public List<Position> getValidMovesUncached() {
+        facade.getMoveCache().clear();
+        return facade.getValidMoves(GameFixture.ELEFANTE_X, GameFixture.ELEFANTE_Y);
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        return facade.generateMoves(PlayerSide.WHITE, buffer);
+    }
+}
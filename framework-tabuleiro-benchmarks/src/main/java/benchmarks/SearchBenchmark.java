@@ -0,0 +1,73 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import builder.TabletopProduct;
+import context.PlayerSide;
+import search.SearchEngine;
+import search.SearchResult;
+import search.TranspositionTable;
+
+/**
+ * Velocidade do motor de busca na abertura completa do Selva: cada operação é uma busca de
+ * profundidade fixa com a tabela de transposição vazia. O contador {@code nodes} sai em nós por
+ * segundo, somados entre as threads; variando {@code threads} ({@code -p threads=1,2,4}) ele dá a
+ * curva de ganho da busca paralela. A tabela de speedup pronta sai de {@link SearchSpeedup}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({ "6" })
+    public int depth;
+
+    @Param({ "1" })
+    public int threads;
+
+    private TabletopProduct board;
+    private SearchEngine engine;
+
+    /** Nós visitados; como contador de operações, o JMH o reporta em nós por segundo. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+    }
+
+    @Setup
+    public void setup() {
+        board = GameFixture.newGame().getBoard();
+        GameFixture.standardOpening(board);
+        engine = new SearchEngine(TranspositionTable.ofMegabytes(1), threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public SearchResult search(Nodes counter) {
+        engine.getTranspositionTable().clear();
+        SearchResult result = engine.search(board, PlayerSide.WHITE, Long.MAX_VALUE, depth);
+        counter.nodes += result.getNodes();
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import builder.TabletopProduct;
+import context.PlayerSide;
+import search.SearchEngine;
+import search.SearchResult;
+import search.TranspositionTable;
+
+/**
+ * Curva de ganho da busca paralela: para 1 até N threads, busca a abertura completa por um tempo
+ * fixo e imprime os nós por segundo (somados entre as threads), o ganho sobre uma thread e a
+ * profundidade alcançada. O JIT é aquecido antes da primeira medida, para a linha de uma thread
+ * não sair subestimada; cada número de threads tem o seu motor e começa com a tabela vazia.
+ *
+ * Uso: {@code java -cp benchmarks.jar benchmarks.SearchSpeedup [threads máx.] [ms por busca]};
+ * o padrão é uma thread por processador e 2000 ms.
+ */
+public class SearchSpeedup {
+    private static final int WARMUP_SEARCHES = 3;
+    private static final int TABLE_MEGABYTES = 64;
+
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+
+        TabletopProduct board = GameFixture.newGame().getBoard();
+        GameFixture.standardOpening(board);
+
+        try (SearchEngine warmup = new SearchEngine(TranspositionTable.ofMegabytes(TABLE_MEGABYTES))) {
+            for (int i = 0; i < WARMUP_SEARCHES; i++) {
+                warmup.search(board, PlayerSide.WHITE, millis);
+            }
+        }
+
+        System.out.printf("%7s %12s %12s %8s %6s%n", "threads", "nós", "nós/s", "ganho", "prof.");
+        long baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            try (SearchEngine engine = new SearchEngine(TranspositionTable.ofMegabytes(TABLE_MEGABYTES), threads)) {
+                SearchResult result = engine.search(board, PlayerSide.WHITE, millis);
+                long nps = result.getNodesPerSecond();
+                if (threads == 1) baseline = nps;
+                System.out.printf("%7d %12d %12d %7.2fx %6d%n", threads, result.getNodes(), nps,
+                                  baseline == 0 ? 0.0 : (double) nps / baseline, result.getDepth());
+            }
+        }
+    }
+}
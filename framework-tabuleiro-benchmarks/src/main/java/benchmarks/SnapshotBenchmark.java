@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import builder.PersistentPosition;
+import builder.TabletopProduct;
+import codec.BoardSnapshotCodec;
+import context.PlayerSide;
+import memento.BoardMemento;
+
+/** Cópias e snapshots do tabuleiro. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    private TabletopProduct board;
+    private PersistentPosition position;
+    private int from, to;
+
+    @Setup
+    public void setup() {
+        board = GameFixture.newGame().getBoard();
+        position = board.snapshot();
+        from = board.squareOf(GameFixture.ELEFANTE_X, GameFixture.ELEFANTE_Y);
+        to = board.squareOf(GameFixture.ELEFANTE_X - 1, GameFixture.ELEFANTE_Y);
+    }
+
+    @Benchmark
+    public TabletopProduct deepClone() {
+        return board.deepClone();
+    }
+
+    @Benchmark
+    public BoardMemento boardMemento() {
+        return new BoardMemento(board, PlayerSide.WHITE);
+    }
+
+    @Benchmark
+    public PersistentPosition persistentSnapshot() {
+        return board.snapshot();
+    }
+
+    /** Linha alternativa a partir de uma versão: só a raiz e os blocos alterados são copiados. */
+    @Benchmark
+    public PersistentPosition persistentBranch() {
+        return position.move(from, to);
+    }
+
+    @Benchmark
+    public TabletopProduct codecCopy() {
+        return BoardSnapshotCodec.copy(board);
+    }
+}
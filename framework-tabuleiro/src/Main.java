@@ -33,5 +33,8 @@ public class Main {
         game.executeMove("Leão", PlayerSide.WHITE, 0, 3, 1, 3);
 
         // 6) Você pode continuar chamando outras operações via facade...
+
+        // 7) Grava as jogadas pendentes no log
+        game.close();
     }
 }
@@ -16,6 +16,12 @@ public class NullPiece extends Peca {
                                  TabletopSubject subject) {
                 return false;
             }
+
+            @Override
+            public boolean podeMover(Peca peca, TabletopProduct board,
+                                     int ox, int oy, int dx, int dy) {
+                return false;
+            }
         }, pos);
     }
 
@@ -14,6 +14,10 @@ import strategy.LoboMovimentoStrategy;
 import strategy.GatoMovimentoStrategy;
 import strategy.RatoMovimentoStrategy;
 
+/**
+ * Peças do Selva na abertura padrão do tabuleiro 7x9, com {@code Position(x, y)}: as brancas
+ * nas linhas 0-2 (toca em (3,0)) e as pretas no espelho, nas linhas 6-8.
+ */
 public class SelvaPieceFactoryImpl extends SelvaPieceFactory {
 
     @Override
@@ -21,23 +25,23 @@ public class SelvaPieceFactoryImpl extends SelvaPieceFactory {
         Position pos = (side == PlayerSide.WHITE)
             ? new Position(6, 2)
             : new Position(0, 6);
-        return new Elefante(side, pos, new ElefanteMovimentoStrategy());
+        return new Elefante(side, pos, ElefanteMovimentoStrategy.INSTANCE);
     }
 
     @Override
     public Peca createLeao(PlayerSide side) {
         Position pos = (side == PlayerSide.WHITE)
-            ? new Position(7, 3)
-            : new Position(0, 0);
-        return new Leao(side, pos, new LeaoMovimentoStrategy());
+            ? new Position(0, 0)
+            : new Position(6, 8);
+        return new Leao(side, pos, LeaoMovimentoStrategy.INSTANCE);
     }
 
     @Override
     public Peca createTigre(PlayerSide side) {
         Position pos = (side == PlayerSide.WHITE)
             ? new Position(6, 0)
-            : new Position(0, 2);
-        return new Tigre(side, pos, new TigreMovimentoStrategy());
+            : new Position(0, 8);
+        return new Tigre(side, pos, TigreMovimentoStrategy.INSTANCE);
 
         
     }
@@ -45,40 +49,40 @@ public class SelvaPieceFactoryImpl extends SelvaPieceFactory {
     @Override
     public Peca createLeopardo(PlayerSide side) {
         Position pos = (side == PlayerSide.WHITE)
-            ? new Position(6, 4)
-            : new Position(2, 6);
-        return new Leopardo(side, pos, new LeopardoMovimentoStrategy());
+            ? new Position(2, 2)
+            : new Position(4, 6);
+        return new Leopardo(side, pos, LeopardoMovimentoStrategy.INSTANCE);
     }
 
     @Override
     public Peca createCao(PlayerSide side) {
         Position pos = (side == PlayerSide.WHITE)
-            ? new Position(5, 1)
-            : new Position(1, 5);
-        return new Cao(side, pos, new CaoMovimentoStrategy());
+            ? new Position(1, 1)
+            : new Position(5, 7);
+        return new Cao(side, pos, CaoMovimentoStrategy.INSTANCE);
     }
 
     @Override
     public Peca createLobo(PlayerSide side) {
         Position pos = (side == PlayerSide.WHITE)
-            ? new Position(5, 5)
-            : new Position(1, 1);
-        return new Lobo(side, pos, new LoboMovimentoStrategy());
+            ? new Position(4, 2)
+            : new Position(2, 6);
+        return new Lobo(side, pos, LoboMovimentoStrategy.INSTANCE);
     }
 
     @Override
     public Peca createGato(PlayerSide side) {
         Position pos = (side == PlayerSide.WHITE)
-            ? new Position(7, 1)
+            ? new Position(5, 1)
             : new Position(1, 7);
-        return new Gato(side, pos, new GatoMovimentoStrategy());
+        return new Gato(side, pos, GatoMovimentoStrategy.INSTANCE);
     }
 
     @Override
     public Peca createRato(PlayerSide side) {
         Position pos = (side == PlayerSide.WHITE)
-            ? new Position(6, 6)
-            : new Position(2, 0);
-        return new Rato(side, pos, new RatoMovimentoStrategy());
+            ? new Position(0, 2)
+            : new Position(6, 6);
+        return new Rato(side, pos, RatoMovimentoStrategy.INSTANCE);
     }
 }
@@ -0,0 +1,34 @@
+package bitboard;
+
+/**
+ * Utilitários para bitboards: cada casa do tabuleiro ocupa um bit de um long,
+ * indexada por {@code y * largura + x}. Tabuleiros de até 64 casas cabem em um long.
+ */
+public final class Bitboards {
+    public static final int MAX_SQUARES = Long.SIZE;
+
+    private Bitboards() {
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    public static boolean contains(long bitboard, int square) {
+        return (bitboard & (1L << square)) != 0;
+    }
+
+    /** Índice do bit menos significativo (a primeira casa ocupada). */
+    public static int first(long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    /** Remove o bit menos significativo, para iterar com {@link #first(long)}. */
+    public static long withoutFirst(long bitboard) {
+        return bitboard & (bitboard - 1);
+    }
+
+    public static int count(long bitboard) {
+        return Long.bitCount(bitboard);
+    }
+}
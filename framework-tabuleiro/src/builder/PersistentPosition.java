@@ -0,0 +1,196 @@
+package builder;
+
+import bitboard.Bitboards;
+import context.Peca;
+import context.PlayerSide;
+import enums.PieceKind;
+import zobrist.ZobristKeys;
+
+/**
+ * Versão imutável das peças de um tabuleiro: que peça está em cada casa, os bitboards e a
+ * chave Zobrist. Obtida em O(1) por {@link TabletopProduct#snapshot()} e recolocada no tabuleiro
+ * por {@link TabletopProduct#restore(PersistentPosition)}.
+ *
+ * As casas ficam em blocos de {@value #CHUNK} referências. {@link #move(int, int)},
+ * {@link #place(Peca, int)} e {@link #remove(int)} devolvem uma versão nova que copia só a raiz
+ * e os blocos alterados e compartilha o resto com esta, então explorar linhas alternativas a
+ * partir de uma posição não copia o tabuleiro.
+ *
+ * A versão guarda as peças por referência e não altera as peças: a posição de cada {@link Peca}
+ * ({@link Peca#getPosition()}) continua sendo a do tabuleiro onde ela está. O terreno e o estado
+ * das peças (ex.: bloqueada) não fazem parte da versão.
+ */
+public final class PersistentPosition {
+    static final int CHUNK_BITS = 3;
+    static final int CHUNK = 1 << CHUNK_BITS;
+    static final int CHUNK_MASK = CHUNK - 1;
+
+    private final int width, height;
+    // blocos de casas; nunca alterados depois de compartilhados
+    final Peca[][] chunks;
+    private final long occupied;
+    private final long[] sideOccupancy;
+    private final long[] kindOccupancy;
+    private final long zobristKey;
+
+    PersistentPosition(int width,
+                       int height,
+                       Peca[][] chunks,
+                       long occupied,
+                       long[] sideOccupancy,
+                       long[] kindOccupancy,
+                       long zobristKey) {
+        this.width = width;
+        this.height = height;
+        this.chunks = chunks;
+        this.occupied = occupied;
+        this.sideOccupancy = sideOccupancy;
+        this.kindOccupancy = kindOccupancy;
+        this.zobristKey = zobristKey;
+    }
+
+    /** Blocos vazios para um tabuleiro de {@code squares} casas. */
+    static Peca[][] emptyChunks(int squares) {
+        Peca[][] chunks = new Peca[(squares + CHUNK - 1) >>> CHUNK_BITS][];
+        for (int i = 0; i < chunks.length; i++) chunks[i] = new Peca[CHUNK];
+        return chunks;
+    }
+
+    // --- consulta --- //
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int squareOf(int x, int y) {
+        return y * width + x;
+    }
+
+    public Peca getPieceAtSquare(int square) {
+        return chunks[square >>> CHUNK_BITS][square & CHUNK_MASK];
+    }
+
+    public Peca getPieceAt(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return null;
+        return getPieceAtSquare(squareOf(x, y));
+    }
+
+    public long getOccupancy() {
+        return occupied;
+    }
+
+    public long getOccupancy(PlayerSide side) {
+        return sideOccupancy[side.ordinal()];
+    }
+
+    public long getOccupancy(PieceKind kind) {
+        return kindOccupancy[kind.ordinal()];
+    }
+
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    public long getPositionKey(PlayerSide sideToMove) {
+        return zobristKey ^ ZobristKeys.sideToMove(sideToMove);
+    }
+
+    public int getPieceCount() {
+        return Bitboards.count(occupied);
+    }
+
+    // --- versões derivadas --- //
+
+    /**
+     * Versão com a peça de {@code from} em {@code to}; a peça que estiver em {@code to} é capturada.
+     * Não aplica regras: quem chama já validou o movimento.
+     */
+    public PersistentPosition move(int from, int to) {
+        Peca peca = getPieceAtSquare(from);
+        if (peca == null) {
+            throw new IllegalArgumentException("Casa de origem vazia: " + from);
+        }
+        Draft draft = new Draft(this);
+        Peca captured = getPieceAtSquare(to);
+        if (captured != null) draft.clear(captured, to);
+        draft.clear(peca, from);
+        draft.place(peca, to);
+        return draft.toPosition();
+    }
+
+    /** Versão com a peça colocada na casa; a casa deve estar livre. */
+    public PersistentPosition place(Peca peca, int square) {
+        if (Bitboards.contains(occupied, square)) {
+            throw new IllegalArgumentException("Casa ocupada: " + square);
+        }
+        Draft draft = new Draft(this);
+        draft.place(peca, square);
+        return draft.toPosition();
+    }
+
+    /** Versão sem a peça da casa (a mesma versão se a casa estiver vazia). */
+    public PersistentPosition remove(int square) {
+        Peca peca = getPieceAtSquare(square);
+        if (peca == null) return this;
+        Draft draft = new Draft(this);
+        draft.clear(peca, square);
+        return draft.toPosition();
+    }
+
+    /** Cópia em construção: copia a raiz uma vez e cada bloco só na primeira alteração. */
+    private static final class Draft {
+        private final PersistentPosition base;
+        private final Peca[][] chunks;
+        private final boolean[] copied;
+        private long occupied;
+        private final long[] sideOccupancy;
+        private final long[] kindOccupancy;
+        private long zobristKey;
+
+        Draft(PersistentPosition base) {
+            this.base = base;
+            this.chunks = base.chunks.clone();
+            this.copied = new boolean[chunks.length];
+            this.occupied = base.occupied;
+            this.sideOccupancy = base.sideOccupancy.clone();
+            this.kindOccupancy = base.kindOccupancy.clone();
+            this.zobristKey = base.zobristKey;
+        }
+
+        void place(Peca peca, int square) {
+            long bit = Bitboards.bit(square);
+            set(square, peca);
+            zobristKey ^= ZobristKeys.piece(peca, square);
+            occupied |= bit;
+            sideOccupancy[peca.getSide().ordinal()] |= bit;
+            if (peca.getKind() != null) kindOccupancy[peca.getKind().ordinal()] |= bit;
+        }
+
+        void clear(Peca peca, int square) {
+            long bit = ~Bitboards.bit(square);
+            set(square, null);
+            zobristKey ^= ZobristKeys.piece(peca, square);
+            occupied &= bit;
+            sideOccupancy[peca.getSide().ordinal()] &= bit;
+            if (peca.getKind() != null) kindOccupancy[peca.getKind().ordinal()] &= bit;
+        }
+
+        private void set(int square, Peca peca) {
+            int chunk = square >>> CHUNK_BITS;
+            if (!copied[chunk]) {
+                chunks[chunk] = chunks[chunk].clone();
+                copied[chunk] = true;
+            }
+            chunks[chunk][square & CHUNK_MASK] = peca;
+        }
+
+        PersistentPosition toPosition() {
+            return new PersistentPosition(base.width, base.height, chunks, occupied,
+                                          sideOccupancy, kindOccupancy, zobristKey);
+        }
+    }
+}
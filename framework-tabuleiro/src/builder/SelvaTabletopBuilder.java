@@ -30,7 +30,7 @@ public class SelvaTabletopBuilder extends TabletopBuilder {
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
                 // renderiza cada célula usando Flyweight e cria leaf para composição
-                cells[y][x].render(flyFactory);
+                if (renderCells) cells[y][x].render(flyFactory);
                 board.add(new TabletopLeaf(
                     flyFactory.getFlyweight(cells[y][x].getType().name()), x, y));
             }
@@ -16,6 +16,7 @@ public abstract class TabletopBuilder {
     protected CellAbstractProduct[][] cells;
     protected List<TabletopComponent> tiles = new ArrayList<>();
     protected List<Peca> pieces = new ArrayList<>();
+    protected boolean renderCells = true;
 
     /**
      * Define dimensões e inicializa a matriz de células.
@@ -28,8 +29,12 @@ public abstract class TabletopBuilder {
         return this;
     }
 
+    /** Liga ou desliga a renderização (impressão) das células em buildTiles. */
+    public TabletopBuilder withRendering(boolean renderCells) {
+        this.renderCells = renderCells;
+        return this;
+    }
 
-    
     public abstract TabletopBuilder buildCells(CellCreator cellFactory,
                                               TabletopFlyweightFactory flyFactory);
 
@@ -37,7 +37,7 @@ public class TabletopConcreteBuilder extends TabletopBuilder {
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
                 // Renderiza com Flyweight e cria leaf para composição
-                cells[y][x].render(flyFactory);
+                if (renderCells) cells[y][x].render(flyFactory);
                 boardComposite.add(
                     new TabletopLeaf(
                         flyFactory.getFlyweight(cells[y][x].getType().name()),
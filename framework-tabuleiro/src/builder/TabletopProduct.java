@@ -1,40 +1,97 @@
 package builder;
 
+import bitboard.Bitboards;
 import context.Peca;
+import context.PlayerSide;
 import context.Position;
 import enums.CellType;
+import enums.PieceKind;
 import factorymethod.CellAbstractProduct;
 import composite.TabletopComponent;
+import flyweight.BoardGeometry;
+import flyweight.TerrainLayer;
+import zobrist.ZobristKeys;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
 
 /**
- * Produto final do Builder. Contém a grade de células, os componentes visuais (tiles) e as peças.
+ * Produto final do Builder. Contém o terreno, os componentes visuais (tiles) e as peças.
  * Implementa métodos utilitários para manipulação de peças e células.
+ *
+ * O terreno é uma {@link TerrainLayer} imutável compartilhada por todos os tabuleiros com o
+ * mesmo layout, pelas cópias ({@link #deepClone()}, {@link #emptyCopy()}) e pelos mementos.
+ *
+ * As peças são mantidas em bitboards (um long por lado, por tipo de peça e por tipo de terreno),
+ * com a casa {@code y * width + x} no bit correspondente. Os blocos {@code squares} guardam a
+ * referência da peça de cada casa para {@link #getPieceAt(int, int)}.
+ * Uma chave Zobrist das peças é mantida incrementalmente a cada peça colocada ou retirada.
+ *
+ * {@link #snapshot()} devolve em O(1) uma {@link PersistentPosition} imutável que passa a
+ * compartilhar os blocos com o tabuleiro; a jogada seguinte copia só os blocos que alterar
+ * (copy-on-write), e enquanto ninguém tira snapshots as jogadas alteram os blocos no lugar.
+ * {@link #restore(PersistentPosition)} volta a uma versão também em O(1) (mais a atualização
+ * da posição das peças).
+ *
+ * Acesso concorrente: quem altera o tabuleiro (a fachada) o faz entre {@link #lockWrite()} e
+ * {@link #unlockWrite(long, boolean)}, e cada escrita que alterou o tabuleiro incrementa a versão.
+ * Outras threads leem por {@link #read(Function)} ou {@link #readPieceAt(int, int)}, com leitura
+ * otimista que não bloqueia enquanto não houver escrita. Os demais métodos não sincronizam e
+ * são para quem detém a escrita (ou para uso em uma só thread).
  */
 public class TabletopProduct {
     private final int width, height;
-    private final CellAbstractProduct[][] cells;
+    private final TerrainLayer terrain;
     private final List<TabletopComponent> tiles;
-    private final List<Peca> pieces;
-    private final Peca[][] pieceGrid;
 
+    private Peca[][] squares;
+    // blocos de squares que só este tabuleiro referencia; null: a raiz é compartilhada com um snapshot
+    private boolean[] ownedChunks;
+    private long occupied;
+    private final long[] sideOccupancy = new long[PlayerSide.values().length];
+    private final long[] kindOccupancy = new long[PieceKind.values().length];
+    private long zobristKey;
+
+    private final StampedLock lock = new StampedLock();
+    private volatile long version;
+    // alterações de casas; comparado em unlockWrite com o valor do lockWrite
+    private long mutations;
+    private long mutationsAtLock;
+
+    /**
+     * Tabuleiro com as células montadas pelo Builder; se já existir uma camada de terreno com
+     * o mesmo layout, ela é usada e as células informadas são descartadas.
+     */
     public TabletopProduct(int width,
                            int height,
                            CellAbstractProduct[][] cells,
                            List<TabletopComponent> tiles,
                            List<Peca> pieces) {
-        this.width = width;
-        this.height = height;
-        this.cells = cells;
+        this(TerrainLayer.of(width, height, cells), tiles, pieces);
+    }
+
+    /** Tabuleiro sobre uma camada de terreno já existente (sem criar células). */
+    public TabletopProduct(TerrainLayer terrain,
+                           List<TabletopComponent> tiles,
+                           List<Peca> pieces) {
+        this.width = terrain.getWidth();
+        this.height = terrain.getHeight();
+        this.terrain = terrain;
         this.tiles = tiles;
-        this.pieces = pieces;
-        this.pieceGrid = new Peca[height][width];
-        // popula a grade de peças (assume que Peca tem getPosition())
+        this.squares = PersistentPosition.emptyChunks(width * height);
+        this.ownedChunks = new boolean[squares.length];
+        Arrays.fill(ownedChunks, true);
+        // posiciona as peças iniciais (Position.row = x, Position.col = y)
         for (Peca p : pieces) {
             Position pos = p.getPosition();
-            pieceGrid[pos.row][pos.col] = p;
+            if (!isWithinBounds(pos.row, pos.col)) {
+                throw new IllegalArgumentException(
+                    "Peça " + p.getNome() + " fora do tabuleiro: " + pos.row + "," + pos.col);
+            }
+            place(p, squareOf(pos.row, pos.col));
         }
     }
 
@@ -45,20 +102,23 @@ public class TabletopProduct {
     }
 
     public CellType getCellType(int x, int y) {
-        return cells[y][x].getType();
+        return terrain.getType(squareOf(x, y));
     }
 
     public Peca getPieceAt(int x, int y) {
         if (!isWithinBounds(x, y)) return null;
-        return pieceGrid[y][x];
+        return getPieceAtSquare(squareOf(x, y));
     }
 
     public boolean movePiece(Peca peca, int ox, int oy, int dx, int dy) {
         if (getPieceAt(ox, oy) != peca || !isWithinBounds(dx, dy))
             return false;
-        pieceGrid[oy][ox] = null;
-        pieceGrid[dy][dx] = peca;
-        peca.setPosition(new Position(dx, dy));
+        int to = squareOf(dx, dy);
+        Peca alvo = getPieceAtSquare(to);
+        if (alvo != null) clear(alvo, to);
+        clear(peca, squareOf(ox, oy));
+        place(peca, to);
+        peca.setPosition(terrain.getPosition(to));
         return true;
     }
 
@@ -66,54 +126,327 @@ public class TabletopProduct {
         Position pos = peca.getPosition();
         if (getPieceAt(pos.row, pos.col) != peca)
             return false;
-        pieceGrid[pos.row][pos.col] = null;
-        return pieces.remove(peca);
+        clear(peca, squareOf(pos.row, pos.col));
+        return true;
+    }
+
+    /** Coloca a peça na casa indicada por sua posição; a casa deve estar livre. */
+    public boolean placePiece(Peca peca) {
+        Position pos = peca.getPosition();
+        if (!isWithinBounds(pos.row, pos.col) || isOccupied(pos.row, pos.col))
+            return false;
+        place(peca, squareOf(pos.row, pos.col));
+        return true;
+    }
+
+    /** Retira todas as peças do tabuleiro. */
+    public void clearPieces() {
+        for (long bb = occupied; bb != 0; bb = Bitboards.withoutFirst(bb)) {
+            int square = Bitboards.first(bb);
+            clear(getPieceAtSquare(square), square);
+        }
+    }
+
+    /**
+     * Executa uma jogada já validada (ex.: gerada pelo {@code MoveGenerator}), sem consultar
+     * estratégias: leva a peça de {@code from} para {@code to}, retirando a que estiver lá.
+     * @return a peça capturada, ou null, para o {@link #unmakeMove} correspondente
+     */
+    public Peca makeMove(int from, int to) {
+        Peca peca = getPieceAtSquare(from);
+        Peca captured = getPieceAtSquare(to);
+        if (captured != null) clear(captured, to);
+        clear(peca, from);
+        place(peca, to);
+        peca.setPosition(terrain.getPosition(to));
+        return captured;
+    }
+
+    /**
+     * Desfaz uma jogada: devolve a peça à casa de origem e recoloca a peça capturada no destino.
+     */
+    public void unmakeMove(Peca peca, int from, int to, Peca captured) {
+        clear(peca, to);
+        place(peca, from);
+        peca.setPosition(terrain.getPosition(from));
+        if (captured != null) place(captured, to);
     }
 
     public void restoreState(TabletopProduct state) {
-        // Restaura a grade de peças
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                this.pieceGrid[y][x] = state.getPieceAt(x, y);
-            }
+        // Restaura a grade de peças e os bitboards (as peças passam a ser as do outro tabuleiro)
+        restore(state.snapshot());
+    }
+
+    // --- Versões persistentes --- //
+
+    /**
+     * Versão imutável das peças atuais, em O(1): nada é copiado agora; a próxima alteração do
+     * tabuleiro copia os blocos que tocar. Exige a escrita (ou uso em uma só thread); outras
+     * threads usam {@link #readSnapshot()}.
+     */
+    public PersistentPosition snapshot() {
+        ownedChunks = null;
+        return new PersistentPosition(width, height, squares, occupied,
+                                      sideOccupancy.clone(), kindOccupancy.clone(), zobristKey);
+    }
+
+    /** {@link #snapshot()} para outras threads: espera a escrita em andamento terminar. */
+    public PersistentPosition readSnapshot() {
+        long stamp = lock.readLock();
+        try {
+            return snapshot();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Volta o tabuleiro à versão informada, que passa a ser compartilhada com ele, e atualiza a
+     * posição ({@link Peca#setPosition}) das peças que estiverem em outra casa.
+     */
+    public void restore(PersistentPosition position) {
+        if (position.getWidth() != width || position.getHeight() != height) {
+            throw new IllegalArgumentException("Versão de um tabuleiro " + position.getWidth() + "x"
+                + position.getHeight() + " não cabe em " + width + "x" + height);
+        }
+        squares = position.chunks;
+        ownedChunks = null;
+        mutations++;
+        occupied = position.getOccupancy();
+        for (PlayerSide side : PlayerSide.values()) {
+            sideOccupancy[side.ordinal()] = position.getOccupancy(side);
+        }
+        for (PieceKind kind : PieceKind.values()) {
+            kindOccupancy[kind.ordinal()] = position.getOccupancy(kind);
         }
-    
-        // Restaura as posições das peças
-        this.pieces.clear();
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                Peca p = state.getPieceAt(x, y);
-                if (p != null) {
-                    this.pieces.add(p);
-                }
+        zobristKey = position.getZobristKey();
+        for (long bb = occupied; bb != 0; bb = Bitboards.withoutFirst(bb)) {
+            int square = Bitboards.first(bb);
+            Peca peca = getPieceAtSquare(square);
+            if (peca.getPosition() != terrain.getPosition(square)) {
+                peca.setPosition(terrain.getPosition(square));
             }
         }
-    
     }
 
     // dentro de TabletopProduct
 
-/** Retorna um clone profundo deste objeto */
+/** Retorna um clone profundo deste objeto (o terreno, imutável, é compartilhado) */
 public TabletopProduct deepClone() {
-    // 1) Clona as células (supondo que CellAbstractProduct implemente clone())
-    CellAbstractProduct[][] clonedCells = new CellAbstractProduct[height][width];
-    for (int y = 0; y < height; y++) {
-        for (int x = 0; x < width; x++) {
-            clonedCells[y][x] = cells[y][x].clone();
+    // 1) Shallow copy dos tiles (eles só referenciam flyweights imutáveis)
+    List<TabletopComponent> clonedTiles = new ArrayList<>(tiles);
+
+    // 2) Clona cada peça usando um método deepClone() em Peca
+    List<Peca> clonedPieces = new ArrayList<>();
+    for (long bb = occupied; bb != 0; bb = Bitboards.withoutFirst(bb)) {
+        clonedPieces.add(getPieceAtSquare(Bitboards.first(bb)).deepClone());
+    }
+
+    // 3) Cria e retorna o novo TabletopProduct sobre o mesmo terreno
+    return new TabletopProduct(terrain, clonedTiles, clonedPieces);
+    }
+
+    /**
+     * Tabuleiro com as mesmas dimensões, terreno e tiles, sem peças.
+     * O terreno é compartilhado: não muda durante a partida.
+     */
+    public TabletopProduct emptyCopy() {
+        return new TabletopProduct(terrain, new ArrayList<>(tiles), new ArrayList<>());
+    }
+
+    // --- Acesso concorrente --- //
+
+    /** Versão do tabuleiro: incrementada em {@link #unlockWrite(long, boolean)} se a escrita o alterou. */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Adquire a escrita exclusiva (não reentrante). Leituras por {@link #read(Function)} na mesma
+     * thread antes de {@link #unlockWrite(long, boolean)} ficariam bloqueadas.
+     * @return o carimbo a devolver em {@link #unlockWrite(long, boolean)}
+     */
+    public long lockWrite() {
+        long stamp = lock.writeLock();
+        mutationsAtLock = mutations;
+        return stamp;
+    }
+
+    /**
+     * Libera a escrita. A versão é incrementada se alguma casa foi alterada desde o
+     * {@link #lockWrite()}, mesmo que a alteração tenha sido desfeita (ex.: jogada revertida
+     * por falha no registro), ou se {@code changed}.
+     * @param changed se quem escreveu considera o tabuleiro alterado
+     */
+    public void unlockWrite(long stamp, boolean changed) {
+        if (changed || mutations != mutationsAtLock) version++;
+        lock.unlockWrite(stamp);
+    }
+
+    /**
+     * Adquire a leitura compartilhada: outras leituras seguem em paralelo e nenhuma escrita
+     * acontece até {@link #unlockRead(long)}. Para leituras que têm efeitos (ex.: preencher um
+     * cache) e por isso não podem ser refeitas como em {@link #read(Function)}.
+     * @return o carimbo a devolver em {@link #unlockRead(long)}
+     */
+    public long lockRead() {
+        return lock.readLock();
+    }
+
+    public void unlockRead(long stamp) {
+        lock.unlockRead(stamp);
+    }
+
+    /**
+     * Lê o tabuleiro sem bloquear: o leitor roda de forma otimista e, se uma escrita acontecer
+     * no meio, roda de novo sob a trava de leitura. O leitor não deve alterar nada e pode ser
+     * executado mais de uma vez; exceções da tentativa otimista invalidada são descartadas.
+     */
+    public <T> T read(Function<? super TabletopProduct, ? extends T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.apply(this);
+                if (lock.validate(stamp)) return result;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) throw e;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.apply(this);
+        } finally {
+            lock.unlockRead(stamp);
         }
     }
 
-    // 2) Shallow copy dos tiles (eles só referenciam flyweights imutáveis)
-    List<TabletopComponent> clonedTiles = new ArrayList<>(tiles);
+    /** {@link #getPieceAt(int, int)} para outras threads, sem bloquear. */
+    public Peca readPieceAt(int x, int y) {
+        if (!isWithinBounds(x, y)) return null;
+        int square = squareOf(x, y);
+        long stamp = lock.tryOptimisticRead();
+        Peca peca = getPieceAtSquare(square);
+        if (lock.validate(stamp)) return peca;
+        stamp = lock.readLock();
+        try {
+            return getPieceAtSquare(square);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
 
-    // 3) Clona cada peça usando um método deepClone() em Peca
-    List<Peca> clonedPieces = new ArrayList<>();
-    for (Peca p : pieces) {
-        clonedPieces.add(p.deepClone());
+    // --- Bitboards --- //
+
+    /** Índice da casa (x, y) nos bitboards. */
+    public int squareOf(int x, int y) {
+        return y * width + x;
     }
 
-    // 4) Cria e retorna o novo TabletopProduct
-    return new TabletopProduct(width, height, clonedCells, clonedTiles, clonedPieces);
+    public int squareX(int square) {
+        return square % width;
+    }
+
+    public int squareY(int square) {
+        return square / width;
+    }
+
+    /** Posição compartilhada da casa, da camada de terreno; não cria objetos. */
+    public Position positionOf(int square) {
+        return terrain.getPosition(square);
+    }
+
+    public Peca getPieceAtSquare(int square) {
+        return squares[square >>> PersistentPosition.CHUNK_BITS][square & PersistentPosition.CHUNK_MASK];
+    }
+
+    public boolean isOccupied(int x, int y) {
+        return isWithinBounds(x, y) && Bitboards.contains(occupied, squareOf(x, y));
+    }
+
+    /** Casas ocupadas por qualquer peça. */
+    public long getOccupancy() {
+        return occupied;
+    }
+
+    /** Casas ocupadas pelas peças de um lado. */
+    public long getOccupancy(PlayerSide side) {
+        return sideOccupancy[side.ordinal()];
+    }
+
+    /** Casas ocupadas por peças de um tipo (dos dois lados). */
+    public long getOccupancy(PieceKind kind) {
+        return kindOccupancy[kind.ordinal()];
+    }
+
+    /** Casas com o tipo de terreno informado. */
+    public long getTerrainMask(CellType type) {
+        return terrain.getMask(type);
+    }
+
+    /** Tabelas de vizinhança e de salto sobre o rio do layout (da camada de terreno). */
+    public BoardGeometry getGeometry() {
+        return terrain.getGeometry();
+    }
+
+    /** Camada de terreno compartilhada deste tabuleiro. */
+    public TerrainLayer getTerrain() {
+        return terrain;
+    }
+
+    /** Chave Zobrist das peças no tabuleiro, sem o lado a jogar. */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /** Chave da posição com o lado a jogar informado. */
+    public long getPositionKey(PlayerSide sideToMove) {
+        return zobristKey ^ ZobristKeys.sideToMove(sideToMove);
+    }
+
+    public int getPieceCount() {
+        return Bitboards.count(occupied);
+    }
+
+    /** Peças em jogo, na ordem das casas. */
+    public List<Peca> getPieces() {
+        List<Peca> pieces = new ArrayList<>(getPieceCount());
+        for (long bb = occupied; bb != 0; bb = Bitboards.withoutFirst(bb)) {
+            pieces.add(getPieceAtSquare(Bitboards.first(bb)));
+        }
+        return pieces;
+    }
+
+    private void place(Peca peca, int square) {
+        long bit = Bitboards.bit(square);
+        setSquare(square, peca);
+        zobristKey ^= ZobristKeys.piece(peca, square);
+        occupied |= bit;
+        sideOccupancy[peca.getSide().ordinal()] |= bit;
+        if (peca.getKind() != null) kindOccupancy[peca.getKind().ordinal()] |= bit;
+    }
+
+    private void clear(Peca peca, int square) {
+        long bit = ~Bitboards.bit(square);
+        setSquare(square, null);
+        zobristKey ^= ZobristKeys.piece(peca, square);
+        occupied &= bit;
+        sideOccupancy[peca.getSide().ordinal()] &= bit;
+        if (peca.getKind() != null) kindOccupancy[peca.getKind().ordinal()] &= bit;
+    }
+
+    // copy-on-write: copia a raiz e o bloco na primeira alteração depois de um snapshot
+    private void setSquare(int square, Peca peca) {
+        mutations++;
+        int chunk = square >>> PersistentPosition.CHUNK_BITS;
+        if (ownedChunks == null) {
+            squares = squares.clone();
+            ownedChunks = new boolean[squares.length];
+        }
+        if (!ownedChunks[chunk]) {
+            squares[chunk] = squares[chunk].clone();
+            ownedChunks[chunk] = true;
+        }
+        squares[chunk][square & PersistentPosition.CHUNK_MASK] = peca;
     }
 
     public List<TabletopComponent> getTiles() {
@@ -129,8 +462,8 @@ public TabletopProduct deepClone() {
     }
 
     public factorymethod.CellAbstractProduct getCellAt(int x, int y) {
-        return cells[y][x];
+        return terrain.getCell(x, y);
     }
-    
-    
+
+
 }
@@ -0,0 +1,53 @@
+package checkpoint;
+
+import abstractfactory.SelvaPieceFactory;
+import builder.TabletopProduct;
+import codec.BoardSnapshotCodec;
+import context.PlayerSide;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Posição de uma partida depois de {@code ply} jogadas, guardada como snapshot do
+ * {@link BoardSnapshotCodec} (peças, estados e lado a jogar).
+ */
+public record Checkpoint(int gameId, int ply, byte[] snapshot) {
+    private static final int MAGIC = 0x53434B50; // "SCKP"
+    private static final byte VERSION = 2;
+
+    /** Registra a posição atual do tabuleiro. */
+    public static Checkpoint capture(int gameId, int ply, PlayerSide sideToMove, TabletopProduct board) {
+        return new Checkpoint(gameId, ply, BoardSnapshotCodec.toBytes(board, sideToMove));
+    }
+
+    public PlayerSide sideToMove() {
+        return BoardSnapshotCodec.sideToMove(snapshot);
+    }
+
+    /** Substitui as peças do tabuleiro pelas do checkpoint, criadas pela fábrica. */
+    public void applyTo(TabletopProduct board, SelvaPieceFactory pieceFactory) {
+        BoardSnapshotCodec.decode(snapshot, board, pieceFactory);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(gameId);
+        out.writeInt(ply);
+        out.writeShort(snapshot.length);
+        out.write(snapshot);
+    }
+
+    static Checkpoint read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("Arquivo não é um checkpoint válido");
+        }
+        int gameId = in.readInt();
+        int ply = in.readInt();
+        byte[] snapshot = new byte[in.readUnsignedShort()];
+        in.readFully(snapshot);
+        return new Checkpoint(gameId, ply, snapshot);
+    }
+}
@@ -0,0 +1,214 @@
+package checkpoint;
+
+import builder.TabletopProduct;
+import context.PlayerSide;
+import journal.MoveJournal;
+import log.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava checkpoints das partidas ao lado do journal ({@code checkpoint-<id>.bin}) a cada
+ * {@code everyMoves} jogadas ou quando passam {@code everyMillis} desde o último, o que vier
+ * primeiro. A posição é copiada na thread da jogada e o arquivo é gravado por uma thread de
+ * fundo ({@code checkpoint-writer}), fora da escrita do tabuleiro. A recuperação carrega o
+ * último checkpoint e reaplica só as jogadas seguintes; a compactação apaga os segmentos do
+ * journal já cobertos pelos checkpoints gravados. Um undo que volta para antes do último
+ * checkpoint o substitui por um da posição desfeita ({@link #afterUndo}).
+ */
+public class CheckpointManager implements AutoCloseable {
+    private static final Log LOG = Log.get(CheckpointManager.class);
+
+    public static final int DEFAULT_EVERY_MOVES = 64;
+    public static final long DEFAULT_EVERY_MILLIS = 30_000;
+
+    private final MoveJournal journal;
+    private final int everyMoves;
+    private final long everyMillis;
+    // ply coberto pelo último checkpoint gravado de cada partida
+    private final Map<Integer, Integer> coveredPlies = new ConcurrentHashMap<>();
+    // ply do último checkpoint capturado, gravado ou ainda na fila do writer
+    private final Map<Integer, Integer> capturedPlies = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> lastCheckpointAt = new ConcurrentHashMap<>();
+    private final ExecutorService writer;
+    private ScheduledExecutorService compactor;
+
+    public CheckpointManager(MoveJournal journal) {
+        this(journal, DEFAULT_EVERY_MOVES, DEFAULT_EVERY_MILLIS);
+    }
+
+    public CheckpointManager(MoveJournal journal, int everyMoves, long everyMillis) {
+        this.journal = journal;
+        this.everyMoves = everyMoves;
+        this.everyMillis = everyMillis;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "checkpoint-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Chamado depois de cada jogada registrada, com a escrita do tabuleiro adquirida; se estiver
+     * na hora, copia a posição (alguns bytes) e deixa a gravação para a thread de fundo.
+     * O intervalo de tempo só é verificado aqui, na thread da partida, para não ler o
+     * tabuleiro durante uma jogada.
+     * @return true se um checkpoint foi capturado
+     */
+    public boolean afterMove(int gameId, int ply, PlayerSide sideToMove, TabletopProduct board) {
+        long now = System.currentTimeMillis();
+        Long last = lastCheckpointAt.get(gameId);
+        if (last == null) {
+            // primeira jogada vista da partida: o intervalo de tempo conta a partir dela
+            lastCheckpointAt.put(gameId, now);
+            last = now;
+        }
+        Integer captured = capturedPlies.get(gameId);
+        int from = captured != null ? captured : coveredPly(gameId);
+        if (ply - from < everyMoves && now - last < everyMillis) return false;
+        capturedPlies.put(gameId, ply);
+        lastCheckpointAt.put(gameId, now);
+        Checkpoint checkpoint = Checkpoint.capture(gameId, ply, sideToMove, board);
+        writer.execute(() -> write(checkpoint));
+        return true;
+    }
+
+    /**
+     * Chamado depois de um undo registrado no journal, com a escrita do tabuleiro adquirida.
+     * Se o último checkpoint da partida (gravado ou na fila) inclui a jogada desfeita, grava um
+     * novo no ply {@code ply} e espera a gravação, para que a recuperação não volte a jogada.
+     * A compactação passa a considerar só o ply desfeito desde já.
+     * @return true se o checkpoint foi refeito
+     */
+    public boolean afterUndo(int gameId, int ply, PlayerSide sideToMove, TabletopProduct board) {
+        Integer captured = capturedPlies.get(gameId);
+        int last = captured != null ? captured : coveredPly(gameId);
+        if (last <= ply) return false;
+        coveredPlies.computeIfPresent(gameId, (id, covered) -> Math.min(covered, ply));
+        capturedPlies.put(gameId, ply);
+        Checkpoint checkpoint = Checkpoint.capture(gameId, ply, sideToMove, board);
+        try {
+            // depois dos que já estão na fila, que ele substitui
+            writer.submit(() -> write(checkpoint)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha no gravador de checkpoints", e.getCause());
+        }
+        return true;
+    }
+
+    /** Espera a gravação dos checkpoints já capturados. */
+    public void awaitWrites() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha no gravador de checkpoints", e.getCause());
+        }
+    }
+
+    /**
+     * Grava o checkpoint de forma atômica (arquivo temporário + rename), na thread que chama,
+     * substituindo o anterior da partida; depois de um undo, o novo pode ter um ply menor.
+     */
+    public synchronized void write(Checkpoint checkpoint) {
+        Path target = path(checkpoint.gameId());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            checkpoint.write(out);
+        } catch (IOException e) {
+            LOG.error("Erro ao gravar checkpoint da partida {}: {}", checkpoint.gameId(), e.getMessage());
+            return;
+        }
+        try {
+            // o journal precisa estar em disco antes de o checkpoint permitir compactá-lo
+            journal.flush();
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.error("Erro ao gravar checkpoint da partida {}: {}", checkpoint.gameId(), e.getMessage());
+            return;
+        }
+        coveredPlies.put(checkpoint.gameId(), checkpoint.ply());
+        lastCheckpointAt.put(checkpoint.gameId(), System.currentTimeMillis());
+    }
+
+    /** Último checkpoint gravado da partida, ou null. */
+    public Checkpoint latest(int gameId) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path(gameId))))) {
+            Checkpoint checkpoint = Checkpoint.read(in);
+            coveredPlies.put(gameId, checkpoint.ply());
+            return checkpoint;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.warn("Checkpoint da partida {} ilegível: {}", gameId, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Ply coberto pelo último checkpoint da partida (0 se não houver). */
+    public int coveredPly(int gameId) {
+        Integer covered = coveredPlies.get(gameId);
+        if (covered != null) return covered;
+        Checkpoint checkpoint = latest(gameId);
+        return checkpoint == null ? 0 : checkpoint.ply();
+    }
+
+    /**
+     * Remove do journal os segmentos já cobertos pelos checkpoints de todas as partidas neles.
+     * @return quantidade de segmentos removidos
+     */
+    public int compact() {
+        return journal.compact(this::coveredPly);
+    }
+
+    /** Executa {@link #compact()} periodicamente em uma thread de fundo. */
+    public synchronized void scheduleCompaction(long periodMillis) {
+        if (compactor != null) return;
+        compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "journal-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+        compactor.scheduleWithFixedDelay(this::compact, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Para a compactação e espera a gravação dos checkpoints já capturados. */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (compactor != null) compactor.shutdown();
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.warn("Checkpoints ainda na fila ao encerrar o gravador");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Path path(int gameId) {
+        return journal.getDirectory().resolve("checkpoint-" + gameId + ".bin");
+    }
+}
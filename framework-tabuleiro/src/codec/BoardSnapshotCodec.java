@@ -0,0 +1,133 @@
+package codec;
+
+import abstractfactory.SelvaPieceFactory;
+import abstractfactory.SelvaPieceFactoryImpl;
+import bitboard.Bitboards;
+import builder.TabletopProduct;
+import context.Peca;
+import context.PlayerSide;
+import enums.PieceKind;
+import state.BloqueadaState;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codifica a posição de uma partida em poucos bytes:
+ * <pre>
+ * byte  versão
+ * byte  lado a jogar (ordinal de PlayerSide)
+ * byte  quantidade de peças
+ * por peça, 2 bytes:
+ *   byte  casa ({@code y * largura + x})
+ *   byte  bits 0-3 tipo (ordinal de PieceKind + 1), bit 4 lado preto, bit 5 bloqueada
+ * </pre>
+ * As 16 peças do Selva cabem em 35 bytes. O terreno não entra no snapshot: a decodificação
+ * escreve as peças em um tabuleiro que já tem as células.
+ */
+public final class BoardSnapshotCodec {
+    public static final int MAX_SNAPSHOT_BYTES = 3 + 2 * Bitboards.MAX_SQUARES;
+
+    private static final byte VERSION = 1;
+    private static final int KIND_MASK = 0x0F;
+    private static final int BLACK_BIT = 0x10;
+    private static final int BLOCKED_BIT = 0x20;
+    private static final PieceKind[] KINDS = PieceKind.values();
+    private static final PlayerSide[] SIDES = PlayerSide.values();
+    // a fábrica não guarda estado; uma instância serve para todas as cópias
+    private static final SelvaPieceFactory DEFAULT_FACTORY = new SelvaPieceFactoryImpl();
+
+    // buffer de trabalho por thread para cópias sem alocar um buffer a cada chamada
+    private static final ThreadLocal<ByteBuffer> SCRATCH =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(MAX_SNAPSHOT_BYTES));
+
+    private BoardSnapshotCodec() {
+    }
+
+    /**
+     * Escreve a posição no buffer, a partir da posição atual dele.
+     * Peças sem PieceKind (ex.: NullPiece) não são gravadas.
+     * @return quantidade de bytes escritos
+     */
+    public static int encode(TabletopProduct board, PlayerSide sideToMove, ByteBuffer out) {
+        int start = out.position();
+        out.put(VERSION);
+        out.put((byte) sideToMove.ordinal());
+        int countAt = out.position();
+        out.put((byte) 0);
+        int count = 0;
+        for (long bb = board.getOccupancy(); bb != 0; bb = Bitboards.withoutFirst(bb)) {
+            int square = Bitboards.first(bb);
+            Peca peca = board.getPieceAtSquare(square);
+            if (peca.getKind() == null) continue;
+            int flags = (peca.getKind().ordinal() + 1)
+                | (peca.getSide() == PlayerSide.BLACK ? BLACK_BIT : 0)
+                | (peca.getState() instanceof BloqueadaState ? BLOCKED_BIT : 0);
+            out.put((byte) square);
+            out.put((byte) flags);
+            count++;
+        }
+        out.put(countAt, (byte) count);
+        return out.position() - start;
+    }
+
+    /** Snapshot em um vetor de bytes do tamanho exato. */
+    public static byte[] toBytes(TabletopProduct board, PlayerSide sideToMove) {
+        ByteBuffer scratch = SCRATCH.get();
+        scratch.clear();
+        encode(board, sideToMove, scratch);
+        byte[] bytes = new byte[scratch.position()];
+        scratch.flip();
+        scratch.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Lê um snapshot e substitui as peças do tabuleiro por peças novas criadas pela fábrica.
+     * @return o lado a jogar gravado no snapshot
+     */
+    public static PlayerSide decode(ByteBuffer in, TabletopProduct target, SelvaPieceFactory pieceFactory) {
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versão de snapshot desconhecida: " + version);
+        }
+        PlayerSide sideToMove = SIDES[in.get()];
+        int count = in.get() & 0xFF;
+        target.clearPieces();
+        for (int i = 0; i < count; i++) {
+            int square = in.get() & 0xFF;
+            int flags = in.get();
+            Peca peca = pieceFactory.create(KINDS[(flags & KIND_MASK) - 1].getNome(),
+                (flags & BLACK_BIT) != 0 ? PlayerSide.BLACK : PlayerSide.WHITE);
+            peca.setPosition(target.positionOf(square));
+            if ((flags & BLOCKED_BIT) != 0) peca.setState(new BloqueadaState());
+            target.placePiece(peca);
+        }
+        return sideToMove;
+    }
+
+    public static PlayerSide decode(byte[] snapshot, TabletopProduct target, SelvaPieceFactory pieceFactory) {
+        return decode(ByteBuffer.wrap(snapshot), target, pieceFactory);
+    }
+
+    /** Lado a jogar gravado no snapshot, sem decodificar as peças. */
+    public static PlayerSide sideToMove(byte[] snapshot) {
+        return SIDES[snapshot[1]];
+    }
+
+    /**
+     * Cópia do tabuleiro: mesmas células, peças novas com o mesmo tipo, lado, casa e estado.
+     */
+    public static TabletopProduct copy(TabletopProduct source, SelvaPieceFactory pieceFactory) {
+        ByteBuffer scratch = SCRATCH.get();
+        scratch.clear();
+        encode(source, PlayerSide.WHITE, scratch);
+        scratch.flip();
+        TabletopProduct copy = source.emptyCopy();
+        decode(scratch, copy, pieceFactory);
+        return copy;
+    }
+
+    public static TabletopProduct copy(TabletopProduct source) {
+        return copy(source, DEFAULT_FACTORY);
+    }
+}
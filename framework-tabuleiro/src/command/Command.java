@@ -1,6 +1,7 @@
 package command;
 
 import memento.BoardMemento;
+import memento.UndoLog;
 
 public interface Command {
     // Executa a ação
@@ -11,9 +12,20 @@ public interface Command {
 
     String serialize();
 
-    // Cria um memento do estado antes da execução
+    // Escreve a mesma linha de serialize() no buffer, sem criar a String
+    default void serializeTo(StringBuilder out) {
+        out.append(serialize());
+    }
+
+    // Cria um memento do estado completo (snapshot sob demanda)
     BoardMemento saveMemento();
 
     // Restaura o estado a partir de um memento
     void restore(BoardMemento memento);
+
+    // Prepara no log o delta da jogada antes da execução (o invoker confirma ou descarta)
+    void saveUndo(UndoLog log);
+
+    // Desfaz a jogada a partir do registro mais recente do log
+    void undo(UndoLog log);
 }
@@ -1,37 +1,130 @@
 package command;
 
-import memento.BoardMemento;
-import java.util.Stack;
+import log.Log;
+import memento.UndoLog;
+import metrics.Metrics;
+import metrics.Operation;
+import movegen.PackedMove;
+import zobrist.RepetitionHistory;
 
+/**
+ * Executa e desfaz comandos. O histórico de jogadas são os registros do {@link UndoLog}, jogadas
+ * codificadas por {@link PackedMove} em um vetor de int: nenhum objeto é guardado por jogada.
+ * Os comandos de um invoker atuam sobre o mesmo tabuleiro, então o desfazer é pedido ao último
+ * comando executado, que desfaz o registro mais recente do log.
+ */
 public class CommandInvoker {
-    private Stack<Command> history = new Stack<>();
-    private Stack<BoardMemento> mementos = new Stack<>();
+    private static final Log LOG = Log.get(CommandInvoker.class);
+    private static final Metrics METRICS = Metrics.shared();
+
+    /** Jogadas que podem ser desfeitas por padrão; o histórico de posições guarda uma a mais. */
+    public static final int DEFAULT_HISTORY_CAPACITY = UndoLog.DEFAULT_CAPACITY;
+
+    private final UndoLog undoLog;
+    // receptor do desfazer: o último comando executado com sucesso
+    private Command receiver;
+    // chaves das posições: a inicial e uma por comando executado
+    private final RepetitionHistory positions;
+
+    public CommandInvoker() {
+        this(DEFAULT_HISTORY_CAPACITY);
+    }
+
+    /**
+     * @param historyCapacity quantas jogadas podem ser desfeitas; as mais antigas são descartadas.
+     *                        O histórico de posições tem a mesma capacidade mais a posição de
+     *                        partida, para que todo undo ainda encontre a sua posição no anel.
+     */
+    public CommandInvoker(int historyCapacity) {
+        this.undoLog = new UndoLog(historyCapacity);
+        this.positions = new RepetitionHistory(historyCapacity + 1);
+    }
 
     /**
-     * Executa o comando salvando primeiro o memento.
+     * Executa o comando preparando antes o delta para desfazer, que só entra no histórico se a
+     * jogada for aceita: uma jogada recusada não descarta nenhum registro antigo.
      */
     public boolean executeCommand(Command cmd) {
-        BoardMemento m = cmd.saveMemento();
-        boolean result = cmd.execute();
-        if (result) {
-            history.push(cmd);
-            mementos.push(m);
+        long start = Metrics.start();
+        cmd.saveUndo(undoLog);
+        METRICS.record(Operation.MEMENTO, start);
+        boolean result = false;
+        try {
+            result = cmd.execute();
+        } finally {
+            // recusada ou interrompida por exceção: o registro pendente não vale
+            if (result) {
+                undoLog.commit();
+                receiver = cmd;
+            } else {
+                undoLog.discardPending();
+            }
         }
         return result;
     }
 
-    
     public void undo() {
-        if (!history.isEmpty()) {
-            Command cmd = history.pop();
-            BoardMemento m = mementos.pop();
-            cmd.restore(m);
+        if (undoLog.size() > 0) {
+            long start = Metrics.start();
+            receiver.undo(undoLog);
+            if (positions.size() > 1) positions.pop();
+            METRICS.record(Operation.UNDO, start);
         } else {
-            System.out.println("Nada para desfazer.");
+            LOG.info("Nada para desfazer.");
         }
     }
 
-    public Command getLastCommand() {
-        return history.isEmpty() ? null : history.peek();
+    /** Última jogada executada (e não desfeita), ou {@link PackedMove#NONE}. */
+    public int getLastMove() {
+        return undoLog.lastMove();
+    }
+
+    /** Jogadas que ainda podem ser desfeitas. */
+    public int getHistorySize() {
+        return undoLog.size();
+    }
+
+    /**
+     * Copia o histórico de jogadas, da mais antiga para a mais recente, para {@code out}.
+     * @return quantidade de jogadas copiadas
+     */
+    public int copyHistory(int[] out) {
+        return undoLog.copyMoves(out);
+    }
+
+    /**
+     * Registra a chave da posição resultante do último comando (ou a posição inicial).
+     */
+    public void recordPosition(long positionKey) {
+        positions.push(positionKey);
+    }
+
+    /** Esquece todas as jogadas (histórico, undo e posições) e parte da posição informada. */
+    public void clear(long initialKey) {
+        clearUndo();
+        resetPositions(initialKey);
+    }
+
+    /**
+     * Esquece as jogadas que podem ser desfeitas, mas mantém as posições já registradas para a
+     * detecção de repetição (ex.: depois de avançar a partida direto pelo log).
+     */
+    public void clearUndo() {
+        undoLog.clear();
+        receiver = null;
+    }
+
+    /** Reinicia o histórico de posições a partir da posição inicial. */
+    public void resetPositions(long initialKey) {
+        positions.clear();
+        positions.push(initialKey);
+    }
+
+    public boolean isThreefoldRepetition() {
+        return positions.isThreefold();
+    }
+
+    public RepetitionHistory getPositions() {
+        return positions;
     }
 }
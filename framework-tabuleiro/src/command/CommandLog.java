@@ -0,0 +1,33 @@
+package command;
+
+/**
+ * Destino de longa duração para o registro dos comandos executados.
+ */
+public interface CommandLog extends AutoCloseable {
+    /** Log que descarta os comandos: para jogadas que não devem ser registradas (ex.: replay). */
+    CommandLog DISCARD = new CommandLog() {
+        @Override public void append(Command command) { }
+        @Override public void undo() { }
+        @Override public void flush() { }
+        @Override public void close() { }
+    };
+
+    /** Acrescenta o comando ao log; a escrita em disco pode ser adiada. */
+    void append(Command command);
+
+    /**
+     * Registra que o último comando acrescentado foi desfeito, para que a leitura do log não o
+     * aplique. Logs que não sabem registrar o undo o recusam.
+     * @throws UnsupportedOperationException se o log não registra undo
+     */
+    default void undo() {
+        throw new UnsupportedOperationException("O log " + getClass().getSimpleName() + " não registra undo");
+    }
+
+    /** Força a escrita de tudo o que foi acrescentado até agora. */
+    void flush();
+
+    /** Esvazia o buffer e libera o arquivo. */
+    @Override
+    void close();
+}
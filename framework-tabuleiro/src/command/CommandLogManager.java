@@ -3,14 +3,27 @@ package command;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import abstractfactory.SelvaPieceFactory;
 import abstractfactory.SelvaPieceFactoryImpl;
 import builder.TabletopProduct;
 import context.Peca;
 import context.PlayerSide;
+import enums.PieceKind;
+import journal.MoveJournal;
+import journal.MoveRecord;
+import movegen.MoveBuffer;
+import movegen.PackedMove;
 import observer.TabletopSubject;
+import zobrist.RepetitionHistory;
 
 
 public class CommandLogManager {
@@ -18,7 +31,11 @@ public class CommandLogManager {
     /**
      * Carrega os comandos do log, reconstrói cada MoverPecaCommand com
      * a fábrica de peças (AbstractFactory) e retorna a lista.
+     *
+     * @deprecated as peças criadas pela fábrica não são as do tabuleiro; use
+     *             {@link #replay(Stream, TabletopProduct, TabletopSubject)} sobre {@link #readMoves(Path)}.
      */
+    @Deprecated
     public static ArrayList<Command> loadCommands(
             TabletopProduct board,
             TabletopSubject subject) throws IOException {
@@ -26,7 +43,7 @@ public class CommandLogManager {
         ArrayList<Command> comandos = new ArrayList<>();
         SelvaPieceFactory pieceFactory = new SelvaPieceFactoryImpl();
 
-        try (BufferedReader reader = new BufferedReader(new FileReader("command.log"))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader("command.log", StandardCharsets.UTF_8))) {
             String linha;
             while ((linha = reader.readLine()) != null) {
                 // MoverPecaCommand;nomePeca;side;origemX;origemY;destinoX;destinoY
@@ -49,4 +66,177 @@ public class CommandLogManager {
         }
         return comandos;
     }
+
+    /**
+     * Jogadas de um log em texto, lidas linha a linha sob demanda.
+     * Linhas que não são de MoverPecaCommand são ignoradas; o ply é a ordem entre as jogadas.
+     * O stream mantém o arquivo aberto e deve ser fechado (try-with-resources).
+     */
+    public static Stream<MoveRecord> readMoves(Path path) throws IOException {
+        Stream<String> lines = Files.lines(path, StandardCharsets.UTF_8);
+        AtomicInteger ply = new AtomicInteger();
+        // início de cada campo da linha; um buffer para o arquivo todo
+        int[] fields = new int[7];
+        return lines
+            .map(linha -> parse(linha, ply, fields))
+            .filter(record -> record != null)
+            .onClose(lines::close);
+    }
+
+    /** Jogadas de uma partida do journal binário a partir de {@code fromPly}. */
+    public static Stream<MoveRecord> readMoves(MoveJournal journal, int gameId, int fromPly) {
+        return journal.read(gameId, fromPly);
+    }
+
+    /**
+     * Converte as jogadas em comandos ligados às peças vivas do tabuleiro. Cada comando é criado
+     * só quando pedido, com a peça que está na origem naquele momento; por isso os comandos devem
+     * ser executados na ordem em que são obtidos. As jogadas já estão em um log: os comandos usam
+     * {@link CommandLog#DISCARD} e não as registram de novo ao executar.
+     *
+     * @throws IllegalStateException se a origem não tiver a peça registrada no log
+     */
+    public static Stream<MoverPecaCommand> replay(Stream<MoveRecord> moves,
+                                                  TabletopProduct board,
+                                                  TabletopSubject subject) {
+        return moves.map(record -> new MoverPecaCommand(
+            livePiece(board, record), board,
+            record.origemX(), record.origemY(), record.destinoX(), record.destinoY(),
+            subject, CommandLog.DISCARD));
+    }
+
+    /**
+     * Avança o tabuleiro até o ply {@code toPly} (exclusivo) aplicando as jogadas diretamente,
+     * sem validadores, estratégias, observadores nem log. Só para logs confiáveis.
+     *
+     * @return a última jogada aplicada, ou null se nenhuma foi aplicada
+     */
+    public static MoveRecord fastForward(Stream<MoveRecord> moves, TabletopProduct board, int toPly) {
+        return fastForward(moves, board, toPly, null);
+    }
+
+    /**
+     * Como {@link #fastForward(Stream, TabletopProduct, int)}, registrando em {@code positions}
+     * a chave de cada posição alcançada (com o lado seguinte a jogar), como numa jogada normal.
+     */
+    public static MoveRecord fastForward(Stream<MoveRecord> moves, TabletopProduct board, int toPly,
+                                         RepetitionHistory positions) {
+        MoveRecord last = null;
+        Iterator<MoveRecord> it = moves.iterator();
+        while (it.hasNext()) {
+            MoveRecord record = it.next();
+            if (record.ply() >= toPly) break;
+            board.movePiece(livePiece(board, record),
+                record.origemX(), record.origemY(), record.destinoX(), record.destinoY());
+            if (positions != null) positions.push(board.getPositionKey(record.side().opponent()));
+            last = record;
+        }
+        return last;
+    }
+
+    /**
+     * Aplica diretamente as jogadas codificadas por {@link PackedMove} (ex.: lidas por
+     * {@link MoveJournal#read(int, int, int, MoveBuffer)}), como {@link #fastForward(Stream, TabletopProduct, int)}
+     * mas sem objetos por jogada. As casas devem ser as de um tabuleiro com a largura deste.
+     *
+     * @return a última jogada aplicada, ou {@link PackedMove#NONE} se nenhuma foi aplicada
+     * @throws IllegalStateException se a origem não tiver a peça registrada na jogada
+     */
+    public static int fastForward(MoveBuffer moves, TabletopProduct board) {
+        int last = PackedMove.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = PackedMove.from(move), to = PackedMove.to(move);
+            Peca peca = board.getPieceAtSquare(from);
+            PieceKind kind = PackedMove.kind(move);
+            if (peca == null || peca.getSide() != PackedMove.side(move) || (kind != null && peca.getKind() != kind)) {
+                throw new IllegalStateException("Jogada " + i + " não corresponde ao tabuleiro: "
+                    + PackedMove.toString(move, board.getWidth()));
+            }
+            board.movePiece(peca, board.squareX(from), board.squareY(from), board.squareX(to), board.squareY(to));
+            last = move;
+        }
+        return last;
+    }
+
+    private static Peca livePiece(TabletopProduct board, MoveRecord record) {
+        Peca peca = board.getPieceAt(record.origemX(), record.origemY());
+        if (peca == null || peca.getSide() != record.side()
+                || (record.kind() != null && peca.getKind() != record.kind())) {
+            throw new IllegalStateException("Jogada " + record.ply() + " não corresponde ao tabuleiro: "
+                + record.kind() + " " + record.side() + " em " + record.origemX() + "," + record.origemY());
+        }
+        return peca;
+    }
+
+    private static final String MOVE_PREFIX = "MoverPecaCommand;";
+    private static final PieceKind[] KINDS = PieceKind.values();
+    private static final PlayerSide[] SIDES = PlayerSide.values();
+
+    /**
+     * Lê a linha campo a campo, sem split nem substrings: o nome da peça e o lado são comparados
+     * com os nomes conhecidos e as coordenadas são convertidas dígito a dígito.
+     */
+    private static MoveRecord parse(String linha, AtomicInteger ply, int[] fields) {
+        // MoverPecaCommand;nomePeca;side;origemX;origemY;destinoX;destinoY
+        // o log em texto não identifica a partida: gameId 0
+        if (!linha.startsWith(MOVE_PREFIX)) return null;
+        int count = 0, start = 0;
+        for (int i = 0; i <= linha.length() && count < fields.length; i++) {
+            if (i == linha.length() || linha.charAt(i) == ';') {
+                fields[count++] = start;
+                start = i + 1;
+            }
+        }
+        if (count != 7 || linha.indexOf(';', fields[6]) >= 0) return null;
+        PieceKind kind = kindAt(linha, fields[1], fields[2] - 1);
+        PlayerSide side = sideAt(linha, fields[2], fields[3] - 1);
+        if (side == null) throw invalid(linha, null);
+        try {
+            return new MoveRecord(0, ply.getAndIncrement(), kind, side,
+                intAt(linha, fields[3], fields[4] - 1),
+                intAt(linha, fields[4], fields[5] - 1),
+                intAt(linha, fields[5], fields[6] - 1),
+                intAt(linha, fields[6], linha.length()));
+        } catch (NumberFormatException e) {
+            throw invalid(linha, e);
+        }
+    }
+
+    private static PieceKind kindAt(String linha, int start, int end) {
+        for (PieceKind kind : KINDS) {
+            String nome = kind.getNome();
+            if (nome.length() == end - start && linha.regionMatches(true, start, nome, 0, nome.length())) {
+                return kind;
+            }
+        }
+        // grafias sem acento ou peças que não são do Selva
+        return PieceKind.fromNome(linha.substring(start, end));
+    }
+
+    private static PlayerSide sideAt(String linha, int start, int end) {
+        for (PlayerSide side : SIDES) {
+            String name = side.name();
+            if (name.length() == end - start && linha.startsWith(name, start)) return side;
+        }
+        return null;
+    }
+
+    private static int intAt(String linha, int start, int end) {
+        if (start >= end) throw new NumberFormatException("campo vazio");
+        boolean negative = linha.charAt(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i >= end || end - i > 9) throw new NumberFormatException(linha.substring(start, end));
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = linha.charAt(i) - '0';
+            if (digit < 0 || digit > 9) throw new NumberFormatException(linha.substring(start, end));
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private static UncheckedIOException invalid(String linha, Exception cause) {
+        return new UncheckedIOException(new IOException("Linha inválida no log: " + linha, cause));
+    }
 }
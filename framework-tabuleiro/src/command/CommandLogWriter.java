@@ -0,0 +1,142 @@
+package command;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import log.Log;
+
+/**
+ * Log de comandos em texto com commit em grupo: o arquivo fica aberto, as linhas
+ * ({@link Command#serialize()}, uma por jogada) são acumuladas em memória e gravadas em lote
+ * quando o lote atinge {@code batchSize} linhas ou a cada {@code flushIntervalMillis}.
+ * O formato é o mesmo lido por {@link CommandLogManager}.
+ *
+ * Um erro de gravação desativa o log: o lote que falhou é descartado (com o número de jogadas
+ * perdidas no log de erro) e os {@link #append} seguintes lançam {@link UncheckedIOException},
+ * em vez de acumular jogadas em memória e tentar regravar tudo a cada jogada.
+ */
+public class CommandLogWriter implements CommandLog {
+    private static final Log LOG = Log.get(CommandLogWriter.class);
+
+    /** Quando o conteúdo gravado é sincronizado com o disco (fsync). */
+    public enum Durability {
+        /** Só grava no sistema operacional; o SO decide quando ir para o disco. */
+        NO_FSYNC,
+        /** fsync depois de cada lote gravado. */
+        FSYNC_PER_BATCH,
+        /** Grava e faz fsync a cada jogada. */
+        FSYNC_PER_MOVE
+    }
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 200;
+    // limite do lote em memória, para linhas longas ou batchSize muito grande
+    private static final int MAX_PENDING_CHARS = 1 << 20;
+
+    private final FileChannel channel;
+    private final Durability durability;
+    private final int batchSize;
+    private final StringBuilder pending = new StringBuilder();
+    private final ScheduledExecutorService flusher;
+    // grava o lote pendente se a JVM terminar sem close()
+    private final Thread shutdownHook = new Thread(this::flush, "command-log-shutdown");
+    private int pendingLines;
+    private boolean closed;
+    // primeiro erro de gravação; depois dele o log não aceita mais jogadas
+    private IOException failure;
+
+    public CommandLogWriter(Path path) {
+        this(path, Durability.NO_FSYNC, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    public CommandLogWriter(Path path, Durability durability, int batchSize, long flushIntervalMillis) {
+        try {
+            this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o log de comandos " + path, e);
+        }
+        this.durability = durability;
+        this.batchSize = Math.max(1, batchSize);
+        if (flushIntervalMillis > 0 && durability != Durability.FSYNC_PER_MOVE) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "command-log-flusher");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(this::flush,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public synchronized void append(Command command) {
+        if (closed) throw new IllegalStateException("Log de comandos já foi fechado");
+        if (failure != null) {
+            throw new UncheckedIOException("Log de comandos desativado após erro de gravação", failure);
+        }
+        command.serializeTo(pending);
+        pending.append('\n');
+        pendingLines++;
+        if (durability == Durability.FSYNC_PER_MOVE || pendingLines >= batchSize
+                || pending.length() >= MAX_PENDING_CHARS) {
+            flush();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (pendingLines == 0 || closed || failure != null) return;
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(pending.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            if (durability != Durability.NO_FSYNC) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            failure = e;
+            LOG.error("Erro ao armazenar comandos; {} jogadas descartadas e log desativado: {}",
+                      pendingLines, e.getMessage());
+        }
+        pending.setLength(0);
+        pendingLines = 0;
+    }
+
+    /** Um erro de gravação desativou o log. */
+    public synchronized boolean isFailed() {
+        return failure != null;
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) flusher.shutdown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // JVM já está encerrando; o próprio hook grava o lote
+        }
+        synchronized (this) {
+            if (closed) return;
+            flush();
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.error("Erro ao fechar o log de comandos: {}", e.getMessage());
+            }
+        }
+    }
+}
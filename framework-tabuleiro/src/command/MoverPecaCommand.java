@@ -2,72 +2,208 @@ package command;
 
 import builder.TabletopProduct;
 import context.Peca;
+import jfr.LogWriteEvent;
+import jfr.MementoEvent;
+import log.Log;
 import memento.BoardMemento;
+import memento.UndoLog;
+import metrics.Metrics;
+import metrics.Operation;
+import movegen.PackedMove;
 import observer.TabletopSubject;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
+
+import java.util.Objects;
 
 public class MoverPecaCommand implements Command {
+    private static final Log LOG = Log.get(MoverPecaCommand.class);
+    private static final Metrics METRICS = Metrics.shared();
+
     private Peca peca;
     private TabletopProduct board;
     private int origemX, origemY;
     private int destinoX, destinoY;
     private TabletopSubject subject;
+    private CommandLog log;
+    // jogada codificada, com a captura conhecida ao executar
+    private int move;
 
     public MoverPecaCommand(Peca peca, TabletopProduct board,
                             int origemX, int origemY,
                             int destinoX, int destinoY,
                             TabletopSubject subject) {
-        this.peca = peca;
+        this(peca, board, origemX, origemY, destinoX, destinoY, subject, CommandLog.DISCARD);
+    }
+
+    /**
+     * @param log destino do {@link #store()} ({@link CommandLog#DISCARD} para não registrar)
+     */
+    public MoverPecaCommand(Peca peca, TabletopProduct board,
+                            int origemX, int origemY,
+                            int destinoX, int destinoY,
+                            TabletopSubject subject,
+                            CommandLog log) {
         this.board = board;
+        this.subject = subject;
+        this.log = Objects.requireNonNull(log, "log");
+        reset(peca, origemX, origemY, destinoX, destinoY);
+    }
+
+    /**
+     * Reaproveita o comando para outra jogada no mesmo tabuleiro, sem criar objetos: como o
+     * {@link CommandInvoker} guarda só a jogada codificada, quem executa muitas jogadas pode
+     * usar sempre o mesmo comando.
+     * @return este comando
+     */
+    public MoverPecaCommand reset(Peca peca, int origemX, int origemY, int destinoX, int destinoY) {
+        this.peca = peca;
         this.origemX = origemX;
         this.origemY = origemY;
         this.destinoX = destinoX;
         this.destinoY = destinoY;
-        this.subject = subject;
+        this.move = PackedMove.encode(board.squareOf(origemX, origemY), board.squareOf(destinoX, destinoY),
+                                      peca.getKind(), peca.getSide(), null, 0);
+        return this;
+    }
+
+    /**
+     * Comando da jogada codificada por {@link PackedMove} com as casas do tabuleiro informado;
+     * a peça é a que está na origem.
+     * @throws IllegalStateException se a origem estiver vazia
+     */
+    public static MoverPecaCommand of(int move, TabletopProduct board, TabletopSubject subject, CommandLog log) {
+        int from = PackedMove.from(move), to = PackedMove.to(move);
+        Peca peca = board.getPieceAtSquare(from);
+        if (peca == null) {
+            throw new IllegalStateException("Jogada sem peça na origem: " + PackedMove.toString(move, board.getWidth()));
+        }
+        return new MoverPecaCommand(peca, board, board.squareX(from), board.squareY(from),
+                                    board.squareX(to), board.squareY(to), subject, log);
     }
 
     @Override
     public boolean execute() {
-        System.out.println("Executando comando para mover a peça " + peca.getNome());
+        LOG.debug("Executando comando para mover a peça {}", peca.getNome());
+        Peca captured = board.getPieceAt(destinoX, destinoY);
+        move = PackedMove.withCaptured(move, captured);
+        long start = Metrics.start();
         boolean resultado = peca.mover(board, origemX, origemY, destinoX, destinoY, subject);
-        if (resultado) store();
+        METRICS.record(Operation.STRATEGY, start);
+        if (resultado) {
+            start = Metrics.start();
+            try {
+                store();
+            } catch (RuntimeException | Error e) {
+                // jogada não registrada não fica no tabuleiro: o journal continua sendo a partida
+                board.unmakeMove(peca, PackedMove.from(move), PackedMove.to(move), captured);
+                throw e;
+            }
+            METRICS.record(Operation.LOG_APPEND, start);
+        }
         return resultado;
     }
 
+    public Peca getPeca() {
+        return peca;
+    }
+
+    public TabletopProduct getBoard() {
+        return board;
+    }
+
+    public int getOrigemX() {
+        return origemX;
+    }
+
+    public int getOrigemY() {
+        return origemY;
+    }
+
+    public int getDestinoX() {
+        return destinoX;
+    }
+
+    public int getDestinoY() {
+        return destinoY;
+    }
+
+    /**
+     * Jogada codificada por {@link PackedMove}; depois de {@link #execute()}, inclui a peça
+     * capturada.
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /** Largura do tabuleiro, para interpretar as casas de {@link #getMove()}. */
+    public int getBoardWidth() {
+        return board.getWidth();
+    }
+
     @Override
     public String serialize() {
-    return String.join(";", 
-        "MoverPecaCommand",
-        peca.getNome(),
-        peca.getSide().name(),
-        Integer.toString(origemX),
-        Integer.toString(origemY),
-        Integer.toString(destinoX),
-        Integer.toString(destinoY)
-    );
-}
+        StringBuilder out = new StringBuilder(48);
+        serializeTo(out);
+        return out.toString();
+    }
+
+    @Override
+    public void serializeTo(StringBuilder out) {
+        // MoverPecaCommand;nomePeca;side;origemX;origemY;destinoX;destinoY
+        out.append("MoverPecaCommand;").append(peca.getNome())
+           .append(';').append(peca.getSide().name())
+           .append(';').append(origemX).append(';').append(origemY)
+           .append(';').append(destinoX).append(';').append(destinoY);
+    }
 
     @Override
     public void store() {
-        try (PrintWriter out = new PrintWriter(new FileWriter("command.log", true))) {
-            out.println(serialize());
-        } catch (IOException e) {
-            System.err.println("Erro ao armazenar comando: " + e.getMessage());
+        LogWriteEvent event = new LogWriteEvent();
+        event.begin();
+        log.append(this);
+        if (event.shouldCommit()) {
+            event.set(peca, origemX, origemY, destinoX, destinoY);
+            event.log = log.getClass().getSimpleName();
+            event.commit();
         }
     }
 
     @Override
     public BoardMemento saveMemento() {
         // Originator cria seu Memento antes de executar
-        return new BoardMemento(board);
+        MementoEvent event = new MementoEvent();
+        event.begin();
+        BoardMemento memento = new BoardMemento(board);
+        if (event.shouldCommit()) commitMemento(event, "BoardMemento", board.getPieceAt(destinoX, destinoY));
+        return memento;
     }
 
     @Override
     public void restore(BoardMemento memento) {
         // Restaura o estado do tabuleiro
-        board.restoreState(memento.getState());
+        memento.restoreInto(board);
         subject.notifyObservers("Estado restaurado após undo"); 
     }
+
+    @Override
+    public void saveUndo(UndoLog log) {
+        // guarda só o delta: peça, origem, destino e a peça que será capturada
+        MementoEvent event = new MementoEvent();
+        event.begin();
+        Peca captured = board.getPieceAt(destinoX, destinoY);
+        log.push(PackedMove.withCaptured(move, captured), captured);
+        if (event.shouldCommit()) commitMemento(event, "UndoLog", captured);
+    }
+
+    private void commitMemento(MementoEvent event, String kind, Peca captured) {
+        event.set(peca, origemX, origemY, destinoX, destinoY);
+        event.kind = kind;
+        event.captured = captured != null ? captured.getNome() : null;
+        event.commit();
+    }
+
+    @Override
+    public void undo(UndoLog log) {
+        log.undoLast(board);
+        subject.notifyObservers("Estado restaurado após undo");
+    }
 }
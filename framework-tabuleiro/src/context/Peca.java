@@ -1,6 +1,7 @@
 package context;
 
 import builder.TabletopProduct;
+import enums.PieceKind;
 import observer.TabletopSubject;
 import strategy.MovimentoStrategy;
 import state.PecaState;
@@ -9,6 +10,7 @@ import state.NormalState;
 
 public class Peca {
     private String nome;
+    private final PieceKind kind;
     private PlayerSide side;
     private MovimentoStrategy movimentoStrategy;
     private PecaState state;
@@ -22,6 +24,7 @@ public class Peca {
                 MovimentoStrategy movimentoStrategy,
                 Position start) {
         this.nome = nome;
+        this.kind = PieceKind.fromNome(nome);
         this.side = side;
         this.movimentoStrategy = movimentoStrategy;
         this.state = new NormalState();
@@ -32,6 +35,11 @@ public class Peca {
         return nome;
     }
 
+    /** Tipo da peça; null para peças que não pertencem ao Selva. */
+    public PieceKind getKind() {
+        return kind;
+    }
+
     public PlayerSide getSide() {
         return side;
     }
@@ -71,6 +79,15 @@ public class Peca {
         return state.mover(this, board, origemX, origemY, destinoX, destinoY, subject);
     }
 
+    /**
+     * Verifica, sem alterar o tabuleiro, se o movimento é permitido pelo estado e pela estratégia.
+     */
+    public boolean podeMover(TabletopProduct board,
+                             int origemX, int origemY,
+                             int destinoX, int destinoY) {
+        return state.podeMover(this, board, origemX, origemY, destinoX, destinoY);
+    }
+
     public Peca deepClone() {
         return new Peca(
             this.nome,
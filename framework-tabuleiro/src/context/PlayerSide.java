@@ -3,4 +3,8 @@ package context;
 public enum PlayerSide {
     WHITE,
     BLACK;
+
+    public PlayerSide opponent() {
+        return this == WHITE ? BLACK : WHITE;
+    }
 }
@@ -6,29 +6,47 @@ import flyweight.TabletopFlyweightConcreteCreator;
 import facade.GameFacade;
 import singleton.TurnManager;
 import state.GameState;
+import state.InProgressState;
 import state.NotStartedState;
 import context.PlayerSide;
 import enums.CellType;
 import context.Peca;
+import movegen.PackedMove;
+import search.SearchEngine;
+import search.SearchResult;
+import search.TranspositionTable;
 
 import java.util.Scanner;
 
 public class GameController {
+    /** Tempo de busca padrão por jogada do computador. */
+    public static final long DEFAULT_ENGINE_MILLIS = 1000;
+
     private final GameFacade facade;
     private final TurnManager turnManager;
     private GameState state;
     private boolean gameOver;
+    // lado jogado pelo computador (null: os dois lados são humanos)
+    private SearchEngine engine;
+    private PlayerSide engineSide;
+    private long engineMillis = DEFAULT_ENGINE_MILLIS;
 
     public GameController() {
-        this.facade = new GameFacade();
-        this.turnManager = TurnManager.getInstance();
+        this(new GameFacade());
+    }
+
+    /** Controlador de uma partida já criada; usa o turno da própria fachada. */
+    public GameController(GameFacade facade) {
+        this.facade = facade;
+        this.turnManager = facade.getTurnManager();
         this.state = new NotStartedState();
         this.gameOver = false;
     }
 
     public void run() {
         Scanner in = new Scanner(System.in);
-        System.out.println("Digite 'start' para iniciar, 'move ox oy dx dy' para jogar, 'undo', 'replay', 'end' para sair.");
+        System.out.println("Digite 'start' para iniciar, 'move ox oy dx dy' para jogar, 'undo', 'replay', "
+                           + "'ai white|black|off [ms]' para o computador jogar um lado, 'end' para sair.");
         while (!gameOver) {
             System.out.print("> ");
             String line = in.nextLine().trim();
@@ -50,17 +68,14 @@ public class GameController {
                     int dy = Integer.parseInt(parts[4]);
                     String pieceName = promptForPieceName(ox, oy);
                     PlayerSide current = turnManager.getCurrentSide();
-                    if (!turnManager.isCurrentPlayer(current)) {
+                    if (!turnManager.isCurrentPlayer(current) || current == engineSide) {
                         System.out.println("Não é seu turno!");
                     } else {
-                        boolean moved = facade.executeMove(pieceName, current, ox, oy, dx, dy);
-                        if (moved) {
-                            checkVictory(dx, dy);
-                            if (!gameOver) turnManager.switchTurn();
-                        } else {
+                        if (!play(pieceName, current, ox, oy, dx, dy)) {
                             System.out.println("Jogada inválida.");
                         }
                         printBoard();
+                        playEngineTurn();
                     }
                 } catch (NumberFormatException e) {
                     System.out.println("Uso: move ox oy dx dy (valores inteiros)");
@@ -74,6 +89,8 @@ public class GameController {
         } else if (commandLine.equalsIgnoreCase("replay")) {
             facade.replay();
             printBoard();
+        } else if (commandLine.startsWith("ai")) {
+            dispatchEngine(commandLine.split("\\s+"));
         } else if (commandLine.equalsIgnoreCase("end")) {
             state.end(this);
         } else {
@@ -91,6 +108,7 @@ public class GameController {
         facade.divideBoard();
         System.out.println("=== Jogo Selva iniciado! ===");
         printBoard();
+        playEngineTurn();
     }
 
     public void doPlayLoop() {
@@ -99,6 +117,8 @@ public class GameController {
 
     public void doEnd() {
         System.out.println("=== Fim de Jogo ===");
+        playWithEngine(null, null, engineMillis);
+        facade.close();
         gameOver = true;
     }
 
@@ -106,6 +126,84 @@ public class GameController {
         this.state = s;
     }
 
+    /**
+     * Passa o lado informado para o computador, que busca cada jogada por {@code millisPerMove}
+     * milissegundos; com {@code side} null os dois lados voltam a ser humanos.
+     * O controlador passa a ser dono do motor: o motor anterior, se for outro, é fechado aqui,
+     * e o atual em {@link #doEnd()}.
+     */
+    public void playWithEngine(PlayerSide side, SearchEngine engine, long millisPerMove) {
+        if (side != null && engine == null) {
+            throw new IllegalArgumentException("Motor de busca não informado para o lado " + side);
+        }
+        if (this.engine != null && this.engine != engine) {
+            // libera as threads auxiliares e a tabela de transposição
+            this.engine.close();
+        }
+        this.engineSide = side;
+        this.engine = engine;
+        this.engineMillis = millisPerMove;
+    }
+
+    private void dispatchEngine(String[] parts) {
+        if (parts.length < 2 || parts.length > 3) {
+            System.out.println("Uso: ai white|black|off [ms]");
+            return;
+        }
+        try {
+            long millis = parts.length == 3 ? Long.parseLong(parts[2]) : engineMillis;
+            if (parts[1].equalsIgnoreCase("off")) {
+                playWithEngine(null, null, millis);
+                System.out.println("Os dois lados são jogados por humanos.");
+                return;
+            }
+            PlayerSide side = PlayerSide.valueOf(parts[1].toUpperCase());
+            playWithEngine(side, engine != null ? engine : defaultEngine(), millis);
+            System.out.println("O computador joga com " + side + " (" + millis + " ms por jogada).");
+            if (state instanceof InProgressState) playEngineTurn();
+        } catch (IllegalArgumentException e) {
+            System.out.println("Uso: ai white|black|off [ms]");
+        }
+    }
+
+    // uma thread de busca por processador; as auxiliares são daemon e não seguram a saída
+    private static SearchEngine defaultEngine() {
+        return new SearchEngine(TranspositionTable.ofMegabytes(SearchEngine.DEFAULT_TABLE_MEGABYTES),
+                                Runtime.getRuntime().availableProcessors());
+    }
+
+    // joga pelo computador enquanto for a vez do lado dele
+    private void playEngineTurn() {
+        while (!gameOver && engineSide != null && turnManager.getCurrentSide() == engineSide) {
+            SearchResult result = engine.search(facade.getBoard(), engineSide, engineMillis);
+            int move = result.getBestMove();
+            if (move == PackedMove.NONE) {
+                System.out.println("*** " + engineSide.opponent() + " venceu: " + engineSide + " não tem jogadas! ***");
+                state.end(this);
+                return;
+            }
+            var board = facade.getBoard();
+            int from = PackedMove.from(move), to = PackedMove.to(move);
+            int ox = board.squareX(from), oy = board.squareY(from);
+            int dx = board.squareX(to), dy = board.squareY(to);
+            System.out.println("Computador: " + PackedMove.toString(move, board.getWidth())
+                               + " (" + result.getDepth() + " de profundidade, pontuação " + result.getScore() + ")");
+            if (!play(promptForPieceName(ox, oy), engineSide, ox, oy, dx, dy)) {
+                System.out.println("Jogada do computador recusada: " + PackedMove.toString(move, board.getWidth()));
+                return;
+            }
+            printBoard();
+        }
+    }
+
+    // executa a jogada do lado a jogar e passa o turno (ou encerra com vitória)
+    private boolean play(String pieceName, PlayerSide current, int ox, int oy, int dx, int dy) {
+        if (!facade.executeMove(pieceName, current, ox, oy, dx, dy)) return false;
+        checkVictory(dx, dy);
+        if (!gameOver) turnManager.switchTurn();
+        return true;
+    }
+
     private void checkVictory(int dx, int dy) {
         CellType dest = facade.getBoard().getCellType(dx, dy);
         PlayerSide current = turnManager.getCurrentSide();
@@ -0,0 +1,51 @@
+package enums;
+
+/**
+ * Tipos de peça do jogo Selva, em ordem crescente de força.
+ * O ordinal é usado como índice nos bitboards e tabelas do tabuleiro.
+ */
+public enum PieceKind {
+    RATO("Rato", 1),
+    GATO("Gato", 2),
+    LOBO("Lobo", 3),
+    CAO("Cão", 4),
+    LEOPARDO("Leopardo", 5),
+    TIGRE("Tigre", 6),
+    LEAO("Leão", 7),
+    ELEFANTE("Elefante", 8);
+
+    private final String nome;
+    private final int rank;
+
+    PieceKind(String nome, int rank) {
+        this.nome = nome;
+        this.rank = rank;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Retorna o tipo correspondente ao nome da peça, ou null se o nome
+     * não for de uma peça do Selva (ex.: NullPiece).
+     */
+    public static PieceKind fromNome(String nome) {
+        if (nome == null) return null;
+        return switch (nome.toLowerCase()) {
+            case "rato" -> RATO;
+            case "gato" -> GATO;
+            case "lobo" -> LOBO;
+            case "cão", "cao" -> CAO;
+            case "leopardo" -> LEOPARDO;
+            case "tigre" -> TIGRE;
+            case "leão", "leao" -> LEAO;
+            case "elefante" -> ELEFANTE;
+            default -> null;
+        };
+    }
+}
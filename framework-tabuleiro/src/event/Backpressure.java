@@ -0,0 +1,12 @@
+package event;
+
+/** O que acontece quando uma assinatura fica uma volta inteira do ring buffer para trás. */
+public enum Backpressure {
+    /** A assinatura segura os produtores: {@link EventBus#publish} espera até haver espaço. */
+    BLOCK,
+    /**
+     * A assinatura não segura os produtores: se for ultrapassada, perde os eventos mais antigos
+     * e continua do mais antigo ainda disponível. As perdas são contadas.
+     */
+    DROP_OLDEST
+}
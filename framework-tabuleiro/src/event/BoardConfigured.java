@@ -0,0 +1,10 @@
+package event;
+
+/** O tabuleiro da partida foi montado ou teve sua configuração alterada. */
+public record BoardConfigured(int gameId, String detail) implements GameEvent {
+
+    @Override
+    public String description() {
+        return detail;
+    }
+}
@@ -0,0 +1,284 @@
+package event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Barramento de eventos assíncrono sobre um ring buffer pré-alocado.
+ *
+ * Os produtores (as threads das jogadas) reservam uma sequência, gravam o evento na casa
+ * {@code sequência & mask} e a marcam como publicada; não chamam nenhum consumidor.
+ * Cada {@link Subscription} tem a sua thread (virtual, quando a JVM oferece), lê o ring na ordem
+ * das sequências em lotes e entrega ao seu {@link EventHandler} só os eventos do tipo e da
+ * partida assinados. Sem eventos a thread fica estacionada; o produtor só acorda as assinaturas
+ * que aceitam o evento publicado, procuradas pelo id da partida: publicar não percorre as
+ * assinaturas das outras partidas.
+ *
+ * Assinaturas {@link Backpressure#BLOCK} seguram os produtores quando ficam uma volta atrás;
+ * as {@link Backpressure#DROP_OLDEST} nunca os seguram. {@link #tryPublish} descarta o evento
+ * em vez de esperar.
+ */
+public class EventBus implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_BATCH = 256;
+    /** Partida de uma assinatura que recebe os eventos de todas as partidas. */
+    public static final int ALL_GAMES = -1;
+    // espera de um produtor segurado por uma assinatura BLOCK
+    private static final int PRODUCER_SPINS = 100;
+    private static final long PRODUCER_PARK_NANOS = 100_000L;
+
+    private static final Subscription<?>[] NO_SUBSCRIPTIONS = new Subscription<?>[0];
+    private static final EventBus SHARED = new EventBus(DEFAULT_CAPACITY);
+
+    private final AtomicReferenceArray<GameEvent> ring;
+    // sequência publicada em cada casa (-1: nunca publicada)
+    private final AtomicLongArray published;
+    private final int mask;
+    // próxima sequência a reservar
+    private final AtomicLong cursor = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private volatile Subscription<?>[] subscriptions = NO_SUBSCRIPTIONS;
+    // índices de subscriptions, refeitos a cada assinatura: por partida, de todas e as BLOCK
+    private volatile Map<Integer, Subscription<?>[]> byGame = Map.of();
+    private volatile Subscription<?>[] allGames = NO_SUBSCRIPTIONS;
+    private volatile Subscription<?>[] gating = NO_SUBSCRIPTIONS;
+    private volatile boolean closed;
+
+    /**
+     * @param capacity número de casas do ring; potência de 2
+     */
+    public EventBus(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade do EventBus deve ser potência de 2: " + capacity);
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) published.set(i, -1);
+        this.mask = capacity - 1;
+    }
+
+    /** Barramento compartilhado pelas partidas do processo. */
+    public static EventBus shared() {
+        return SHARED;
+    }
+
+    /**
+     * Assina os eventos do tipo informado (use {@code GameEvent.class} para todos) a partir
+     * do próximo evento publicado. O handler roda em uma thread própria da assinatura.
+     */
+    public <E extends GameEvent> Subscription<E> subscribe(Class<E> type,
+                                                           EventHandler<? super E> handler,
+                                                           Backpressure backpressure) {
+        return subscribe(type, ALL_GAMES, handler, backpressure, DEFAULT_BATCH);
+    }
+
+    /**
+     * @param maxBatch máximo de eventos lidos do ring antes de {@link EventHandler#endOfBatch()}
+     */
+    public <E extends GameEvent> Subscription<E> subscribe(Class<E> type,
+                                                           EventHandler<? super E> handler,
+                                                           Backpressure backpressure,
+                                                           int maxBatch) {
+        return subscribe(type, ALL_GAMES, handler, backpressure, maxBatch);
+    }
+
+    /**
+     * Assina só os eventos da partida {@code gameId}: os das outras partidas são pulados pela
+     * assinatura sem chegar ao handler e não acordam a sua thread.
+     */
+    public <E extends GameEvent> Subscription<E> subscribe(Class<E> type,
+                                                           int gameId,
+                                                           EventHandler<? super E> handler,
+                                                           Backpressure backpressure) {
+        return subscribe(type, gameId, handler, backpressure, DEFAULT_BATCH);
+    }
+
+    /**
+     * @param gameId partida assinada, ou {@link #ALL_GAMES}
+     * @param maxBatch máximo de eventos lidos do ring antes de {@link EventHandler#endOfBatch()}
+     */
+    public <E extends GameEvent> Subscription<E> subscribe(Class<E> type,
+                                                           int gameId,
+                                                           EventHandler<? super E> handler,
+                                                           Backpressure backpressure,
+                                                           int maxBatch) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Lote deve ser positivo: " + maxBatch);
+        }
+        Subscription<E> subscription;
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("EventBus encerrado");
+            subscription = new Subscription<>(this, type, gameId, handler, backpressure, maxBatch, cursor.get());
+            Subscription<?>[] current = subscriptions;
+            Subscription<?>[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = subscription;
+            update(updated);
+        }
+        subscription.start();
+        return subscription;
+    }
+
+    /** Há alguma assinatura; sem assinaturas os produtores podem evitar criar eventos. */
+    public boolean hasSubscribers() {
+        return subscriptions.length > 0;
+    }
+
+    /**
+     * Publica o evento; se uma assinatura {@link Backpressure#BLOCK} estiver uma volta atrás,
+     * espera até ela liberar espaço.
+     */
+    public void publish(GameEvent event) {
+        long sequence = claim(true);
+        if (sequence >= 0) commit(sequence, event);
+    }
+
+    /**
+     * Publica o evento sem esperar.
+     * @return false se o ring estava cheio e o evento foi descartado
+     */
+    public boolean tryPublish(GameEvent event) {
+        long sequence = claim(false);
+        if (sequence < 0) {
+            rejected.increment();
+            return false;
+        }
+        commit(sequence, event);
+        return true;
+    }
+
+    /** Eventos descartados por {@link #tryPublish} com o ring cheio. */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /** Encerra as assinaturas depois de entregarem os eventos já publicados. */
+    @Override
+    public void close() {
+        Subscription<?>[] current;
+        synchronized (this) {
+            closed = true;
+            current = subscriptions;
+        }
+        for (Subscription<?> subscription : current) {
+            subscription.close();
+        }
+    }
+
+    // --- usado pelas assinaturas --- //
+
+    long cursor() {
+        return cursor.get();
+    }
+
+    /** Sequência publicada na casa da sequência informada. */
+    long publishedAt(long sequence) {
+        return published.get((int) sequence & mask);
+    }
+
+    GameEvent eventAt(long sequence) {
+        return ring.get((int) sequence & mask);
+    }
+
+    synchronized void remove(Subscription<?> subscription) {
+        Subscription<?>[] current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscription) {
+                Subscription<?>[] updated = new Subscription<?>[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                update(updated);
+                return;
+            }
+        }
+    }
+
+    // troca as assinaturas e refaz os índices; chamado sob o monitor do barramento
+    private void update(Subscription<?>[] updated) {
+        Map<Integer, List<Subscription<?>>> games = new HashMap<>();
+        List<Subscription<?>> all = new ArrayList<>();
+        List<Subscription<?>> blocking = new ArrayList<>();
+        for (Subscription<?> subscription : updated) {
+            if (subscription.getGameId() == ALL_GAMES) all.add(subscription);
+            else games.computeIfAbsent(subscription.getGameId(), id -> new ArrayList<>()).add(subscription);
+            if (subscription.getBackpressure() == Backpressure.BLOCK) blocking.add(subscription);
+        }
+        Map<Integer, Subscription<?>[]> index = new HashMap<>();
+        games.forEach((id, list) -> index.put(id, list.toArray(NO_SUBSCRIPTIONS)));
+        byGame = index;
+        allGames = all.toArray(NO_SUBSCRIPTIONS);
+        gating = blocking.toArray(NO_SUBSCRIPTIONS);
+        subscriptions = updated;
+    }
+
+    // --- produtores --- //
+
+    private long claim(boolean wait) {
+        if (closed) throw new IllegalStateException("EventBus encerrado");
+        int idle = 0;
+        while (true) {
+            long next = cursor.get();
+            if (next - capacity() >= minGatingSequence()) {
+                if (!wait || closed) return -1;
+                // quem segura o ring pode estar estacionado à espera de um evento que aceita
+                wakeGating();
+                idle = backOff(idle);
+                continue;
+            }
+            if (cursor.compareAndSet(next, next + 1)) return next;
+        }
+    }
+
+    private void commit(long sequence, GameEvent event) {
+        int index = (int) sequence & mask;
+        // invalida a casa antes de sobrescrevê-la: quem foi ultrapassado não lê um evento trocado
+        published.set(index, -1);
+        ring.set(index, event);
+        published.set(index, sequence);
+        for (Subscription<?> subscription : allGames) {
+            subscription.wake(event);
+        }
+        Subscription<?>[] game = byGame.get(event.gameId());
+        if (game != null) {
+            for (Subscription<?> subscription : game) {
+                subscription.wake(event);
+            }
+        }
+    }
+
+    private void wakeGating() {
+        for (Subscription<?> subscription : gating) {
+            if (subscription.gates()) subscription.wake();
+        }
+    }
+
+    // o ring só enche com uma assinatura BLOCK atrasada: gira e depois estaciona por intervalos curtos
+    private static int backOff(int count) {
+        if (count < PRODUCER_SPINS) {
+            Thread.onSpinWait();
+            return count + 1;
+        }
+        LockSupport.parkNanos(PRODUCER_PARK_NANOS);
+        return count;
+    }
+
+    // menor sequência ainda não lida pelas assinaturas que seguram os produtores
+    private long minGatingSequence() {
+        long min = Long.MAX_VALUE;
+        for (Subscription<?> subscription : gating) {
+            if (subscription.gates()) min = Math.min(min, subscription.getSequence());
+        }
+        return min;
+    }
+}
@@ -0,0 +1,18 @@
+package event;
+
+/**
+ * Consumidor de eventos de uma assinatura do {@link EventBus}. É chamado sempre pela mesma
+ * thread, a da assinatura, na ordem de publicação.
+ */
+@FunctionalInterface
+public interface EventHandler<E extends GameEvent> {
+
+    void onEvent(E event);
+
+    /**
+     * Chamado depois do último evento de cada lote entregue, para quem agrupa trabalho
+     * (ex.: gravar ou enviar os eventos acumulados de uma vez).
+     */
+    default void endOfBatch() {
+    }
+}
@@ -0,0 +1,14 @@
+package event;
+
+/**
+ * Evento de uma partida publicado no {@link EventBus}.
+ * Os eventos são imutáveis e podem ser lidos por várias threads.
+ */
+public sealed interface GameEvent permits PieceMoved, PieceCaptured, StateRestored, BoardConfigured {
+
+    /** Partida de origem do evento. */
+    int gameId();
+
+    /** Texto do evento para observadores baseados em String. */
+    String description();
+}
@@ -0,0 +1,16 @@
+package event;
+
+import context.PlayerSide;
+import enums.PieceKind;
+
+/** A peça de {@code side} em (x, y) foi capturada. Publicado logo após o {@link PieceMoved} da captura. */
+public record PieceCaptured(int gameId,
+                            PieceKind kind,
+                            PlayerSide side,
+                            int x, int y) implements GameEvent {
+
+    @Override
+    public String description() {
+        return "Peça " + kind + " " + side + " capturada em " + x + "," + y;
+    }
+}
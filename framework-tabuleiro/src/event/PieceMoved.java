@@ -0,0 +1,18 @@
+package event;
+
+import context.PlayerSide;
+import enums.PieceKind;
+
+/** Uma peça foi movida de (origemX, origemY) para (destinoX, destinoY). */
+public record PieceMoved(int gameId,
+                         PieceKind kind,
+                         PlayerSide side,
+                         int origemX, int origemY,
+                         int destinoX, int destinoY) implements GameEvent {
+
+    @Override
+    public String description() {
+        return "Peça " + kind + " " + side + " movida de " + origemX + "," + origemY
+            + " para " + destinoX + "," + destinoY;
+    }
+}
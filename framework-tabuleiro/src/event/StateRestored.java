@@ -0,0 +1,10 @@
+package event;
+
+/** O tabuleiro voltou a um estado anterior (undo, checkpoint, avanço pelo log). */
+public record StateRestored(int gameId, String reason) implements GameEvent {
+
+    @Override
+    public String description() {
+        return reason;
+    }
+}
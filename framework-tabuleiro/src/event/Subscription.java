@@ -0,0 +1,241 @@
+package event;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.locks.LockSupport;
+
+import log.Log;
+
+/**
+ * Assinatura de um {@link EventBus}: uma thread que lê o ring em lotes e entrega ao handler
+ * os eventos do tipo (e, se informada, da partida) assinados. A thread é virtual quando a JVM
+ * as oferece (Java 21+), como as sessões do {@code GameHost}: uma assinatura por partida não
+ * custa uma thread de plataforma. Sem eventos a thread fica estacionada até um produtor publicar
+ * um evento que ela aceita ou até {@link #close()}, que espera a entrega dos eventos já publicados.
+ */
+public class Subscription<E extends GameEvent> implements AutoCloseable {
+    private static final Log LOG = Log.get(Subscription.class);
+
+    // voltas antes de estacionar, para lotes que chegam em rajada
+    private static final int SPINS = 100;
+    // Thread.ofVirtual() e Thread.Builder, se existirem
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_UNSTARTED;
+
+    static {
+        Method ofVirtual = null, name = null, unstarted = null;
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builder.getMethod("name", String.class);
+            unstarted = builder.getMethod("unstarted", Runnable.class);
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_UNSTARTED = unstarted;
+    }
+
+    private final EventBus bus;
+    private final Class<E> type;
+    private final int gameId;
+    private final EventHandler<? super E> handler;
+    private final Backpressure backpressure;
+    private final int maxBatch;
+    private final Thread thread;
+    // próxima sequência a ler
+    private volatile long sequence;
+    private volatile long dropped;
+    private volatile boolean running = true;
+    // a thread anunciou que vai estacionar; os produtores a acordam
+    private volatile boolean waiting;
+
+    Subscription(EventBus bus,
+                 Class<E> type,
+                 int gameId,
+                 EventHandler<? super E> handler,
+                 Backpressure backpressure,
+                 int maxBatch,
+                 long firstSequence) {
+        this.bus = bus;
+        this.type = type;
+        this.gameId = gameId;
+        this.handler = handler;
+        this.backpressure = backpressure;
+        this.maxBatch = maxBatch;
+        this.sequence = firstSequence;
+        this.thread = newThread(this::run, gameId == EventBus.ALL_GAMES
+            ? "event-" + type.getSimpleName()
+            : "event-" + type.getSimpleName() + "-" + gameId);
+    }
+
+    /**
+     * Virtual thread ({@code Thread.ofVirtual().name(name).unstarted(task)}) se existir;
+     * senão, uma thread daemon.
+     */
+    static Thread newThread(Runnable task, String name) {
+        if (OF_VIRTUAL != null) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name);
+                return (Thread) BUILDER_UNSTARTED.invoke(builder, task);
+            } catch (ReflectiveOperationException e) {
+                LOG.warn("Virtual threads indisponíveis: {}", e.getMessage());
+            }
+        }
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /** Thread da assinatura. */
+    Thread thread() {
+        return thread;
+    }
+
+    /** Assinatura que segura os produtores. */
+    boolean gates() {
+        return backpressure == Backpressure.BLOCK && running;
+    }
+
+    /** Evento do tipo e da partida assinados. */
+    boolean accepts(GameEvent event) {
+        return type.isInstance(event) && (gameId == EventBus.ALL_GAMES || event.gameId() == gameId);
+    }
+
+    /** Chamado pelo produtor depois de publicar: acorda a thread se ela espera um evento assim. */
+    void wake(GameEvent event) {
+        if (waiting && accepts(event)) LockSupport.unpark(thread);
+    }
+
+    /** Acorda a thread se estiver estacionada, para liberar espaço a um produtor que espera. */
+    void wake() {
+        if (waiting) LockSupport.unpark(thread);
+    }
+
+    /** Próxima sequência que a assinatura vai ler. */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /** Eventos perdidos por ficar uma volta atrás ({@link Backpressure#DROP_OLDEST}). */
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    public Class<E> getType() {
+        return type;
+    }
+
+    /** Partida assinada, ou {@link EventBus#ALL_GAMES}. */
+    public int getGameId() {
+        return gameId;
+    }
+
+    public Backpressure getBackpressure() {
+        return backpressure;
+    }
+
+    /** Para a assinatura depois de entregar os eventos já publicados e espera a sua thread. */
+    @Override
+    public void close() {
+        if (!running) return;
+        running = false;
+        bus.remove(this);
+        LockSupport.unpark(thread);
+        if (Thread.currentThread() == thread) return;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long next = sequence;
+        int idle = 0;
+        while (true) {
+            long available = bus.cursor();
+            if (next >= available) {
+                if (!running) break;
+                idle = idle(idle, next);
+                continue;
+            }
+            if (backpressure == Backpressure.DROP_OLDEST) {
+                long oldest = available - bus.capacity();
+                if (next < oldest) {
+                    dropped += oldest - next;
+                    next = oldest;
+                }
+            }
+            long end = Math.min(available, next + maxBatch);
+            long read = next;
+            boolean delivered = false;
+            while (read < end) {
+                long at = bus.publishedAt(read);
+                if (at < read) break;             // reservada mas ainda não publicada
+                GameEvent event = bus.eventAt(read);
+                if (at > read || bus.publishedAt(read) != read) {
+                    break;                        // ultrapassada: ressincroniza no próximo ciclo
+                }
+                if (accepts(event)) {
+                    deliver(type.cast(event));
+                    delivered = true;
+                }
+                read++;
+            }
+            if (delivered) endOfBatch();
+            if (read == next) {
+                if (backpressure == Backpressure.DROP_OLDEST && bus.publishedAt(next) > next) {
+                    dropped++;
+                    next++;
+                    sequence = next;
+                    continue;
+                }
+                idle = idle(idle, next);
+                continue;
+            }
+            next = read;
+            sequence = next;
+            idle = 0;
+        }
+    }
+
+    private void deliver(E event) {
+        try {
+            handler.onEvent(event);
+        } catch (RuntimeException e) {
+            LOG.error("Erro no consumidor de {}: {}", type.getSimpleName(), e.getMessage());
+        }
+    }
+
+    private void endOfBatch() {
+        try {
+            handler.endOfBatch();
+        } catch (RuntimeException e) {
+            LOG.error("Erro no consumidor de {}: {}", type.getSimpleName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Espera a sequência {@code next} ser publicada: gira algumas vezes e depois estaciona sem
+     * prazo. A espera é anunciada antes de a sequência ser conferida de novo; assim um produtor
+     * que publica nesse meio tempo vê a espera e acorda a thread.
+     */
+    private int idle(int count, long next) {
+        if (count < SPINS) {
+            Thread.onSpinWait();
+            return count + 1;
+        }
+        waiting = true;
+        if (running && bus.publishedAt(next) < next) {
+            LockSupport.park(this);
+        }
+        waiting = false;
+        return 0;
+    }
+}
@@ -7,58 +7,277 @@ import factorymethod.CellCreator;
 import flyweight.TabletopFlyweightConcreteCreator;
 import flyweight.TabletopFlyweightFactory;
 import abstractfactory.SelvaPieceFactory;
-import builder.SelvaTabletopBuilder;
-import builder.TabletopDirector;
+import builder.PersistentPosition;
 import builder.TabletopProduct;
-import command.Command;
+import checkpoint.Checkpoint;
+import checkpoint.CheckpointManager;
 import command.CommandInvoker;
+import command.CommandLog;
+import command.CommandLogManager;
+import journal.GameJournal;
+import journal.MoveJournal;
+import journal.MoveRecord;
+import jfr.MoveRequestEvent;
+import jfr.ObserverDispatchEvent;
+import log.Log;
+import metrics.Metrics;
+import metrics.Operation;
 import command.MoverPecaCommand;
 import composite.TabletopComponent;
+import movegen.MoveBuffer;
+import movegen.MoveGenerator;
+import movegen.PackedMove;
+import event.Backpressure;
+import event.BoardConfigured;
+import event.EventBus;
+import event.GameEvent;
+import event.PieceCaptured;
+import event.PieceMoved;
+import event.StateRestored;
+import event.Subscription;
 import observer.TabletopConcreteObserver;
 import observer.TabletopConcreteSubject;
 import observer.TabletopObserver;
+import prototype.BoardTemplateRegistry;
 import templatemethod.AbstractBoardDivider;
 import templatemethod.StandardBoardDivider;
 import responsability.MoveValidator;
 import responsability.BoundsValidator;
 import responsability.CellEntryValidator;
 import responsability.CaptureValidator;
+import responsability.ValidationKernel;
+import singleton.TurnManager;
+import zobrist.PositionCache;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 public class GameFacade {
-    private TabletopProduct board;
+    private static final Log LOG = Log.get(GameFacade.class);
+    private static final Metrics METRICS = Metrics.shared();
+    // recusas que não vêm da cadeia de validadores
+    private static final LongAdder WRONG_PIECE = METRICS.rejections("Peca");
+    private static final LongAdder STRATEGY_REFUSED = METRICS.rejections("Estrategia");
+    private static final LongAdder STALE_VERSION = METRICS.rejections("Versao");
+
+    private volatile TabletopProduct board;
     private TabletopConcreteSubject subject;
     private CommandInvoker commandInvoker;
-    private MoveValidator validatorChain;
+    private final CommandLog commandLog;
+    private final int gameId;
+    private final MoveJournal journal;
+    private final TurnManager turnManager;
+    private final EventBus events;
+    private final List<Subscription<?>> subscriptions = new ArrayList<>();
+    private CheckpointManager checkpoints;
+    private SelvaPieceFactory pieceFactory;
+    // cadeia de validadores compilada (ver setValidatorChain)
+    private ValidationKernel validation;
+    private MoveGenerator moveGenerator;
+    // comando reaproveitado em todas as jogadas (o invoker guarda só a jogada codificada)
+    private MoverPecaCommand moveCommand;
+    // movimentos legais de cada lado, por chave de posição (lado a jogar = lado da peça)
+    private final PositionCache<int[]> moveCache = new PositionCache<>(4096);
+    // partida contada em Metrics.getLiveGames entre setupSelva e close
+    private boolean live;
 
+    /**
+     * Partida nova registrada no journal binário do diretório {@code journal}, com os eventos
+     * impressos no console pelo observador "Sistema de Eventos".
+     */
     public GameFacade() {
+        this(MoveJournal.openNewGame(Paths.get("journal")));
+        observe(new TabletopConcreteObserver("Sistema de Eventos"));
+    }
+
+    /** Partida {@code gameId} registrada em um journal compartilhado. */
+    public GameFacade(MoveJournal journal, int gameId) {
+        this(journal.forGame(gameId));
+    }
+
+    /** Partida que usa o turno global do {@link TurnManager}. */
+    public GameFacade(CommandLog commandLog) {
+        this(commandLog, TurnManager.getInstance());
+    }
+
+    /** Partida com os eventos publicados no barramento compartilhado ({@link EventBus#shared()}). */
+    public GameFacade(CommandLog commandLog, TurnManager turnManager) {
+        this(commandLog, turnManager, EventBus.shared());
+    }
+
+    /**
+     * @param commandLog log onde as jogadas são registradas; a fachada o fecha em {@link #close()}
+     * @param turnManager turno desta partida
+     * @param events barramento onde os eventos da partida são publicados
+     */
+    public GameFacade(CommandLog commandLog, TurnManager turnManager, EventBus events) {
+        this.commandLog = commandLog;
+        this.turnManager = turnManager;
+        this.events = events;
+        this.gameId = commandLog instanceof GameJournal log ? log.getGameId() : 0;
+        this.journal = commandLog instanceof GameJournal log ? log.getJournal() : null;
         this.commandInvoker = new CommandInvoker();
         subject = new TabletopConcreteSubject("Inicial");
-        TabletopObserver observer = new TabletopConcreteObserver("Sistema de Eventos");
-        subject.attach(observer);
         // Monta cadeia de validação
-        this.validatorChain = new BoundsValidator(
+        setValidatorChain(new BoundsValidator(
             new CellEntryValidator(
             new CaptureValidator(null)
-        ));
+        )));
+    }
+
+    /**
+     * Troca a cadeia de validadores da partida, por exemplo para acrescentar regras próprias aos
+     * validadores do Selva. A cadeia é compilada em um {@link ValidationKernel} usado nas jogadas
+     * e na geração de movimentos.
+     */
+    public void setValidatorChain(MoveValidator validatorChain) {
+        ValidationKernel validation = ValidationKernel.compile(validatorChain);
+        TabletopProduct board = this.board;
+        long stamp = board == null ? 0 : board.lockWrite();
+        try {
+            this.validation = validation;
+            this.moveGenerator = new MoveGenerator(validation);
+            clearMoveCache();
+        } finally {
+            if (board != null) board.unlockWrite(stamp, false);
+        }
+    }
+
+    /** Cadeia de validadores da partida. */
+    public MoveValidator getValidatorChain() {
+        return validation.getChain();
     }
 
+    /** Executa a jogada com acesso exclusivo ao tabuleiro. */
     public boolean executeMove(String pieceName,
                                PlayerSide side,
                                int ox, int oy,
                                int dx, int dy) {
+        MoveRequestEvent event = new MoveRequestEvent();
+        event.begin();
+        TabletopProduct board = this.board;
+        long start = Metrics.start();
+        List<GameEvent> pending = pendingEvents();
+        long stamp = board.lockWrite();
+        boolean moved = false;
+        try {
+            moved = applyMove(pieceName, side, ox, oy, dx, dy, pending);
+        } finally {
+            board.unlockWrite(stamp, moved);
+            METRICS.record(Operation.MOVE, start);
+        }
+        publish(pending);
+        if (event.shouldCommit()) {
+            commitRequest(event, pieceName, side, ox, oy, dx, dy,
+                          moved ? MoveRequestEvent.EXECUTED : MoveRequestEvent.REJECTED);
+        }
+        return moved;
+    }
+
+    /**
+     * Executa a jogada só se o tabuleiro ainda estiver na versão {@code expectedVersion}
+     * (ver {@link TabletopProduct#getVersion()}), como um compare-and-set. Um envio repetido ou
+     * feito sobre uma posição já alterada é recusado sem mudar nada; o cliente deve reler o
+     * tabuleiro e a versão antes de tentar de novo.
+     * @return false se a versão não confere ou se a jogada é inválida
+     */
+    public boolean executeMove(long expectedVersion,
+                               String pieceName,
+                               PlayerSide side,
+                               int ox, int oy,
+                               int dx, int dy) {
+        MoveRequestEvent event = new MoveRequestEvent();
+        event.begin();
+        TabletopProduct board = this.board;
+        // versão já mudou: recusa sem disputar a escrita
+        if (board.getVersion() != expectedVersion) {
+            STALE_VERSION.increment();
+            if (event.shouldCommit()) {
+                commitRequest(event, pieceName, side, ox, oy, dx, dy, MoveRequestEvent.STALE_VERSION);
+            }
+            return false;
+        }
+        long start = Metrics.start();
+        List<GameEvent> pending = pendingEvents();
+        long stamp = board.lockWrite();
+        boolean moved = false;
+        boolean stale = false;
+        try {
+            if (board.getVersion() != expectedVersion) {
+                STALE_VERSION.increment();
+                stale = true;
+            } else {
+                moved = applyMove(pieceName, side, ox, oy, dx, dy, pending);
+            }
+        } finally {
+            board.unlockWrite(stamp, moved);
+            METRICS.record(Operation.MOVE, start);
+        }
+        publish(pending);
+        if (event.shouldCommit()) {
+            commitRequest(event, pieceName, side, ox, oy, dx, dy,
+                          moved ? MoveRequestEvent.EXECUTED
+                                : stale ? MoveRequestEvent.STALE_VERSION : MoveRequestEvent.REJECTED);
+        }
+        return moved;
+    }
+
+    // fora do caminho da jogada: com a gravação desligada shouldCommit() é falso e o evento some
+    private void commitRequest(MoveRequestEvent event,
+                               String pieceName,
+                               PlayerSide side,
+                               int ox, int oy,
+                               int dx, int dy,
+                               String outcome) {
+        event.set(pieceName, side.name(), ox, oy, dx, dy);
+        event.gameId = gameId;
+        event.outcome = outcome;
+        event.commit();
+    }
+
+    // chamado com a escrita do tabuleiro adquirida; os eventos da jogada vão para pending
+    private boolean applyMove(String pieceName,
+                              PlayerSide side,
+                              int ox, int oy,
+                              int dx, int dy,
+                              List<GameEvent> pending) {
         // Mova apenas se válido
         Peca piece = board.getPieceAt(ox, oy);
         if (piece == null || !piece.getNome().equals(pieceName)) {
+            WRONG_PIECE.increment();
+            return false;
+        }
+        long start = Metrics.start();
+        boolean valid = validation.validateSubmitted(piece, board, ox, oy, dx, dy);
+        METRICS.record(Operation.VALIDATION, start);
+        if (!valid) {
             return false;
         }
-        if (!validatorChain.validate(piece, board, ox, oy, dx, dy)) {
+        Peca captured = board.getPieceAt(dx, dy);
+        if (!commandInvoker.executeCommand(moveCommand(piece, ox, oy, dx, dy))) {
+            STRATEGY_REFUSED.increment();
             return false;
         }
-        Command moveCommand = new MoverPecaCommand(piece, board, ox, oy, dx, dy, subject);
-        return commandInvoker.executeCommand(moveCommand);
+        METRICS.moveApplied();
+        commandInvoker.recordPosition(board.getPositionKey(side.opponent()));
+        if (checkpoints != null) {
+            checkpoints.afterMove(gameId, journal.plies(gameId), side.opponent(), board);
+        }
+        moveEvents(pending, piece, ox, oy, dx, dy, captured);
+        return true;
+    }
+
+    // chamado com a escrita do tabuleiro adquirida
+    private MoverPecaCommand moveCommand(Peca piece, int ox, int oy, int dx, int dy) {
+        if (moveCommand == null || moveCommand.getBoard() != board) {
+            moveCommand = new MoverPecaCommand(piece, board, ox, oy, dx, dy, subject, commandLog);
+            return moveCommand;
+        }
+        return moveCommand.reset(piece, ox, oy, dx, dy);
     }
 
     public void setupSelva(int width,
@@ -66,13 +285,20 @@ public class GameFacade {
                            CellCreator cellFactory,
                            TabletopFlyweightFactory flyFactory,
                            SelvaPieceFactory pieceFactory) {
-        SelvaTabletopBuilder builder = new SelvaTabletopBuilder();
-        TabletopDirector director = new TabletopDirector(builder);
-        board = director.construct(width, height,
-                                   cellFactory,
-                                   flyFactory,
-                                   pieceFactory);
+        this.pieceFactory = pieceFactory;
+        // o layout é montado uma vez pelo Director; cada jogo recebe uma cópia do modelo
+        board = BoardTemplateRegistry.shared().create(width, height,
+                                                      cellFactory,
+                                                      flyFactory,
+                                                      pieceFactory);
+        clearMoveCache();
+        commandInvoker.resetPositions(getPositionKey());
+        if (!live) {
+            live = true;
+            METRICS.gameStarted();
+        }
         subject.setState("Jogo Selva configurado");
+        events.publish(new BoardConfigured(gameId, "Jogo Selva configurado"));
     }
 
     public void divideBoard() {
@@ -80,33 +306,358 @@ public class GameFacade {
         AbstractBoardDivider divider = new StandardBoardDivider();
         divider.divideBoard(board, flyFactory);
         subject.setState("Tabuleiro dividido em branco/preto.");
+        events.publish(new BoardConfigured(gameId, "Tabuleiro dividido em branco/preto."));
     }
 
     public TabletopProduct getBoard() {
         return board;
     }
 
-    /** Retorna posições válidas sem executar o movimento */
+    /**
+     * Retorna posições válidas sem executar o movimento.
+     * Roda sob a leitura do tabuleiro, em paralelo com outras consultas; o cache de movimentos
+     * da partida tem a sua própria sincronização.
+     */
     public List<Position> getValidMoves(int ox, int oy) {
+        TabletopProduct board = this.board;
         List<Position> moves = new ArrayList<>();
-        Peca p = board.getPieceAt(ox, oy);
-        if (p == null) return moves;
-        for (int dx = 0; dx < board.getWidth(); dx++) {
-            for (int dy = 0; dy < board.getHeight(); dy++) {
-                if (validatorChain.validate(p, board, ox, oy, dx, dy)) {
-                    moves.add(new Position(dx, dy));
-                }
+        long stamp = board.lockRead();
+        try {
+            Peca p = board.getPieceAt(ox, oy);
+            if (p == null) return moves;
+            int from = board.squareOf(ox, oy);
+            for (int move : cachedMoves(board, p.getSide(), null)) {
+                if (PackedMove.from(move) != from) continue;
+                int to = PackedMove.to(move);
+                moves.add(new Position(board.squareX(to), board.squareY(to)));
             }
+            return moves;
+        } finally {
+            board.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Escreve no buffer todos os movimentos legais do lado (codificados por {@link PackedMove}).
+     * @return quantidade de movimentos gerados
+     */
+    public int generateMoves(PlayerSide side, MoveBuffer out) {
+        TabletopProduct board = this.board;
+        long stamp = board.lockRead();
+        try {
+            int[] cached = cachedMoves(board, side, out);
+            out.clear();
+            for (int move : cached) {
+                out.add(move);
+            }
+            return out.size();
+        } finally {
+            board.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Versão imutável das peças atuais, obtida em O(1). Pode ser explorada com
+     * {@link PersistentPosition#move(int, int)} em qualquer thread sem tocar na partida.
+     */
+    public PersistentPosition snapshot() {
+        return board.readSnapshot();
+    }
+
+    /** Chave Zobrist da posição atual, com o lado a jogar do turno desta partida. */
+    public long getPositionKey() {
+        return board.getPositionKey(turnManager.getCurrentSide());
+    }
+
+    /** A posição atual já ocorreu três vezes nesta partida. */
+    public boolean isThreefoldRepetition() {
+        return commandInvoker.isThreefoldRepetition();
+    }
+
+    /**
+     * Cache de movimentos por posição. O estado das peças (ex.: bloqueada) não entra na chave;
+     * quem alterar o estado de uma peça deve limpar o cache. Consultas de outras threads o usam
+     * sob o seu monitor ({@code synchronized (cache)}).
+     */
+    public PositionCache<int[]> getMoveCache() {
+        return moveCache;
+    }
+
+    private void clearMoveCache() {
+        synchronized (moveCache) {
+            moveCache.clear();
+        }
+    }
+
+    /**
+     * Movimentos do lado na posição atual, do cache ou gerados em {@code scratch} (ou em um
+     * buffer novo, se null); chamado com
+     * a leitura do tabuleiro adquirida, que pode estar com outras threads: cada chamada gera no
+     * seu buffer e o cache é acessado sob o seu monitor.
+     */
+    private int[] cachedMoves(TabletopProduct board, PlayerSide side, MoveBuffer scratch) {
+        long key = board.getPositionKey(side);
+        int[] moves;
+        synchronized (moveCache) {
+            moves = moveCache.get(key);
+        }
+        if (moves != null) return moves;
+        if (scratch == null) scratch = new MoveBuffer();
+        moveGenerator.generate(board, side, scratch);
+        moves = scratch.toArray();
+        synchronized (moveCache) {
+            moveCache.put(key, moves);
         }
         return moves;
     }
 
+    /**
+     * Passa a gravar checkpoints desta partida; exige que as jogadas sejam registradas no journal.
+     */
+    public void enableCheckpoints(CheckpointManager manager) {
+        if (journal == null) {
+            throw new IllegalStateException("Checkpoints exigem que a partida seja registrada em um MoveJournal");
+        }
+        this.checkpoints = manager;
+    }
+
+    /**
+     * Retoma a partida: carrega o último checkpoint (se houver) no tabuleiro já configurado
+     * e aplica só as jogadas do journal posteriores a ele.
+     * @return o ply alcançado
+     */
+    public int recover(CheckpointManager manager) {
+        if (journal == null) {
+            throw new IllegalStateException("Recuperação exige que a partida seja registrada em um MoveJournal");
+        }
+        TabletopProduct board = this.board;
+        int ply;
+        long stamp = board.lockWrite();
+        try {
+            int from = 0;
+            Checkpoint checkpoint = manager.latest(gameId);
+            if (checkpoint != null && checkpoint.ply() > journal.plies(gameId)) {
+                // gravado antes de um undo que não chegou a refazê-lo
+                LOG.warn("Checkpoint da partida {} no ply {} além do journal; ignorado",
+                         gameId, checkpoint.ply());
+                checkpoint = null;
+            }
+            if (checkpoint != null) {
+                checkpoint.applyTo(board, pieceFactory);
+                // peças novas, decodificadas do checkpoint
+                clearMoveCache();
+                turnManager.setCurrentSide(checkpoint.sideToMove());
+                commandInvoker.clear(getPositionKey());
+                from = checkpoint.ply();
+            }
+            int reached = applyFastForward(journal.read(gameId, from), Integer.MAX_VALUE);
+            ply = reached < 0 ? from : reached;
+        } finally {
+            board.unlockWrite(stamp, true);
+        }
+        events.publish(new StateRestored(gameId, "Partida recuperada até o ply " + ply));
+        return ply;
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public CommandLog getCommandLog() {
+        return commandLog;
+    }
+
+    public TurnManager getTurnManager() {
+        return turnManager;
+    }
+
+    /** Grava as jogadas pendentes e fecha o log de comandos. */
+    public void close() {
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.close();
+        }
+        subscriptions.clear();
+        if (live) {
+            live = false;
+            METRICS.gameEnded();
+        }
+        commandLog.close();
+    }
+
+    public EventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Entrega os eventos desta partida ao observador em uma assinatura do barramento, fora da
+     * thread das jogadas. A assinatura é {@link Backpressure#DROP_OLDEST}: um observador lento
+     * perde eventos antigos (ver {@link Subscription#getDroppedCount()}) em vez de segurar as
+     * jogadas. A assinatura é encerrada em {@link #close()}.
+     */
+    public Subscription<GameEvent> observe(TabletopObserver observer) {
+        return observe(observer, Backpressure.DROP_OLDEST);
+    }
+
+    /**
+     * Como {@link #observe(TabletopObserver)}, escolhendo o que acontece quando o observador fica
+     * uma volta do ring para trás; com {@link Backpressure#BLOCK} as jogadas esperam por ele.
+     */
+    public Subscription<GameEvent> observe(TabletopObserver observer, Backpressure backpressure) {
+        int id = gameId;
+        Subscription<GameEvent> subscription = events.subscribe(GameEvent.class, id, event -> {
+            ObserverDispatchEvent dispatch = new ObserverDispatchEvent();
+            dispatch.begin();
+            observer.update(event.description());
+            if (dispatch.shouldCommit()) {
+                dispatch.gameId = id;
+                dispatch.message = event.description();
+                dispatch.observers = 1;
+                dispatch.commit();
+            }
+        }, backpressure);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Eventos criados sob a escrita do tabuleiro e publicados só depois de liberá-la, para que
+     * um consumidor atrasado não segure o tabuleiro. Sem assinaturas nenhum evento é criado (null).
+     */
+    private List<GameEvent> pendingEvents() {
+        return events.hasSubscribers() ? new ArrayList<>(2) : null;
+    }
+
+    private void publish(List<GameEvent> pending) {
+        if (pending == null) return;
+        for (GameEvent event : pending) {
+            events.publish(event);
+        }
+    }
+
+    private void moveEvents(List<GameEvent> pending, Peca piece, int ox, int oy, int dx, int dy, Peca captured) {
+        if (pending == null) return;
+        pending.add(new PieceMoved(gameId, piece.getKind(), piece.getSide(), ox, oy, dx, dy));
+        if (captured != null) {
+            pending.add(new PieceCaptured(gameId, captured.getKind(), captured.getSide(), dx, dy));
+        }
+    }
+
+    /**
+     * Desfaz a última jogada. O undo é registrado no log antes de mexer no tabuleiro, para que a
+     * jogada desfeita não volte na recuperação; um log que não registra undo o recusa.
+     * @throws UnsupportedOperationException se o log da partida não registra undo
+     */
     public void undo() {
-        commandInvoker.undo();
+        TabletopProduct board = this.board;
+        long stamp = board.lockWrite();
+        boolean changed = commandInvoker.getHistorySize() > 0;
+        try {
+            if (changed) commandLog.undo();
+            int undone = commandInvoker.getLastMove();
+            commandInvoker.undo();
+            if (changed && checkpoints != null) {
+                // um checkpoint com a jogada desfeita é refeito na posição atual
+                checkpoints.afterUndo(gameId, journal.plies(gameId), PackedMove.side(undone), board);
+            }
+        } finally {
+            board.unlockWrite(stamp, changed);
+        }
+        if (changed && events.hasSubscribers()) {
+            events.publish(new StateRestored(gameId, "Estado restaurado após undo"));
+        }
     }
 
     public void replay() {
-        Command last = commandInvoker.getLastCommand();
-        if (last != null) commandInvoker.executeCommand(last);
+        TabletopProduct board = this.board;
+        long start = Metrics.start();
+        List<GameEvent> pending = pendingEvents();
+        long stamp = board.lockWrite();
+        boolean changed = false;
+        try {
+            int last = commandInvoker.getLastMove();
+            if (last != PackedMove.NONE) {
+                // reexecuta a última jogada com a mesma peça (que está no destino dela)
+                int from = PackedMove.from(last), to = PackedMove.to(last);
+                Peca piece = board.getPieceAtSquare(to);
+                int ox = board.squareX(from), oy = board.squareY(from);
+                int dx = board.squareX(to), dy = board.squareY(to);
+                Peca captured = board.getPieceAt(dx, dy);
+                changed = commandInvoker.executeCommand(moveCommand(piece, ox, oy, dx, dy));
+                if (changed) {
+                    commandInvoker.recordPosition(board.getPositionKey(piece.getSide().opponent()));
+                    moveEvents(pending, piece, ox, oy, dx, dy, captured);
+                }
+            }
+        } finally {
+            board.unlockWrite(stamp, changed);
+            METRICS.record(Operation.REPLAY, start);
+        }
+        publish(pending);
+    }
+
+    /**
+     * Reexecuta jogadas de um log sobre o tabuleiro atual pelo caminho normal (validadores,
+     * estratégias, undo e observadores), sem registrá-las de novo no log.
+     * Para na primeira jogada rejeitada.
+     * @return quantidade de jogadas executadas
+     */
+    public int replay(Stream<MoveRecord> moves) {
+        TabletopProduct board = this.board;
+        int applied = 0;
+        long start = Metrics.start();
+        List<GameEvent> pending = events.hasSubscribers() ? new ArrayList<>() : null;
+        long stamp = board.lockWrite();
+        try {
+            Iterator<MoverPecaCommand> commands = CommandLogManager.replay(moves, board, subject).iterator();
+            while (commands.hasNext()) {
+                MoverPecaCommand cmd = commands.next();
+                Peca piece = cmd.getPeca();
+                Peca captured = board.getPieceAt(cmd.getDestinoX(), cmd.getDestinoY());
+                if (!validation.validateSubmitted(piece, board, cmd.getOrigemX(), cmd.getOrigemY(),
+                                                      cmd.getDestinoX(), cmd.getDestinoY())
+                        || !commandInvoker.executeCommand(cmd)) {
+                    break;
+                }
+                commandInvoker.recordPosition(board.getPositionKey(piece.getSide().opponent()));
+                moveEvents(pending, piece, cmd.getOrigemX(), cmd.getOrigemY(),
+                           cmd.getDestinoX(), cmd.getDestinoY(), captured);
+                applied++;
+            }
+        } finally {
+            board.unlockWrite(stamp, applied > 0);
+            METRICS.record(Operation.REPLAY, start);
+            // as jogadas aplicadas antes de uma linha inválida também são anunciadas
+            publish(pending);
+        }
+        return applied;
+    }
+
+    /**
+     * Avança até o ply {@code toPly} (exclusivo) aplicando as jogadas de um log confiável
+     * diretamente no tabuleiro, sem validação nem observadores. O histórico de undo recomeça
+     * na posição alcançada, as posições intermediárias entram no histórico de repetição e o
+     * turno passa ao lado seguinte à última jogada.
+     * @return o ply alcançado (número da próxima jogada), ou -1 se nenhuma jogada foi aplicada
+     */
+    public int fastForward(Stream<MoveRecord> moves, int toPly) {
+        TabletopProduct board = this.board;
+        long stamp = board.lockWrite();
+        int reached = -1;
+        try {
+            reached = applyFastForward(moves, toPly);
+        } finally {
+            board.unlockWrite(stamp, reached >= 0);
+        }
+        if (reached >= 0) events.publish(new StateRestored(gameId, "Partida avançada até o ply " + reached));
+        return reached;
+    }
+
+    // chamado com a escrita do tabuleiro adquirida
+    private int applyFastForward(Stream<MoveRecord> moves, int toPly) {
+        MoveRecord last = CommandLogManager.fastForward(moves, board, toPly, commandInvoker.getPositions());
+        if (last == null) return -1;
+        turnManager.setCurrentSide(last.side().opponent());
+        commandInvoker.clearUndo();
+        return last.ply() + 1;
     }
 }
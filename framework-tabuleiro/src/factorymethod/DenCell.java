@@ -2,15 +2,19 @@ package factorymethod;
 
 import context.Position;
 import enums.CellType;
+import log.Log;
+import log.Level;
 
 public class DenCell extends CellAbstractProduct {
+    private static final Log LOG = Log.get(DenCell.class);
+
     public DenCell(Position p, boolean whiteSide) {
         super(p, whiteSide? CellType.DEN_WHITE : CellType.DEN_BLACK);
     }
     @Override
     public void render(flyweight.TabletopFlyweightFactory fw) {
         String key = (type == CellType.DEN_WHITE? "TocaBranca" : "TocaPreta");
-        System.out.println(fw.getFlyweight(key).operation("x:"+pos.row+",y:"+pos.col));
+        if (LOG.isEnabled(Level.INFO)) LOG.info(fw.getFlyweight(key).operation("x:"+pos.row+",y:"+pos.col));
     }
 
     @Override
@@ -2,13 +2,17 @@ package factorymethod;
 
 import context.Position;
 import enums.CellType;
+import log.Log;
+import log.Level;
 
 public class LandCell extends CellAbstractProduct
  {
+    private static final Log LOG = Log.get(LandCell.class);
+
     public LandCell(Position p) { super(p, CellType.LAND); }
     @Override
     public void render(flyweight.TabletopFlyweightFactory fw) {
-        System.out.println(fw.getFlyweight("Grama").operation("x:"+pos.row+",y:"+pos.col));
+        if (LOG.isEnabled(Level.INFO)) LOG.info(fw.getFlyweight("Grama").operation("x:"+pos.row+",y:"+pos.col));
     }
 
     @Override
@@ -9,6 +9,8 @@ import factorymethod.WaterCell;
 import factorymethod.TrapCell;
 import factorymethod.DenCell;
 
+import java.util.Arrays;
+
 /**
  * ConcreteCreator para células do jogo Selva.
  * Implementa o Factory Method factoryMethod().
@@ -36,38 +38,46 @@ public class SelvaCellCreator extends CellCreator {
         }
     }
 
+    // Dimensões do tabuleiro Selva
+    private static final int WIDTH = 7, HEIGHT = 9;
+    // Tipo de cada casa, calculado uma vez: LAYOUT[y][x]
+    private static final CellType[][] LAYOUT = buildLayout();
+
     /**
      * Determina o CellType para a posição dada, de acordo com as regras fixas do tabuleiro Selva.
      */
     private CellType determineCellType(Position pos) {
         int x = pos.row, y = pos.col;
-        // Coordenadas fixas de água no tabuleiro 7x9
+        if (x < 0 || x >= WIDTH || y < 0 || y >= HEIGHT) return CellType.LAND;
+        return LAYOUT[y][x];
+    }
+
+    private static CellType[][] buildLayout() {
+        CellType[][] layout = new CellType[HEIGHT][WIDTH];
+        for (CellType[] row : layout) {
+            Arrays.fill(row, CellType.LAND);
+        }
+        // Coordenadas fixas de água no tabuleiro 7x9 ({y, x})
         int[][] waters = {
             {3,1},{3,2},{4,1},{4,2},{5,1},{5,2},
             {3,4},{3,5},{4,4},{4,5},{5,4},{5,5}
         };
-        for (int[] w : waters) {
-            if (y == w[0] && x == w[1]) {
-                return CellType.WATER;
-            }
-        }
+        for (int[] w : waters) layout[w[0]][w[1]] = CellType.WATER;
         // Tocas (Dens)
-        if (x == 3 && y == 0) return CellType.DEN_WHITE;
-        if (x == 3 && y == 8) return CellType.DEN_BLACK;
+        layout[0][3] = CellType.DEN_WHITE;
+        layout[8][3] = CellType.DEN_BLACK;
         // Armadilhas
         int[][] trapsWhite = {{2,0},{3,1},{4,0}};
         for (int[] t : trapsWhite) {
-            if (y == t[0] && x == t[1]) {
-                return CellType.TRAP_WHITE;
-            }
+            if (layout[t[0]][t[1]] == CellType.LAND) layout[t[0]][t[1]] = CellType.TRAP_WHITE;
         }
         int[][] trapsBlack = {{2,8},{3,7},{4,8}};
         for (int[] t : trapsBlack) {
-            if (y == t[0] && x == t[1]) {
-                return CellType.TRAP_BLACK;
+            if (t[0] < HEIGHT && t[1] < WIDTH && layout[t[0]][t[1]] == CellType.LAND) {
+                layout[t[0]][t[1]] = CellType.TRAP_BLACK;
             }
         }
         // Demais células são terreno
-        return CellType.LAND;
+        return layout;
     }
 }
@@ -2,15 +2,19 @@ package factorymethod;
 
 import context.Position;
 import enums.CellType;
+import log.Log;
+import log.Level;
 
 public class TrapCell extends CellAbstractProduct {
+    private static final Log LOG = Log.get(TrapCell.class);
+
     public TrapCell(Position p, boolean whiteSide) {
         super(p, whiteSide? CellType.TRAP_WHITE : CellType.TRAP_BLACK);
     }
     @Override
     public void render(flyweight.TabletopFlyweightFactory fw) {
         String key = (type == CellType.TRAP_WHITE? "ArmadilhaBranca" : "ArmadilhaPreta");
-        System.out.println(fw.getFlyweight(key).operation("x:"+pos.row+",y:"+pos.col));
+        if (LOG.isEnabled(Level.INFO)) LOG.info(fw.getFlyweight(key).operation("x:"+pos.row+",y:"+pos.col));
     }
 
     @Override
@@ -2,12 +2,16 @@ package factorymethod;
 
 import context.Position;
 import enums.CellType;
+import log.Log;
+import log.Level;
 
 public class WaterCell extends CellAbstractProduct {
+    private static final Log LOG = Log.get(WaterCell.class);
+
     public WaterCell(Position p) { super(p, CellType.WATER); }
     @Override
     public void render(flyweight.TabletopFlyweightFactory fw) {
-        System.out.println(fw.getFlyweight("Água").operation("x:"+pos.row+",y:"+pos.col));
+        if (LOG.isEnabled(Level.INFO)) LOG.info(fw.getFlyweight("Água").operation("x:"+pos.row+",y:"+pos.col));
     }
     @Override
     public WaterCell clone() {
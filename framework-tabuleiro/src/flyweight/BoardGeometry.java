@@ -0,0 +1,113 @@
+package flyweight;
+
+import bitboard.Bitboards;
+
+/**
+ * Tabelas de movimento de um layout, calculadas uma vez junto com a {@link TerrainLayer} (quando o
+ * {@code TabletopDirector} monta o primeiro tabuleiro do layout) e compartilhadas por todos os
+ * tabuleiros dele. Com elas as estratégias decidem um movimento por consulta às tabelas mais um
+ * teste de máscara de ocupação, sem recalcular limites, distância ou terreno.
+ *
+ * Para cada casa há a máscara das vizinhas ortogonais (todas e as que não são água) e, em cada
+ * uma das quatro direções, o salto sobre o rio: a primeira casa seca depois de uma faixa de água
+ * adjacente e a máscara das casas de água atravessadas, que precisam estar sem Rato.
+ */
+public final class BoardGeometry {
+    public static final int DIRECTIONS = 4;
+    private static final int[] DIR_X = { 1, -1, 0, 0 };
+    private static final int[] DIR_Y = { 0, 0, 1, -1 };
+
+    private final int width, height;
+    private final long water;
+    private final long[] neighbours;
+    private final long[] landNeighbours;
+    private final long[] jumpTargets;
+    // [casa * DIRECTIONS + direção]: destino do salto (-1 se não há) e água atravessada
+    private final int[] jumpTarget;
+    private final long[] jumpWater;
+
+    BoardGeometry(int width, int height, long water) {
+        int squares = width * height;
+        this.width = width;
+        this.height = height;
+        this.water = water;
+        this.neighbours = new long[squares];
+        this.landNeighbours = new long[squares];
+        this.jumpTargets = new long[squares];
+        this.jumpTarget = new int[squares * DIRECTIONS];
+        this.jumpWater = new long[squares * DIRECTIONS];
+        for (int square = 0; square < squares; square++) {
+            int x = square % width, y = square / width;
+            for (int d = 0; d < DIRECTIONS; d++) {
+                int i = square * DIRECTIONS + d;
+                jumpTarget[i] = -1;
+                int nx = x + DIR_X[d], ny = y + DIR_Y[d];
+                if (!inside(nx, ny)) continue;
+                long next = Bitboards.bit(ny * width + nx);
+                neighbours[square] |= next;
+                if ((water & next) == 0) {
+                    landNeighbours[square] |= next;
+                    continue;
+                }
+                if (Bitboards.contains(water, square)) continue;
+                // atravessa a faixa de água até a primeira casa seca
+                long crossed = 0;
+                while (inside(nx, ny) && Bitboards.contains(water, ny * width + nx)) {
+                    crossed |= Bitboards.bit(ny * width + nx);
+                    nx += DIR_X[d];
+                    ny += DIR_Y[d];
+                }
+                if (!inside(nx, ny)) continue;
+                jumpTarget[i] = ny * width + nx;
+                jumpWater[i] = crossed;
+                jumpTargets[square] |= Bitboards.bit(jumpTarget[i]);
+            }
+        }
+    }
+
+    private boolean inside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /** Casa (x, y), ou -1 se estiver fora do tabuleiro. */
+    public int squareOf(int x, int y) {
+        return inside(x, y) ? y * width + x : -1;
+    }
+
+    public long getWater() {
+        return water;
+    }
+
+    /** Vizinhas ortogonais da casa. */
+    public long neighbours(int square) {
+        return neighbours[square];
+    }
+
+    /** Vizinhas ortogonais da casa que não são água. */
+    public long landNeighbours(int square) {
+        return landNeighbours[square];
+    }
+
+    /** Destinos de salto sobre o rio a partir da casa. */
+    public long jumpTargets(int square) {
+        return jumpTargets[square];
+    }
+
+    /** Destino do salto na direção {@code direction} (0 a 3), ou -1. */
+    public int jumpTarget(int square, int direction) {
+        return jumpTarget[square * DIRECTIONS + direction];
+    }
+
+    /**
+     * Casas de água atravessadas pelo salto de {@code from} para {@code to}, ou 0 se não for um
+     * salto sobre o rio. O salto só é permitido se nenhum Rato estiver nessas casas.
+     */
+    public long crossedWater(int from, int to) {
+        if (!Bitboards.contains(jumpTargets[from], to)) return 0;
+        int i = from * DIRECTIONS;
+        for (int d = 0; d < DIRECTIONS; d++, i++) {
+            if (jumpTarget[i] == to) return jumpWater[i];
+        }
+        return 0;
+    }
+}
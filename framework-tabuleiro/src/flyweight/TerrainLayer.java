@@ -0,0 +1,146 @@
+package flyweight;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import bitboard.Bitboards;
+import context.Position;
+import enums.CellType;
+import factorymethod.CellAbstractProduct;
+
+/**
+ * Terreno imutável de um layout, compartilhado (Flyweight) por todos os tabuleiros montados
+ * com ele, por suas cópias e pelos mementos: o terreno não muda durante a partida, então cada
+ * tabuleiro só guarda uma referência para a camada em vez de ter as suas células.
+ *
+ * O tipo de cada casa fica em um byte (ordinal de {@link CellType}) na casa {@code y * width + x},
+ * junto com uma máscara (bitboard) por tipo. As células ({@link CellAbstractProduct}) da camada
+ * são as do primeiro tabuleiro montado com o layout; {@link #of} devolve a camada já existente
+ * quando o layout (tipos e classes das células) é o mesmo.
+ *
+ * A camada guarda também as tabelas de movimento do layout ({@link BoardGeometry}) e uma
+ * {@link Position} por casa: como Position é imutável, as peças dos tabuleiros do layout usam
+ * essas instâncias e mover uma peça não cria objetos.
+ */
+public final class TerrainLayer {
+    private static final CellType[] TYPES = CellType.values();
+    private static final Map<Key, TerrainLayer> LAYERS = new ConcurrentHashMap<>();
+
+    private final int width, height;
+    private final byte[] types;
+    private final long[] masks = new long[TYPES.length];
+    private final CellAbstractProduct[] cells;
+    private final Position[] positions;
+    private final BoardGeometry geometry;
+
+    private TerrainLayer(int width, int height, byte[] types, CellAbstractProduct[] cells) {
+        this.width = width;
+        this.height = height;
+        this.types = types;
+        this.cells = cells;
+        this.positions = new Position[types.length];
+        for (int square = 0; square < types.length; square++) {
+            positions[square] = new Position(square % width, square / width);
+        }
+        for (int square = 0; square < types.length; square++) {
+            masks[types[square]] |= Bitboards.bit(square);
+        }
+        this.geometry = new BoardGeometry(width, height, masks[CellType.WATER.ordinal()]);
+    }
+
+    /**
+     * Camada do layout das células informadas ({@code cells[y][x]}), criada na primeira vez e
+     * compartilhada depois. O tabuleiro deve caber em um bitboard.
+     */
+    public static TerrainLayer of(int width, int height, CellAbstractProduct[][] cells) {
+        if (width * height > Bitboards.MAX_SQUARES) {
+            throw new IllegalArgumentException(
+                "Tabuleiro " + width + "x" + height + " excede as " + Bitboards.MAX_SQUARES + " casas de um bitboard");
+        }
+        byte[] types = new byte[width * height];
+        CellAbstractProduct[] flat = new CellAbstractProduct[width * height];
+        Class<?>[] classes = new Class<?>[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int square = y * width + x;
+                flat[square] = cells[y][x];
+                types[square] = (byte) cells[y][x].getType().ordinal();
+                classes[square] = cells[y][x].getClass();
+            }
+        }
+        return LAYERS.computeIfAbsent(new Key(width, height, types, classes),
+                                      key -> new TerrainLayer(width, height, types, flat));
+    }
+
+    /** Camadas distintas criadas até agora. */
+    public static int interned() {
+        return LAYERS.size();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public CellType getType(int square) {
+        return TYPES[types[square]];
+    }
+
+    public CellType getType(int x, int y) {
+        return getType(y * width + x);
+    }
+
+    /** Célula compartilhada da casa; não deve ser alterada. */
+    public CellAbstractProduct getCell(int x, int y) {
+        return cells[y * width + x];
+    }
+
+    /** Posição compartilhada da casa ({@code row = x}, {@code col = y}). */
+    public Position getPosition(int square) {
+        return positions[square];
+    }
+
+    /** Tabelas de vizinhança e de salto sobre o rio do layout. */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /** Casas com o tipo de terreno informado. */
+    public long getMask(CellType type) {
+        return masks[type.ordinal()];
+    }
+
+    // layout: dimensões, tipos e classes das células
+    private static final class Key {
+        private final int width, height;
+        private final byte[] types;
+        private final Class<?>[] classes;
+        private final int hash;
+
+        Key(int width, int height, byte[] types, Class<?>[] classes) {
+            this.width = width;
+            this.height = height;
+            this.types = types;
+            this.classes = classes;
+            this.hash = 31 * (31 * width + height) + Arrays.hashCode(types);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                && width == other.width
+                && height == other.height
+                && Arrays.equals(types, other.types)
+                && Arrays.equals(classes, other.classes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package host;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import abstractfactory.SelvaPieceFactoryImpl;
+import event.EventBus;
+import facade.GameFacade;
+import factorymethod.SelvaCellCreator;
+import flyweight.TabletopFlyweightConcreteCreator;
+import journal.MoveJournal;
+import log.Log;
+import singleton.TurnManager;
+
+/**
+ * Hospeda muitas partidas no mesmo processo. Cada partida tem a sua fachada, o seu turno
+ * ({@link TurnManager#newInstance()}) e o seu log no journal compartilhado, identificado
+ * pelo id da partida.
+ *
+ * As sessões rodam em virtual threads quando a JVM as oferece (Java 21+); em JVMs anteriores
+ * o host usa um pool de threads do tamanho do número de processadores. Como uma sessão só
+ * ocupa uma thread enquanto tem ações pendentes, o pool atende muitas partidas.
+ */
+public class GameHost implements AutoCloseable {
+    private static final Log LOG = Log.get(GameHost.class);
+
+    private final MoveJournal journal;
+    private final ExecutorService executor;
+    private final EventBus events;
+    private final Map<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /** Host com o journal no diretório informado. */
+    public GameHost(Path journalDirectory) {
+        this(MoveJournal.open(journalDirectory), sessionExecutor(), new EventBus(EventBus.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * @param journal  journal onde todas as partidas são registradas; o host o fecha em {@link #close()}
+     * @param executor executor das sessões; o host o encerra em {@link #close()}
+     * @param events   barramento dos eventos de todas as partidas; o host o encerra em {@link #close()}
+     */
+    public GameHost(MoveJournal journal, ExecutorService executor, EventBus events) {
+        this.journal = journal;
+        this.executor = executor;
+        this.events = events;
+    }
+
+    /** Cria uma partida Selva 7x9 e a registra no host. */
+    public GameSession createGame() {
+        if (closed) throw new IllegalStateException("GameHost encerrado");
+        int gameId = journal.newGameId();
+        GameFacade facade = new GameFacade(journal.forGame(gameId), TurnManager.newInstance(), events);
+        facade.setupSelva(7, 9,
+                          new SelvaCellCreator(),
+                          new TabletopFlyweightConcreteCreator(),
+                          new SelvaPieceFactoryImpl());
+        GameSession session = new GameSession(gameId, facade, executor);
+        sessions.put(gameId, session);
+        return session;
+    }
+
+    /** Sessão da partida, ou null se não existir (ou já tiver sido encerrada). */
+    public GameSession getSession(int gameId) {
+        return sessions.get(gameId);
+    }
+
+    public Collection<GameSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /** Barramento onde as partidas do host publicam seus eventos (com o id da partida). */
+    public EventBus getEvents() {
+        return events;
+    }
+
+    public int liveGames() {
+        return sessions.size();
+    }
+
+    /** Encerra a partida e a retira do host. */
+    public CompletableFuture<Void> endGame(int gameId) {
+        GameSession session = sessions.remove(gameId);
+        if (session == null) return CompletableFuture.completedFuture(null);
+        return session.close();
+    }
+
+    /** Encerra todas as partidas, espera as ações pendentes e fecha o journal. */
+    @Override
+    public void close() {
+        closed = true;
+        CompletableFuture<?>[] ending = sessions.keySet().stream()
+            .map(this::endGame)
+            .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(ending).join();
+        } catch (RuntimeException e) {
+            LOG.error("Erro ao encerrar partidas: {}", e.getMessage());
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        events.close();
+        journal.close();
+    }
+
+    /**
+     * Executor de virtual threads ({@code Executors.newVirtualThreadPerTaskExecutor()}) se existir;
+     * senão, um pool fixo de threads daemon.
+     */
+    static ExecutorService sessionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                Thread t = new Thread(r, "game-session");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
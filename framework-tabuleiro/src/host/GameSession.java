@@ -0,0 +1,171 @@
+package host;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import context.Peca;
+import context.PlayerSide;
+import enums.CellType;
+import facade.GameFacade;
+import singleton.TurnManager;
+
+/**
+ * Uma partida hospedada pelo {@link GameHost}: fachada, turno e log próprios.
+ *
+ * As ações enviadas à sessão entram em uma fila e são executadas uma de cada vez, em ordem,
+ * por uma tarefa do executor do host (uma virtual thread quando disponível). A fachada só é
+ * acessada por essa tarefa, então não precisa de sincronização.
+ */
+public class GameSession {
+    private final int gameId;
+    private final GameFacade facade;
+    private final TurnManager turnManager;
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final CompletableFuture<Void> terminated = new CompletableFuture<>();
+    private volatile boolean closed;
+    private volatile PlayerSide winner;
+
+    GameSession(int gameId, GameFacade facade, Executor executor) {
+        this.gameId = gameId;
+        this.facade = facade;
+        this.turnManager = facade.getTurnManager();
+        this.executor = executor;
+    }
+
+    /**
+     * Envia uma jogada do lado informado. A jogada é recusada (false) se não for a vez do lado,
+     * se a origem não tiver peça dele, se for inválida ou se a partida já terminou.
+     * Ao entrar na toca adversária o lado vence e a partida termina.
+     */
+    public CompletableFuture<Boolean> submitMove(PlayerSide side, int ox, int oy, int dx, int dy) {
+        return submit(f -> move(f, -1, side, ox, oy, dx, dy));
+    }
+
+    /**
+     * Como {@link #submitMove(PlayerSide, int, int, int, int)}, mas só aplica a jogada se o
+     * tabuleiro ainda estiver na versão esperada; envios duplicados são recusados.
+     */
+    public CompletableFuture<Boolean> submitMove(long expectedVersion,
+                                                 PlayerSide side, int ox, int oy, int dx, int dy) {
+        return submit(f -> move(f, expectedVersion, side, ox, oy, dx, dy));
+    }
+
+    // expectedVersion < 0: sem conferência de versão
+    private boolean move(GameFacade f, long expectedVersion,
+                         PlayerSide side, int ox, int oy, int dx, int dy) {
+        if (winner != null || !turnManager.isCurrentPlayer(side)) return false;
+        Peca piece = f.getBoard().getPieceAt(ox, oy);
+        if (piece == null || piece.getSide() != side) return false;
+        boolean moved = expectedVersion < 0
+            ? f.executeMove(piece.getNome(), side, ox, oy, dx, dy)
+            : f.executeMove(expectedVersion, piece.getNome(), side, ox, oy, dx, dy);
+        if (!moved) return false;
+        CellType dest = f.getBoard().getCellType(dx, dy);
+        if ((dest == CellType.DEN_BLACK && side == PlayerSide.WHITE)
+                || (dest == CellType.DEN_WHITE && side == PlayerSide.BLACK)) {
+            winner = side;
+        } else {
+            turnManager.switchTurn();
+        }
+        return true;
+    }
+
+    /** Versão atual do tabuleiro da partida, para {@link #submitMove(long, PlayerSide, int, int, int, int)}. */
+    public long getBoardVersion() {
+        return facade.getBoard().getVersion();
+    }
+
+    /**
+     * Executa uma ação sobre a fachada na vez desta sessão.
+     * @throws IllegalStateException se a sessão já foi encerrada
+     */
+    public <T> CompletableFuture<T> submit(Function<GameFacade, T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(() -> {
+            try {
+                result.complete(action.apply(facade));
+            } catch (Throwable e) {
+                // qualquer falha fica no futuro da ação; a sessão segue com as próximas
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Encerra a sessão depois das ações já enviadas e fecha o log da partida.
+     * @return futuro completado quando a sessão terminar
+     */
+    public CompletableFuture<Void> close() {
+        synchronized (this) {
+            if (!closed) {
+                closed = true;
+                mailbox.add(this::terminate);
+                schedule();
+            }
+        }
+        return terminated;
+    }
+
+    private void enqueue(Runnable action) {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Partida " + gameId + " já foi encerrada");
+            }
+            mailbox.add(action);
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    // executa as ações pendentes; no máximo uma tarefa por sessão drena a fila
+    private void drain() {
+        try {
+            Runnable action;
+            while ((action = mailbox.poll()) != null) {
+                action.run();
+            }
+        } finally {
+            // mesmo se uma ação escapar, a sessão volta a aceitar um dreno
+            scheduled.set(false);
+            if (!mailbox.isEmpty()) schedule();
+        }
+    }
+
+    private void terminate() {
+        try {
+            facade.close();
+            terminated.complete(null);
+        } catch (Throwable e) {
+            terminated.completeExceptionally(e);
+        }
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public PlayerSide getCurrentSide() {
+        return turnManager.getCurrentSide();
+    }
+
+    /** Lado vencedor, ou null enquanto a partida não terminou. */
+    public PlayerSide getWinner() {
+        return winner;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,14 @@
+package jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Gravação da jogada no log de comandos. */
+@Name("selva.LogWrite")
+@Label("Gravação no log")
+@Description("Jogada acrescentada ao CommandLog (ou ao command.log)")
+public class LogWriteEvent extends MoveStageEvent {
+    @Label("Log")
+    public String log;
+}
@@ -0,0 +1,17 @@
+package jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Registro do estado para desfazer a jogada (delta no UndoLog ou BoardMemento). */
+@Name("selva.Memento")
+@Label("Memento")
+@Description("Estado guardado antes da jogada para o undo")
+public class MementoEvent extends MoveStageEvent {
+    @Label("Tipo")
+    public String kind;
+
+    @Label("Peça capturada")
+    public String captured;
+}
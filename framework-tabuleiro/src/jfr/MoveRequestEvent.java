@@ -0,0 +1,21 @@
+package jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Jogada submetida a GameFacade.executeMove, do pedido ao resultado (inclui a espera pela escrita). */
+@Name("selva.MoveRequest")
+@Label("Jogada")
+@Description("Jogada submetida à fachada e o seu resultado")
+public class MoveRequestEvent extends MoveStageEvent {
+    public static final String EXECUTED = "EXECUTADA";
+    public static final String REJECTED = "RECUSADA";
+    public static final String STALE_VERSION = "VERSAO_ANTIGA";
+
+    @Label("Partida")
+    public int gameId;
+
+    @Label("Resultado")
+    public String outcome;
+}
@@ -0,0 +1,59 @@
+package jfr;
+
+import context.Peca;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base dos eventos JFR das etapas de uma jogada: peça, lado e coordenadas.
+ *
+ * Com a gravação desligada a classe do evento não é instrumentada: {@code begin()} e
+ * {@code shouldCommit()} não fazem nada e o objeto, que não sai do método, é eliminado pelo JIT.
+ * Por isso o uso é sempre
+ * <pre>
+ *     StrategyEvent event = new StrategyEvent();
+ *     event.begin();
+ *     ...
+ *     if (event.shouldCommit()) {
+ *         event.set(peca, ox, oy, dx, dy);
+ *         event.commit();
+ *     }
+ * </pre>
+ * e os campos só são preenchidos dentro do {@code if}.
+ */
+@Category({"Jogo Selva", "Jogada"})
+@StackTrace(false)
+public abstract class MoveStageEvent extends Event {
+    @Label("Peça")
+    String piece;
+
+    @Label("Lado")
+    String side;
+
+    @Label("Origem X")
+    int fromX;
+
+    @Label("Origem Y")
+    int fromY;
+
+    @Label("Destino X")
+    int toX;
+
+    @Label("Destino Y")
+    int toY;
+
+    public void set(Peca peca, int ox, int oy, int dx, int dy) {
+        set(peca.getNome(), peca.getSide().name(), ox, oy, dx, dy);
+    }
+
+    public void set(String pieceName, String sideName, int ox, int oy, int dx, int dy) {
+        this.piece = pieceName;
+        this.side = sideName;
+        this.fromX = ox;
+        this.fromY = oy;
+        this.toX = dx;
+        this.toY = dy;
+    }
+}
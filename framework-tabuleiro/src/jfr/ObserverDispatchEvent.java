@@ -0,0 +1,25 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Entrega de uma notificação aos observadores. Mesmo padrão de uso de {@link MoveStageEvent}. */
+@Name("selva.ObserverDispatch")
+@Label("Notificação de observadores")
+@Description("TabletopSubject.notifyObservers ou entrega do barramento a um observador da fachada")
+@Category({"Jogo Selva", "Jogada"})
+@StackTrace(false)
+public class ObserverDispatchEvent extends Event {
+    @Label("Partida")
+    public int gameId;
+
+    @Label("Mensagem")
+    public String message;
+
+    @Label("Observadores")
+    public int observers;
+}
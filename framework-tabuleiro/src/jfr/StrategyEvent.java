@@ -0,0 +1,17 @@
+package jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Execução da estratégia de movimento da peça. */
+@Name("selva.Strategy")
+@Label("Estratégia")
+@Description("MovimentoStrategy.mover chamado pelo estado da peça")
+public class StrategyEvent extends MoveStageEvent {
+    @Label("Estratégia")
+    public String strategy;
+
+    @Label("Moveu")
+    public boolean moved;
+}
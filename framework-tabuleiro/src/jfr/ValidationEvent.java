@@ -0,0 +1,17 @@
+package jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Um validador da cadeia aplicado a uma jogada submetida. */
+@Name("selva.Validation")
+@Label("Validação")
+@Description("Verificação de um MoveValidator sobre uma jogada submetida")
+public class ValidationEvent extends MoveStageEvent {
+    @Label("Validador")
+    public String validator;
+
+    @Label("Aceita")
+    public boolean passed;
+}
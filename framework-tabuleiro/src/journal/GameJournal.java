@@ -0,0 +1,55 @@
+package journal;
+
+import command.Command;
+import command.CommandLog;
+import command.MoverPecaCommand;
+
+/**
+ * {@link CommandLog} que grava as jogadas de uma partida no {@link MoveJournal}.
+ */
+public class GameJournal implements CommandLog {
+    private final MoveJournal journal;
+    private final int gameId;
+    private final boolean ownsJournal;
+
+    /**
+     * @param ownsJournal se true, {@link #close()} fecha também o journal
+     */
+    public GameJournal(MoveJournal journal, int gameId, boolean ownsJournal) {
+        this.journal = journal;
+        this.gameId = gameId;
+        this.ownsJournal = ownsJournal;
+    }
+
+    @Override
+    public void append(Command command) {
+        if (!(command instanceof MoverPecaCommand move)) {
+            throw new IllegalArgumentException("Journal só registra MoverPecaCommand: " + command);
+        }
+        journal.append(gameId, move.getMove(), move.getBoardWidth());
+    }
+
+    @Override
+    public void undo() {
+        journal.undo(gameId);
+    }
+
+    @Override
+    public void flush() {
+        journal.flush();
+    }
+
+    @Override
+    public void close() {
+        if (ownsJournal) journal.close();
+        else journal.flush();
+    }
+
+    public MoveJournal getJournal() {
+        return journal;
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+}
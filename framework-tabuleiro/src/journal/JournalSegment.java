@@ -0,0 +1,75 @@
+package journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Arquivo de tamanho fixo do journal, mapeado em memória e dividido em registros de
+ * {@link MoveJournal#RECORD_SIZE} bytes.
+ */
+class JournalSegment {
+    private final int number;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int count;
+
+    JournalSegment(int number, Path path, int capacity) throws IOException {
+        this.number = number;
+        this.path = path;
+        this.capacity = capacity;
+        this.channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+            (long) capacity * MoveJournal.RECORD_SIZE);
+        // registros gravados têm o marcador; o primeiro sem ele é o fim do segmento
+        while (count < capacity && buffer.get(count * MoveJournal.RECORD_SIZE + MoveJournal.MARKER_OFFSET)
+                == MoveJournal.RECORD_MARKER) {
+            count++;
+        }
+    }
+
+    int number() {
+        return number;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    /** Reserva o próximo registro e retorna seu deslocamento em bytes no segmento. */
+    int claim() {
+        return count++ * MoveJournal.RECORD_SIZE;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,445 @@
+package journal;
+
+import log.Log;
+import movegen.MoveBuffer;
+import movegen.PackedMove;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Journal binário de jogadas, compartilhável entre partidas.
+ *
+ * Cada jogada é um registro de {@value #RECORD_SIZE} bytes:
+ * <pre>
+ *  0  int   id da partida
+ *  4  int   número da jogada na partida (ply, a partir de 0)
+ *  8  int   jogada codificada por {@link PackedMove}
+ * 12  byte  largura do tabuleiro (para converter as casas em coordenadas)
+ * 13  byte  marcas ({@value #UNDO_FLAG}: desfaz o ply, ver {@link #undo(int)})
+ * 14  byte  marcador de registro gravado
+ * 15  byte  formato do registro ({@value #FORMAT_PACKED})
+ * </pre>
+ * Os registros ficam em segmentos de tamanho fixo ({@code moves-NNNNNNNN.journal}) mapeados em
+ * memória; quando um enche, o próximo é criado. Um índice em memória guarda, para cada partida,
+ * a posição global de cada uma das suas jogadas (8 bytes por jogada): achar um ply é O(1) e ler
+ * uma partida só visita os registros dela, mesmo com várias partidas intercaladas no journal.
+ * O índice é reconstruído ao abrir e encolhe quando segmentos antigos são compactados.
+ * Um undo não apaga a jogada: grava um registro que a desfaz, e o índice (também ao reabrir)
+ * volta a partida para aquele ply, de modo que a próxima jogada o ocupa de novo.
+ */
+public class MoveJournal implements AutoCloseable {
+    private static final Log LOG = Log.get(MoveJournal.class);
+
+    public static final int RECORD_SIZE = 16;
+    public static final int DEFAULT_SEGMENT_RECORDS = 1 << 16;
+    static final int MARKER_OFFSET = 14;
+    static final byte RECORD_MARKER = 0x5A;
+    static final int FLAGS_OFFSET = 13;
+    static final byte UNDO_FLAG = 1;
+    static final int FORMAT_OFFSET = 15;
+    static final byte FORMAT_PACKED = 1;
+
+    private static final String SEGMENT_PREFIX = "moves-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final TreeMap<Integer, JournalSegment> segments = new TreeMap<>();
+    private final Map<Integer, GameIndex> index = new HashMap<>();
+    private JournalSegment current;
+    private int nextGameId;
+    private boolean closed;
+
+    /**
+     * Posições de uma partida: total de jogadas e a posição global de cada jogada ainda no
+     * journal, de {@code basePly} em diante (depois de uma compactação as primeiras não existem
+     * mais). As posições crescem com o ply, porque as jogadas de uma partida são gravadas em ordem.
+     */
+    private static final class GameIndex {
+        int plies;
+        int basePly;
+        long[] positions = new long[16];
+        int count;
+
+        void add(int ply, long position) {
+            if (count > 0 && ply != basePly + count) {
+                // lacuna ou ply repetido (registro de uma gravação interrompida): recomeça daqui
+                LOG.warn("Ply {} fora de sequência no journal (esperado {})", ply, basePly + count);
+                count = 0;
+            }
+            if (count == 0) basePly = ply;
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+            plies = ply + 1;
+        }
+
+        /** Volta a partida para {@code ply} jogadas, esquecendo as posições das seguintes. */
+        void truncate(int ply) {
+            plies = ply;
+            count = Math.max(0, Math.min(count, ply - basePly));
+        }
+
+        /** Posição global da jogada, ou -1 se ela não está no índice. */
+        long positionOf(int ply) {
+            int i = ply - basePly;
+            return i < 0 || i >= count ? -1 : positions[i];
+        }
+
+        /** Esquece as jogadas gravadas antes da posição {@code first} (segmentos compactados). */
+        void dropBefore(long first) {
+            int lo = 0, hi = count;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (positions[mid] < first) lo = mid + 1;
+                else hi = mid;
+            }
+            if (lo == 0) return;
+            System.arraycopy(positions, lo, positions, 0, count - lo);
+            count -= lo;
+            basePly += lo;
+        }
+    }
+
+    private MoveJournal(Path directory, int segmentRecords) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+    }
+
+    public static MoveJournal open(Path directory) {
+        return open(directory, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    /**
+     * Abre (ou cria) o journal no diretório e reconstrói o índice a partir dos segmentos existentes.
+     * @param segmentRecords quantidade de registros por segmento
+     */
+    public static MoveJournal open(Path directory, int segmentRecords) {
+        MoveJournal journal = new MoveJournal(directory, segmentRecords);
+        try {
+            Files.createDirectories(directory);
+            journal.load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o journal em " + directory, e);
+        }
+        return journal;
+    }
+
+    private void load() throws IOException {
+        List<Integer> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                numbers.add(Integer.parseInt(
+                    name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        numbers.sort(null);
+        for (int number : numbers) {
+            JournalSegment segment = new JournalSegment(number, segmentPath(number), segmentRecords);
+            segments.put(number, segment);
+            MappedByteBuffer buffer = segment.buffer();
+            for (int slot = 0; slot < segment.count(); slot++) {
+                int offset = slot * RECORD_SIZE;
+                GameIndex game = index.computeIfAbsent(buffer.getInt(offset), id -> new GameIndex());
+                if ((buffer.get(offset + FLAGS_OFFSET) & UNDO_FLAG) != 0) {
+                    game.truncate(buffer.getInt(offset + 4));
+                } else {
+                    game.add(buffer.getInt(offset + 4), position(number, slot));
+                }
+            }
+        }
+        current = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        for (int gameId : index.keySet()) {
+            nextGameId = Math.max(nextGameId, gameId + 1);
+        }
+    }
+
+    /**
+     * Abre o journal do diretório e reserva um id de partida novo; o log retornado fecha o journal.
+     */
+    public static GameJournal openNewGame(Path directory) {
+        MoveJournal journal = open(directory);
+        return new GameJournal(journal, journal.newGameId(), true);
+    }
+
+    /** Reserva um id de partida que ainda não aparece no journal. */
+    public synchronized int newGameId() {
+        return nextGameId++;
+    }
+
+    /**
+     * Grava uma jogada da partida e retorna o seu número (ply).
+     * @param move  jogada codificada por {@link PackedMove}
+     * @param width largura do tabuleiro da partida
+     */
+    public synchronized int append(int gameId, int move, int width) {
+        if (closed) throw new IllegalStateException("Journal já foi fechado");
+        if (move == PackedMove.NONE || width <= 0 || width > 0xFF) {
+            throw new IllegalArgumentException("Jogada inválida para o journal: " + move + " (largura " + width + ")");
+        }
+        GameIndex game = index.computeIfAbsent(gameId, id -> new GameIndex());
+        nextGameId = Math.max(nextGameId, gameId + 1);
+        int ply = game.plies;
+        long pos = write(gameId, ply, move, width, (byte) 0);
+        game.add(ply, pos);
+        return ply;
+    }
+
+    /**
+     * Desfaz a última jogada gravada da partida: grava um registro que a desfaz (a jogada original
+     * continua no segmento) e a partida volta a ter um ply a menos.
+     * @return o ply desfeito
+     */
+    public synchronized int undo(int gameId) {
+        if (closed) throw new IllegalStateException("Journal já foi fechado");
+        GameIndex game = index.get(gameId);
+        if (game == null || game.plies == 0) {
+            throw new IllegalStateException("Partida " + gameId + " não tem jogadas para desfazer no journal");
+        }
+        int ply = game.plies - 1;
+        long undone = game.positionOf(ply);
+        int move = 0, width = 0;
+        if (undone >= 0) {
+            // repete a jogada desfeita, para quem inspecionar o segmento
+            MappedByteBuffer b = segmentAt(undone).buffer();
+            int offset = recordOffset(undone);
+            move = b.getInt(offset + 8);
+            width = b.get(offset + 12) & 0xFF;
+        }
+        write(gameId, ply, move, width, UNDO_FLAG);
+        game.truncate(ply);
+        return ply;
+    }
+
+    // grava o registro no segmento atual e retorna a sua posição global
+    private long write(int gameId, int ply, int move, int width, byte flags) {
+        if (current == null || current.isFull()) roll();
+        int offset = current.claim();
+        MappedByteBuffer b = current.buffer();
+        b.putInt(offset, gameId);
+        b.putInt(offset + 4, ply);
+        b.putInt(offset + 8, move);
+        b.put(offset + 12, (byte) width);
+        b.put(offset + FLAGS_OFFSET, flags);
+        b.put(offset + FORMAT_OFFSET, FORMAT_PACKED);
+        // o marcador por último: um registro sem marcador é ignorado ao reabrir
+        b.put(offset + MARKER_OFFSET, RECORD_MARKER);
+        return position(current.number(), offset / RECORD_SIZE);
+    }
+
+    private void roll() {
+        int number = current == null ? 0 : current.number() + 1;
+        try {
+            if (current != null) current.force();
+            current = new JournalSegment(number, segmentPath(number), segmentRecords);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o segmento " + number, e);
+        }
+        segments.put(number, current);
+    }
+
+    /** Quantidade de jogadas gravadas da partida. */
+    public synchronized int plies(int gameId) {
+        GameIndex game = index.get(gameId);
+        return game == null ? 0 : game.plies;
+    }
+
+    public synchronized Set<Integer> games() {
+        return Set.copyOf(index.keySet());
+    }
+
+    /**
+     * Posição global (segmento * registros por segmento + registro) da jogada, ou -1 se não existir
+     * (ou se já foi compactada). Consulta só o índice da partida, sem ler o journal.
+     */
+    public synchronized long positionOf(int gameId, int ply) {
+        GameIndex game = index.get(gameId);
+        return game == null ? -1 : game.positionOf(ply);
+    }
+
+    /** Deslocamento em bytes da jogada dentro do seu arquivo de segmento, ou -1. */
+    public long fileOffsetOf(int gameId, int ply) {
+        long pos = positionOf(gameId, ply);
+        return pos < 0 ? -1 : recordOffset(pos);
+    }
+
+    /** Arquivo de segmento que contém a jogada, ou null. */
+    public synchronized Path segmentFileOf(int gameId, int ply) {
+        long pos = positionOf(gameId, ply);
+        return pos < 0 ? null : segmentAt(pos).path();
+    }
+
+    /**
+     * Jogadas da partida a partir de {@code fromPly}, lidas sob demanda do journal.
+     * Jogadas gravadas depois da chamada não fazem parte do stream.
+     */
+    public Stream<MoveRecord> read(int gameId, int fromPly) {
+        int first = Math.max(0, fromPly);
+        int end;
+        synchronized (this) {
+            end = plies(gameId);
+            if (first >= end || positionOf(gameId, first) < 0) return Stream.empty();
+        }
+        Spliterator<MoveRecord> records = new Spliterators.AbstractSpliterator<>(
+                end - first, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED) {
+            private int next = first;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super MoveRecord> action) {
+                if (next >= end) return false;
+                MoveRecord record = readPly(gameId, next);
+                // compactado enquanto o stream era lido
+                if (record == null) return false;
+                next++;
+                action.accept(record);
+                return true;
+            }
+        };
+        return StreamSupport.stream(records, false);
+    }
+
+    /**
+     * Escreve no buffer (depois de limpá-lo) as jogadas da partida a partir de {@code fromPly},
+     * codificadas por {@link PackedMove} com as casas de um tabuleiro de largura {@code width},
+     * sem criar objetos por jogada. A captura só é conhecida nas jogadas gravadas com ela.
+     * @return quantidade de jogadas lidas
+     */
+    public synchronized int read(int gameId, int fromPly, int width, MoveBuffer out) {
+        out.clear();
+        GameIndex game = index.get(gameId);
+        if (game == null) return 0;
+        for (int ply = Math.max(0, fromPly); ply < game.plies; ply++) {
+            long pos = game.positionOf(ply);
+            if (pos < 0) break;
+            out.add(moveAt(segmentAt(pos).buffer(), recordOffset(pos), width));
+        }
+        return out.size();
+    }
+
+    // jogada do registro com as casas de um tabuleiro de largura width
+    private static int moveAt(MappedByteBuffer b, int offset, int width) {
+        int move = b.getInt(offset + 8);
+        int recorded = b.get(offset + 12) & 0xFF;
+        if (recorded == width) return move;
+        int from = PackedMove.from(move), to = PackedMove.to(move);
+        return PackedMove.encode(
+            (from / recorded) * width + from % recorded, (to / recorded) * width + to % recorded,
+            PackedMove.kind(move), PackedMove.side(move), PackedMove.captured(move), PackedMove.flags(move));
+    }
+
+    // registro do ply da partida, ou null se ele não está mais no journal
+    private synchronized MoveRecord readPly(int gameId, int ply) {
+        long pos = positionOf(gameId, ply);
+        return pos < 0 ? null : readAt(pos);
+    }
+
+    private MoveRecord readAt(long pos) {
+        int offset = recordOffset(pos);
+        MappedByteBuffer b = segmentAt(pos).buffer();
+        return MoveRecord.of(b.getInt(offset), b.getInt(offset + 4), b.getInt(offset + 8), b.get(offset + 12) & 0xFF);
+    }
+
+    /**
+     * Remove do início do journal os segmentos cujas jogadas já estão todas cobertas,
+     * isto é, têm ply menor que {@code coveredPlies(gameId)} (em geral o ply do último checkpoint
+     * da partida). Para no primeiro segmento que ainda tem alguma jogada necessária; o segmento
+     * atual nunca é removido.
+     * @return quantidade de segmentos removidos
+     */
+    public synchronized int compact(IntUnaryOperator coveredPlies) {
+        int removed = 0;
+        while (segments.size() > 1 && removeIfCovered(segments.firstEntry().getValue(), coveredPlies)) {
+            segments.pollFirstEntry();
+            removed++;
+        }
+        if (removed > 0) {
+            long first = firstPosition();
+            for (GameIndex game : index.values()) game.dropBefore(first);
+        }
+        return removed;
+    }
+
+    // apaga o segmento se todas as suas jogadas estão cobertas
+    private boolean removeIfCovered(JournalSegment segment, IntUnaryOperator coveredPlies) {
+        MappedByteBuffer b = segment.buffer();
+        for (int slot = 0; slot < segment.count(); slot++) {
+            int offset = slot * RECORD_SIZE;
+            if (b.getInt(offset + 4) >= coveredPlies.applyAsInt(b.getInt(offset))) return false;
+        }
+        try {
+            segment.delete();
+            return true;
+        } catch (IOException e) {
+            LOG.error("Erro ao remover o segmento {}: {}", segment.path(), e.getMessage());
+            return false;
+        }
+    }
+
+    /** Visão do journal restrita a uma partida, usada como log de comandos da fachada. */
+    public GameJournal forGame(int gameId) {
+        return new GameJournal(this, gameId, false);
+    }
+
+    /** Força a gravação do segmento atual em disco. */
+    public synchronized void flush() {
+        if (current != null) current.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        for (JournalSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                LOG.error("Erro ao fechar o segmento {}: {}", segment.path(), e.getMessage());
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private long firstPosition() {
+        return segments.isEmpty() ? 0 : position(segments.firstKey(), 0);
+    }
+
+    private JournalSegment segmentAt(long pos) {
+        return segments.get((int) (pos / segmentRecords));
+    }
+
+    private int recordOffset(long pos) {
+        return (int) (pos % segmentRecords) * RECORD_SIZE;
+    }
+
+    private long position(int segment, int slot) {
+        return (long) segment * segmentRecords + slot;
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+}
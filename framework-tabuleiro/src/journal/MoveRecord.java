@@ -0,0 +1,25 @@
+package journal;
+
+import context.PlayerSide;
+import enums.PieceKind;
+import movegen.PackedMove;
+
+/**
+ * Jogada decodificada de um registro do journal.
+ * @param ply número sequencial da jogada dentro da partida (a partir de 0)
+ */
+public record MoveRecord(int gameId, int ply, PieceKind kind, PlayerSide side,
+                         int origemX, int origemY, int destinoX, int destinoY) {
+
+    /** Registro da jogada codificada por {@link PackedMove} em um tabuleiro de largura {@code width}. */
+    public static MoveRecord of(int gameId, int ply, int move, int width) {
+        int from = PackedMove.from(move), to = PackedMove.to(move);
+        return new MoveRecord(gameId, ply, PackedMove.kind(move), PackedMove.side(move),
+                              from % width, from / width, to % width, to / width);
+    }
+
+    /** A jogada codificada por {@link PackedMove} com as casas de um tabuleiro de largura {@code width}. */
+    public int toMove(int width) {
+        return PackedMove.encode(origemY * width + origemX, destinoY * width + destinoX, kind, side, null, 0);
+    }
+}
@@ -0,0 +1,124 @@
+package log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sink assíncrono: as threads que registram só enfileiram a mensagem; uma thread daemon
+ * entrega as mensagens em lotes ao sink de destino. Com a fila cheia a mensagem é descartada
+ * (e contada) em vez de segurar quem registrou.
+ */
+public class AsyncAppender implements LogSink {
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final int BATCH = 256;
+
+    private record Entry(Level level, String logger, String message) {
+    }
+
+    private final LogSink target;
+    private final BlockingQueue<Entry> queue;
+    private final LongAdder dropped = new LongAdder();
+    // mensagens aceitas na fila e já entregues (ou perdidas na entrega), para flush()
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final Thread worker;
+    // entrega o que estiver na fila se a JVM terminar sem close()
+    private final Thread shutdownHook = new Thread(this::drain, "log-appender-shutdown");
+    private volatile boolean closed;
+
+    public AsyncAppender(LogSink target) {
+        this(target, DEFAULT_CAPACITY);
+    }
+
+    public AsyncAppender(LogSink target, int capacity) {
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::run, "log-appender");
+        this.worker.setDaemon(true);
+        this.worker.start();
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public void write(Level level, String logger, String message) {
+        if (closed || !queue.offer(new Entry(level, logger, message))) {
+            dropped.increment();
+        } else {
+            accepted.incrementAndGet();
+        }
+    }
+
+    /** Espera a entrega das mensagens já aceitas (até um segundo) e descarrega o destino. */
+    @Override
+    public void flush() {
+        long expected = accepted.get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (delivered.get() < expected && worker.isAlive() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            Thread.yield();
+        }
+        target.flush();
+    }
+
+    /** Mensagens descartadas com a fila cheia ou depois de fechado. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // JVM já está encerrando; o próprio hook entrega a fila
+        }
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        target.close();
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(BATCH);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, BATCH - 1);
+            deliver(batch);
+        }
+    }
+
+    private synchronized void drain() {
+        List<Entry> batch = new ArrayList<>(BATCH);
+        while (queue.drainTo(batch, BATCH) > 0) {
+            deliver(batch);
+        }
+    }
+
+    private void deliver(List<Entry> batch) {
+        for (Entry entry : batch) {
+            try {
+                target.write(entry.level(), entry.logger(), entry.message());
+            } catch (RuntimeException e) {
+                dropped.increment();
+            }
+        }
+        delivered.addAndGet(batch.size());
+        batch.clear();
+        target.flush();
+    }
+}
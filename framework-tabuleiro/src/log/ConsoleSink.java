@@ -0,0 +1,29 @@
+package log;
+
+import java.io.PrintStream;
+
+/** Escreve as mensagens no console: WARN e ERROR em {@code System.err}, as demais em {@code System.out}. */
+public class ConsoleSink implements LogSink {
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public ConsoleSink() {
+        this(System.out, System.err);
+    }
+
+    public ConsoleSink(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    @Override
+    public void write(Level level, String logger, String message) {
+        (level.compareTo(Level.WARN) >= 0 ? err : out).println(message);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+        err.flush();
+    }
+}
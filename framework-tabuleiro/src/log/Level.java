@@ -0,0 +1,6 @@
+package log;
+
+/** Níveis de log, do mais detalhado ao mais grave. {@link #OFF} desliga tudo. */
+public enum Level {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF
+}
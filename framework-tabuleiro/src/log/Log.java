@@ -0,0 +1,137 @@
+package log;
+
+/**
+ * Logger do framework. O nível e o sink são globais e podem ser trocados a qualquer momento
+ * ({@link #setLevel(Level)}, {@link #setSink(LogSink)}); o nível inicial vem da propriedade
+ * de sistema {@code selva.log.level} (padrão INFO) e o sink padrão é um {@link AsyncAppender}
+ * sobre o console.
+ *
+ * Com o nível desligado, uma chamada custa só a leitura do nível: as mensagens usam
+ * marcadores {@code {}} preenchidos apenas quando o nível está habilitado, então não há
+ * concatenação nem alocação. Argumentos primitivos devem ser passados só depois de
+ * {@link #isEnabled(Level)}, para não criar objetos (autoboxing) à toa.
+ */
+public final class Log {
+    private static volatile int threshold = initialLevel().ordinal();
+    private static volatile LogSink sink;
+
+    private final String name;
+
+    private Log(String name) {
+        this.name = name;
+    }
+
+    public static Log get(Class<?> type) {
+        return new Log(type.getSimpleName());
+    }
+
+    public static Log get(String name) {
+        return new Log(name);
+    }
+
+    // --- configuração global --- //
+
+    public static Level getLevel() {
+        return Level.values()[threshold];
+    }
+
+    public static void setLevel(Level level) {
+        threshold = level.ordinal();
+    }
+
+    /** Troca o sink; o anterior é fechado. */
+    public static void setSink(LogSink newSink) {
+        LogSink old;
+        synchronized (Log.class) {
+            old = sink;
+            sink = newSink;
+        }
+        if (old != null && old != newSink) old.close();
+    }
+
+    public static LogSink getSink() {
+        LogSink current = sink;
+        if (current == null) {
+            synchronized (Log.class) {
+                if (sink == null) sink = new AsyncAppender(new ConsoleSink());
+                current = sink;
+            }
+        }
+        return current;
+    }
+
+    /** Entrega as mensagens pendentes do sink atual. */
+    public static void flush() {
+        LogSink current = sink;
+        if (current != null) current.flush();
+    }
+
+    // --- registro --- //
+
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void trace(String message) { log(Level.TRACE, message); }
+    public void trace(String template, Object arg) { log(Level.TRACE, template, arg); }
+    public void trace(String template, Object arg1, Object arg2) { log(Level.TRACE, template, arg1, arg2); }
+
+    public void debug(String message) { log(Level.DEBUG, message); }
+    public void debug(String template, Object arg) { log(Level.DEBUG, template, arg); }
+    public void debug(String template, Object arg1, Object arg2) { log(Level.DEBUG, template, arg1, arg2); }
+
+    public void info(String message) { log(Level.INFO, message); }
+    public void info(String template, Object arg) { log(Level.INFO, template, arg); }
+    public void info(String template, Object arg1, Object arg2) { log(Level.INFO, template, arg1, arg2); }
+
+    public void warn(String message) { log(Level.WARN, message); }
+    public void warn(String template, Object arg) { log(Level.WARN, template, arg); }
+    public void warn(String template, Object arg1, Object arg2) { log(Level.WARN, template, arg1, arg2); }
+
+    public void error(String message) { log(Level.ERROR, message); }
+    public void error(String template, Object arg) { log(Level.ERROR, template, arg); }
+    public void error(String template, Object arg1, Object arg2) { log(Level.ERROR, template, arg1, arg2); }
+
+    public void log(Level level, String message) {
+        if (level.ordinal() < threshold) return;
+        getSink().write(level, name, message);
+    }
+
+    public void log(Level level, String template, Object arg) {
+        if (level.ordinal() < threshold) return;
+        getSink().write(level, name, format(template, arg, null, 1));
+    }
+
+    public void log(Level level, String template, Object arg1, Object arg2) {
+        if (level.ordinal() < threshold) return;
+        getSink().write(level, name, format(template, arg1, arg2, 2));
+    }
+
+    /** Substitui os primeiros {@code {}} do modelo pelos argumentos. */
+    static String format(String template, Object arg1, Object arg2, int count) {
+        StringBuilder sb = new StringBuilder(template.length() + 32);
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int at = template.indexOf("{}", start);
+            if (at < 0) break;
+            sb.append(template, start, at).append(i == 0 ? arg1 : arg2);
+            start = at + 2;
+        }
+        return sb.append(template, start, template.length()).toString();
+    }
+
+    private static Level initialLevel() {
+        String configured = System.getProperty("selva.log.level");
+        if (configured == null) return Level.INFO;
+        try {
+            return Level.valueOf(configured.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Nível de log inválido em selva.log.level: " + configured);
+            return Level.INFO;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package log;
+
+/**
+ * Destino das mensagens de log. Só recebe mensagens cujo nível está habilitado,
+ * já formatadas; pode ser chamado por várias threads.
+ */
+public interface LogSink extends AutoCloseable {
+
+    void write(Level level, String logger, String message);
+
+    /** Entrega o que estiver pendente. */
+    default void flush() {
+    }
+
+    @Override
+    default void close() {
+        flush();
+    }
+}
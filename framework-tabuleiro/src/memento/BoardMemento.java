@@ -1,18 +1,88 @@
 package memento;
 
+import bitboard.Bitboards;
+import builder.PersistentPosition;
 import builder.TabletopProduct;
+import codec.BoardSnapshotCodec;
+import context.Peca;
+import context.PlayerSide;
+import singleton.TurnManager;
+import state.BloqueadaState;
+import state.NormalState;
 
 /**
- * Memento que guarda um snapshot do TabletopProduct.
+ * Memento que guarda uma {@link PersistentPosition} do TabletopProduct: criar o memento não
+ * copia o tabuleiro (O(1)), e as versões guardadas compartilham com o tabuleiro tudo o que
+ * as jogadas seguintes não alterarem. O estado das peças (bloqueada), que não faz parte da
+ * versão, é guardado à parte em um bitboard.
  */
 public class BoardMemento {
-    private final TabletopProduct state;
+    private final TabletopProduct layout;
+    private final PersistentPosition position;
+    private final PlayerSide sideToMove;
+    // casas com peças bloqueadas
+    private final long blocked;
 
     public BoardMemento(TabletopProduct board) {
-        this.state = board.deepClone();
+        this(board, TurnManager.getInstance().getCurrentSide());
     }
 
+    public BoardMemento(TabletopProduct board, PlayerSide sideToMove) {
+        this.layout = board;
+        this.position = board.snapshot();
+        this.sideToMove = sideToMove;
+        long blockedSquares = 0;
+        for (long bb = position.getOccupancy(); bb != 0; bb = Bitboards.withoutFirst(bb)) {
+            int square = Bitboards.first(bb);
+            if (position.getPieceAtSquare(square).getState() instanceof BloqueadaState) {
+                blockedSquares |= Bitboards.bit(square);
+            }
+        }
+        this.blocked = blockedSquares;
+    }
+
+    /** Tabuleiro novo com o estado salvo (mesmas células do original, cópias das peças). */
     public TabletopProduct getState() {
+        TabletopProduct state = layout.emptyCopy();
+        for (long bb = position.getOccupancy(); bb != 0; bb = Bitboards.withoutFirst(bb)) {
+            int square = Bitboards.first(bb);
+            Peca peca = position.getPieceAtSquare(square).deepClone();
+            peca.setPosition(state.positionOf(square));
+            if (Bitboards.contains(blocked, square)) peca.setState(new BloqueadaState());
+            state.placePiece(peca);
+        }
         return state;
     }
+
+    /**
+     * Volta o tabuleiro informado (com as dimensões do original) ao estado salvo, com as mesmas
+     * peças do momento do snapshot.
+     * @return o lado a jogar no momento do snapshot
+     */
+    public PlayerSide restoreInto(TabletopProduct board) {
+        board.restore(position);
+        for (long bb = position.getOccupancy(); bb != 0; bb = Bitboards.withoutFirst(bb)) {
+            int square = Bitboards.first(bb);
+            Peca peca = position.getPieceAtSquare(square);
+            boolean wasBlocked = Bitboards.contains(blocked, square);
+            if (wasBlocked != (peca.getState() instanceof BloqueadaState)) {
+                peca.setState(wasBlocked ? new BloqueadaState() : new NormalState());
+            }
+        }
+        return sideToMove;
+    }
+
+    /** Versão imutável guardada, para análise sem copiar o tabuleiro. */
+    public PersistentPosition getPosition() {
+        return position;
+    }
+
+    public PlayerSide getSideToMove() {
+        return sideToMove;
+    }
+
+    /** Snapshot em bytes pelo {@link BoardSnapshotCodec} (codificado a cada chamada). */
+    public byte[] getSnapshot() {
+        return BoardSnapshotCodec.toBytes(getState(), sideToMove);
+    }
 }
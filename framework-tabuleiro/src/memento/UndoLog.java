@@ -0,0 +1,138 @@
+package memento;
+
+import builder.TabletopProduct;
+import context.Peca;
+import movegen.PackedMove;
+
+/**
+ * Registros de desfazer (make/unmake) de tamanho fixo: para cada jogada guarda só a jogada
+ * codificada por {@link PackedMove} e a peça capturada, se houver. A peça movida não é guardada:
+ * depois da jogada ela está na casa de destino.
+ * Os registros ficam em vetores paralelos pré-alocados usados como anel; ao encher,
+ * o registro mais antigo é descartado, então a memória não cresce com a partida.
+ * As jogadas guardadas são também o histórico de jogadas do {@code CommandInvoker}.
+ *
+ * O registro é feito em duas etapas: {@link #push} o prepara em uma casa reservada do anel,
+ * antes da jogada ser executada, e {@link #commit()} o confirma depois que ela foi aceita. Só a
+ * confirmação descarta o registro mais antigo; uma jogada recusada ({@link #discardPending()})
+ * não apaga nada do histórico.
+ */
+public class UndoLog {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final int capacity;
+    // capacity + 1 casas: a casa head fica sempre livre para o registro pendente
+    private final int[] moves;
+    private final Peca[] captured;
+    private int head;
+    private int size;
+    private boolean pending;
+
+    public UndoLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public UndoLog(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacidade do undo inválida: " + capacity);
+        this.capacity = capacity;
+        this.moves = new int[capacity + 1];
+        this.captured = new Peca[capacity + 1];
+    }
+
+    /**
+     * Prepara o registro da jogada antes da execução; {@code capturada} é a peça no destino
+     * (ou null). Deve ser seguido de {@link #commit()} ou {@link #discardPending()}.
+     */
+    public void push(Peca peca, int from, int to, Peca capturada) {
+        push(PackedMove.of(peca, from, to, capturada), capturada);
+    }
+
+    /** Prepara o registro da jogada codificada; ver {@link #push(Peca, int, int, Peca)}. */
+    public void push(int move, Peca capturada) {
+        moves[head] = move;
+        captured[head] = capturada;
+        pending = true;
+    }
+
+    /** Confirma o registro pendente (jogada executada); com o anel cheio, descarta o mais antigo. */
+    public void commit() {
+        if (!pending) return;
+        pending = false;
+        head = (head + 1) % moves.length;
+        if (size < capacity) {
+            size++;
+        } else {
+            int oldest = (head - size - 1 + 2 * moves.length) % moves.length;
+            moves[oldest] = PackedMove.NONE;
+            captured[oldest] = null;
+        }
+    }
+
+    /** Descarta o registro pendente (jogada recusada) sem mexer nos confirmados. */
+    public void discardPending() {
+        if (!pending) return;
+        pending = false;
+        moves[head] = PackedMove.NONE;
+        captured[head] = null;
+    }
+
+    /** Descarta o registro confirmado mais recente sem aplicá-lo. */
+    public void discardLast() {
+        if (size == 0) return;
+        head = (head - 1 + moves.length) % moves.length;
+        moves[head] = PackedMove.NONE;
+        captured[head] = null;
+        size--;
+    }
+
+    /** Desfaz no tabuleiro a jogada mais recente e remove o registro. */
+    public boolean undoLast(TabletopProduct board) {
+        if (size == 0) return false;
+        int i = (head - 1 + moves.length) % moves.length;
+        int from = PackedMove.from(moves[i]), to = PackedMove.to(moves[i]);
+        board.unmakeMove(board.getPieceAtSquare(to), from, to, captured[i]);
+        discardLast();
+        return true;
+    }
+
+    /** Jogada mais recente, ou {@link PackedMove#NONE} se não houver. */
+    public int lastMove() {
+        return moveAt(0);
+    }
+
+    /**
+     * Jogada registrada {@code back} jogadas antes da mais recente (0 = a mais recente),
+     * ou {@link PackedMove#NONE} se ela já foi descartada.
+     */
+    public int moveAt(int back) {
+        if (back < 0 || back >= size) return PackedMove.NONE;
+        return moves[(head - 1 - back + 2 * moves.length) % moves.length];
+    }
+
+    /**
+     * Copia as jogadas guardadas, da mais antiga para a mais recente, para {@code out}
+     * (no máximo {@code out.length}, as mais recentes).
+     * @return quantidade de jogadas copiadas
+     */
+    public int copyMoves(int[] out) {
+        int n = Math.min(size, out.length);
+        for (int i = 0; i < n; i++) {
+            out[i] = moveAt(n - 1 - i);
+        }
+        return n;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void clear() {
+        discardPending();
+        while (size > 0) discardLast();
+        head = 0;
+    }
+}
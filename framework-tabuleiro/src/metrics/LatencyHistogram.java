@@ -0,0 +1,100 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em nanossegundos, sem travas. Os baldes são log-lineares: cada
+ * potência de 2 é dividida em {@value #SUB_BUCKETS} partes, então o valor de um percentil
+ * tem erro relativo de no máximo 1/16. Valores até 2^{@value #MAX_EXPONENT} ns (cerca de 18 min);
+ * acima disso caem no último balde.
+ *
+ * Registrar é um incremento atômico no balde, mais a soma e o máximo; várias threads podem
+ * registrar ao mesmo tempo. A leitura não é um instantâneo atômico, o que basta para métricas.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+    static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(indexOf(nanos));
+        count.increment();
+        sum.add(nanos);
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Valor (limite superior do balde) abaixo do qual está a fração {@code quantile} das amostras.
+     * @param quantile entre 0 e 1, ex.: 0.99
+     */
+    public long getPercentile(double quantile) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    public LatencySnapshot snapshot() {
+        return new LatencySnapshot(getCount(), getPercentile(0.5), getPercentile(0.99),
+                                   getPercentile(0.999), getMax(), getMean());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // maior valor que cai no balde
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        long base = (long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+        return base + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,53 @@
+package metrics;
+
+import java.beans.ConstructorProperties;
+
+/** Resumo de um {@link LatencyHistogram}, em nanossegundos. Exposto por JMX como CompositeData. */
+public class LatencySnapshot {
+    private final long count;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+    private final long max;
+    private final double mean;
+
+    @ConstructorProperties({"count", "p50", "p99", "p999", "max", "mean"})
+    public LatencySnapshot(long count, long p50, long p99, long p999, long max, double mean) {
+        this.count = count;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+        this.mean = mean;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + " p50=" + p50 + "ns p99=" + p99 + "ns p999=" + p999
+            + "ns max=" + max + "ns";
+    }
+}
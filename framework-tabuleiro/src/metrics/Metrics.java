@@ -0,0 +1,250 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import log.Log;
+
+/**
+ * Métricas das partidas do processo: contadores de jogadas e recusas, partidas ativas e um
+ * {@link LatencyHistogram} por {@link Operation}. A instância compartilhada é registrada no
+ * MBeanServer da plataforma e pode ser lida por JConsole/VisualVM ou qualquer cliente JMX.
+ *
+ * Tudo é sem travas no caminho da jogada. Os contadores são exatos; as latências são amostradas,
+ * porque cada medição chama {@link System#nanoTime()} duas vezes (dezenas de ns cada, perto do
+ * custo de uma jogada inteira). Por padrão uma operação em {@value #DEFAULT_SAMPLE_INTERVAL} é
+ * medida; a propriedade {@code selva.metrics.sample} muda o intervalo (1 mede todas) e
+ * {@code selva.metrics=false} ou {@link #setEnabled(boolean)} desliga a medição. Fora da amostra,
+ * {@link #start()} devolve 0 e {@link #record} não faz nada.
+ *
+ * Uso:
+ * <pre>
+ *     long start = Metrics.start();
+ *     ...
+ *     METRICS.record(Operation.UNDO, start);
+ * </pre>
+ */
+public final class Metrics implements MetricsMXBean {
+    private static final Log LOG = Log.get(Metrics.class);
+
+    public static final String OBJECT_NAME = "framework.tabuleiro:type=Metrics";
+    public static final int DEFAULT_SAMPLE_INTERVAL = 64;
+    private static final long MIN_RATE_WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    private static volatile boolean enabled = !"false".equalsIgnoreCase(System.getProperty("selva.metrics"));
+    // intervalo - 1; o intervalo é potência de 2
+    private static volatile int sampleMask = initialSampleInterval() - 1;
+    private static final Metrics SHARED = register(new Metrics());
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+    private final LongAdder moves = new LongAdder();
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+    private final AtomicInteger liveGames = new AtomicInteger();
+    // janela de getMovesPerSecond
+    private long rateStamp = System.nanoTime();
+    private long rateMoves;
+    private double rate;
+
+    private Metrics() {
+        for (int i = 0; i < latencies.length; i++) latencies[i] = new LatencyHistogram();
+    }
+
+    public static Metrics shared() {
+        return SHARED;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /** Mede uma operação em {@code interval} (arredondado para potência de 2); 1 mede todas. */
+    public static void setSampleInterval(int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Intervalo de amostragem deve ser positivo: " + interval);
+        }
+        sampleMask = Integer.highestOneBit(interval) - 1;
+    }
+
+    public static int sampleInterval() {
+        return sampleMask + 1;
+    }
+
+    /** Início de uma medição, ou 0 se a operação ficar fora da amostra ou a medição estiver desligada. */
+    public static long start() {
+        if (!enabled) return 0;
+        int mask = sampleMask;
+        if (mask != 0 && (ThreadLocalRandom.current().nextInt() & mask) != 0) return 0;
+        return System.nanoTime();
+    }
+
+    /** Registra o tempo desde {@code start} (de {@link #start()}) na etapa. */
+    public void record(Operation operation, long start) {
+        if (start != 0) latencies[operation.ordinal()].record(System.nanoTime() - start);
+    }
+
+    public LatencyHistogram latency(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    public void moveApplied() {
+        moves.increment();
+    }
+
+    /**
+     * Contador de recusas do motivo informado. Quem recusa com frequência deve guardar o
+     * contador em vez de procurá-lo a cada recusa.
+     */
+    public LongAdder rejections(String reason) {
+        return rejections.computeIfAbsent(reason, r -> new LongAdder());
+    }
+
+    public void gameStarted() {
+        liveGames.incrementAndGet();
+    }
+
+    public void gameEnded() {
+        liveGames.decrementAndGet();
+    }
+
+    // --- MetricsMXBean --- //
+
+    @Override
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    @Override
+    public synchronized double getMovesPerSecond() {
+        long now = System.nanoTime();
+        long elapsed = now - rateStamp;
+        if (elapsed >= MIN_RATE_WINDOW) {
+            long total = moves.sum();
+            rate = (total - rateMoves) * 1e9 / elapsed;
+            rateMoves = total;
+            rateStamp = now;
+        }
+        return rate;
+    }
+
+    @Override
+    public long getRejectedMoves() {
+        long total = 0;
+        for (LongAdder count : rejections.values()) total += count.sum();
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getRejectedByValidator() {
+        Map<String, Long> byReason = new TreeMap<>();
+        rejections.forEach((reason, count) -> byReason.put(reason, count.sum()));
+        return byReason;
+    }
+
+    @Override
+    public int getLiveGames() {
+        return liveGames.get();
+    }
+
+    @Override
+    public LatencySnapshot getMoveLatency() {
+        return latency(Operation.MOVE).snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getValidationLatency() {
+        return latency(Operation.VALIDATION).snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getStrategyLatency() {
+        return latency(Operation.STRATEGY).snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getMementoLatency() {
+        return latency(Operation.MEMENTO).snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getLogAppendLatency() {
+        return latency(Operation.LOG_APPEND).snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getUndoLatency() {
+        return latency(Operation.UNDO).snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getReplayLatency() {
+        return latency(Operation.REPLAY).snapshot();
+    }
+
+    @Override
+    public boolean isRecording() {
+        return enabled;
+    }
+
+    @Override
+    public void setRecording(boolean recording) {
+        enabled = recording;
+    }
+
+    @Override
+    public int getSamplingInterval() {
+        return sampleInterval();
+    }
+
+    @Override
+    public void setSamplingInterval(int interval) {
+        setSampleInterval(interval);
+    }
+
+    @Override
+    public synchronized void reset() {
+        for (LatencyHistogram histogram : latencies) histogram.reset();
+        moves.reset();
+        rejections.values().forEach(LongAdder::reset);
+        rateMoves = 0;
+        rateStamp = System.nanoTime();
+        rate = 0;
+    }
+
+    private static int initialSampleInterval() {
+        String configured = System.getProperty("selva.metrics.sample");
+        if (configured == null) return DEFAULT_SAMPLE_INTERVAL;
+        try {
+            int interval = Integer.parseInt(configured.trim());
+            if (interval > 0) return Integer.highestOneBit(interval);
+        } catch (NumberFormatException e) {
+            // cai no aviso abaixo
+        }
+        LOG.warn("Intervalo inválido em selva.metrics.sample: {}", configured);
+        return DEFAULT_SAMPLE_INTERVAL;
+    }
+
+    private static Metrics register(Metrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) server.registerMBean(metrics, name);
+        } catch (JMException | SecurityException e) {
+            LOG.warn("Métricas não registradas no JMX: {}", e.getMessage());
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,48 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * Interface JMX de {@link Metrics}, registrada no MBeanServer da plataforma como
+ * {@value Metrics#OBJECT_NAME}. Latências em nanossegundos.
+ */
+public interface MetricsMXBean {
+    long getMoves();
+
+    /** Média de jogadas por segundo desde a leitura anterior (janela de pelo menos 1 s). */
+    double getMovesPerSecond();
+
+    long getRejectedMoves();
+
+    /** Jogadas recusadas por motivo: nome do validador ou Peca, Estrategia, Versao. */
+    Map<String, Long> getRejectedByValidator();
+
+    int getLiveGames();
+
+    LatencySnapshot getMoveLatency();
+
+    LatencySnapshot getValidationLatency();
+
+    LatencySnapshot getStrategyLatency();
+
+    LatencySnapshot getMementoLatency();
+
+    LatencySnapshot getLogAppendLatency();
+
+    LatencySnapshot getUndoLatency();
+
+    LatencySnapshot getReplayLatency();
+
+    /** Medição de latência ligada; os contadores ficam sempre ativos. */
+    boolean isRecording();
+
+    void setRecording(boolean recording);
+
+    /** Uma operação em quantas tem a latência medida (potência de 2). */
+    int getSamplingInterval();
+
+    void setSamplingInterval(int interval);
+
+    /** Zera contadores e histogramas (as partidas ativas continuam contadas). */
+    void reset();
+}
@@ -0,0 +1,17 @@
+package metrics;
+
+/** Etapas de uma jogada com latência medida pelo {@link Metrics}. */
+public enum Operation {
+    /** Jogada completa em GameFacade.executeMove. */
+    MOVE,
+    /** Cadeia de validadores. */
+    VALIDATION,
+    /** Execução da estratégia de movimento da peça. */
+    STRATEGY,
+    /** Registro do delta de undo antes da jogada. */
+    MEMENTO,
+    /** Gravação da jogada no log de comandos. */
+    LOG_APPEND,
+    UNDO,
+    REPLAY
+}
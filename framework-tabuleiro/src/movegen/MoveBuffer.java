@@ -0,0 +1,61 @@
+package movegen;
+
+import java.util.Arrays;
+
+/**
+ * Buffer reutilizável de movimentos codificados por {@link PackedMove}.
+ * Cresce quando necessário e não aloca mais depois de atingir o tamanho de trabalho.
+ */
+public class MoveBuffer {
+    private int[] moves;
+    private int size;
+
+    public MoveBuffer() {
+        this(64);
+    }
+
+    public MoveBuffer(int initialCapacity) {
+        this.moves = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice inválido: " + index);
+        }
+        return moves[index];
+    }
+
+    /** Troca as jogadas das posições {@code i} e {@code j} (ordenação de jogadas na busca). */
+    public void swap(int i, int j) {
+        if (i < 0 || i >= size || j < 0 || j >= size) {
+            throw new IndexOutOfBoundsException("Índice inválido: " + (i < 0 || i >= size ? i : j));
+        }
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Cópia dos movimentos atuais, para guardar fora do buffer. */
+    public int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+}
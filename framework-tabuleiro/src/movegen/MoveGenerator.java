@@ -0,0 +1,74 @@
+package movegen;
+
+import bitboard.Bitboards;
+import builder.TabletopProduct;
+import context.Peca;
+import context.PlayerSide;
+import enums.PieceKind;
+import flyweight.BoardGeometry;
+import responsability.MoveValidator;
+import responsability.ValidationKernel;
+
+/**
+ * Gera todos os movimentos legais de um lado em uma única passada pelo bitboard do lado.
+ * Para cada peça são testadas apenas as casas candidatas, tiradas das tabelas do layout
+ * ({@link BoardGeometry}): vizinhas ortogonais e, para Leão e Tigre, a margem oposta do rio.
+ * Cada candidata passa pelo {@link ValidationKernel} (a cadeia de validadores compilada) e pela
+ * {@code MovimentoStrategy} da peça, de modo que só saem movimentos que a jogada aceitaria.
+ */
+public class MoveGenerator {
+    private final ValidationKernel validation;
+
+    public MoveGenerator(MoveValidator validatorChain) {
+        this(ValidationKernel.compile(validatorChain));
+    }
+
+    public MoveGenerator(ValidationKernel validation) {
+        this.validation = validation;
+    }
+
+    /**
+     * Limpa o buffer e escreve nele todos os movimentos legais do lado.
+     * @return quantidade de movimentos gerados
+     */
+    public int generate(TabletopProduct board, PlayerSide side, MoveBuffer out) {
+        out.clear();
+        for (long bb = board.getOccupancy(side); bb != 0; bb = Bitboards.withoutFirst(bb)) {
+            generate(board, board.getPieceAtSquare(Bitboards.first(bb)), out);
+        }
+        return out.size();
+    }
+
+    /**
+     * Acrescenta ao buffer os movimentos legais de uma peça.
+     * @return quantidade de movimentos acrescentados
+     */
+    public int generate(TabletopProduct board, Peca peca, MoveBuffer out) {
+        int before = out.size();
+        BoardGeometry geometry = board.getGeometry();
+        int from = board.squareOf(peca.getPosition().row, peca.getPosition().col);
+        int ox = board.squareX(from), oy = board.squareY(from);
+        boolean jumper = peca.getKind() == PieceKind.LEAO || peca.getKind() == PieceKind.TIGRE;
+        // Leão e Tigre trocam as vizinhas de água pela margem oposta do rio
+        long targets = jumper
+            ? geometry.landNeighbours(from) | geometry.jumpTargets(from)
+            : geometry.neighbours(from);
+        for (long bb = targets & ~board.getOccupancy(peca.getSide()); bb != 0; bb = Bitboards.withoutFirst(bb)) {
+            int to = Bitboards.first(bb);
+            int dx = board.squareX(to), dy = board.squareY(to);
+            if (isLegal(board, peca, ox, oy, dx, dy)) {
+                Peca captured = board.getPieceAtSquare(to);
+                int flags = Bitboards.contains(geometry.neighbours(from), to) ? 0 : PackedMove.RIVER_JUMP;
+                out.add(PackedMove.encode(from, to, peca.getKind(), peca.getSide(),
+                                          captured == null ? null : captured.getKind(),
+                                          captured == null ? flags : flags | PackedMove.CAPTURE));
+            }
+        }
+        return out.size() - before;
+    }
+
+    private boolean isLegal(TabletopProduct board, Peca peca, int ox, int oy, int dx, int dy) {
+        return validation.validate(peca, board, ox, oy, dx, dy)
+            && peca.podeMover(board, ox, oy, dx, dy);
+    }
+}
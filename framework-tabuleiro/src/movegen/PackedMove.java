@@ -0,0 +1,142 @@
+package movegen;
+
+import context.Peca;
+import context.PlayerSide;
+import enums.PieceKind;
+
+/**
+ * Codificação canônica de uma jogada em um int, usada pela geração de movimentos, pelo histórico
+ * do {@code CommandInvoker}, pelos registros do {@code UndoLog} e pelo journal:
+ * <pre>
+ * bits  0-5   casa de origem
+ * bits  6-11  casa de destino
+ * bits 12-15  tipo da peça (ordinal de PieceKind + 1; 0 = desconhecido)
+ * bits 16-19  tipo da peça capturada (ordinal + 1; 0 = nenhuma ou desconhecido)
+ * bit  20     lado (ordinal de PlayerSide)
+ * bits 21-23  flags ({@link #CAPTURE}, {@link #RIVER_JUMP})
+ * bits 24-31  reservados (zero)
+ * </pre>
+ * As casas seguem o índice {@code y * largura + x} do tabuleiro da partida, então um movimento
+ * só tem sentido junto com as dimensões do tabuleiro. Origem e destino são sempre diferentes,
+ * por isso {@link #NONE} (0) nunca é uma jogada.
+ */
+public final class PackedMove {
+    /** Nenhuma jogada. */
+    public static final int NONE = 0;
+
+    /** Há uma peça no destino (mesmo que o tipo dela não seja do Selva). */
+    public static final int CAPTURE = 1 << 21;
+    /** Salto do Leão ou do Tigre por cima da água. */
+    public static final int RIVER_JUMP = 1 << 22;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TO_SHIFT = 6;
+    private static final int KIND_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 16;
+    private static final int KIND_MASK = 0xF;
+    private static final int SIDE_SHIFT = 20;
+    private static final int FLAGS_MASK = CAPTURE | RIVER_JUMP;
+
+    private static final PieceKind[] KINDS = PieceKind.values();
+    private static final PlayerSide[] SIDES = PlayerSide.values();
+
+    private PackedMove() {
+    }
+
+    public static int encode(int from, int to, PieceKind kind) {
+        return (from & SQUARE_MASK) | ((to & SQUARE_MASK) << TO_SHIFT) | (code(kind) << KIND_SHIFT);
+    }
+
+    /**
+     * Jogada completa; {@code flags} combina {@link #CAPTURE} e {@link #RIVER_JUMP}.
+     * Uma peça capturada de tipo conhecido liga {@link #CAPTURE} automaticamente.
+     */
+    public static int encode(int from, int to, PieceKind kind, PlayerSide side, PieceKind captured, int flags) {
+        if ((flags & ~FLAGS_MASK) != 0) {
+            throw new IllegalArgumentException("Flags inválidas: " + Integer.toHexString(flags));
+        }
+        if (captured != null) flags |= CAPTURE;
+        return encode(from, to, kind)
+            | (code(captured) << CAPTURED_SHIFT)
+            | (side.ordinal() << SIDE_SHIFT)
+            | flags;
+    }
+
+    /** Jogada da peça de {@code from} para {@code to}, capturando {@code captured} (ou null). */
+    public static int of(Peca peca, int from, int to, Peca captured) {
+        return encode(from, to, peca.getKind(), peca.getSide(),
+                      captured == null ? null : captured.getKind(),
+                      captured == null ? 0 : CAPTURE);
+    }
+
+    private static int code(PieceKind kind) {
+        return kind == null ? 0 : kind.ordinal() + 1;
+    }
+
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    /** Tipo da peça movida, ou null se não for uma peça do Selva. */
+    public static PieceKind kind(int move) {
+        int k = (move >>> KIND_SHIFT) & KIND_MASK;
+        return k == 0 ? null : KINDS[k - 1];
+    }
+
+    /** Ordinal do tipo da peça movida + 1 (0 = desconhecido), para indexar tabelas sem o enum. */
+    public static int kindCode(int move) {
+        return (move >>> KIND_SHIFT) & KIND_MASK;
+    }
+
+    /** Tipo da peça capturada, ou null se não houve captura (ou o tipo não é do Selva). */
+    public static PieceKind captured(int move) {
+        int k = (move >>> CAPTURED_SHIFT) & KIND_MASK;
+        return k == 0 ? null : KINDS[k - 1];
+    }
+
+    public static PlayerSide side(int move) {
+        return SIDES[(move >>> SIDE_SHIFT) & 1];
+    }
+
+    public static int flags(int move) {
+        return move & FLAGS_MASK;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    public static boolean isRiverJump(int move) {
+        return (move & RIVER_JUMP) != 0;
+    }
+
+    /** A mesma jogada com a captura informada (ou sem captura, se null). */
+    public static int withCaptured(int move, Peca captured) {
+        int base = move & ~((KIND_MASK << CAPTURED_SHIFT) | CAPTURE);
+        if (captured == null) return base;
+        return base | (code(captured.getKind()) << CAPTURED_SHIFT) | CAPTURE;
+    }
+
+    /** Mesma origem e destino, ignorando peça, lado e flags. */
+    public static boolean sameSquares(int a, int b) {
+        return ((a ^ b) & ((SQUARE_MASK << TO_SHIFT) | SQUARE_MASK)) == 0;
+    }
+
+    /** Texto da jogada para logs e depuração, ex.: {@code "Leão BLACK 0,0->0,1 x Rato"}. */
+    public static String toString(int move, int width) {
+        if (move == NONE) return "-";
+        PieceKind kind = kind(move);
+        PieceKind captured = captured(move);
+        int from = from(move), to = to(move);
+        StringBuilder text = new StringBuilder();
+        text.append(kind == null ? "?" : kind.getNome()).append(' ').append(side(move).name()).append(' ')
+            .append(from % width).append(',').append(from / width).append("->")
+            .append(to % width).append(',').append(to / width);
+        if (isCapture(move)) text.append(" x ").append(captured == null ? "?" : captured.getNome());
+        return text.toString();
+    }
+}
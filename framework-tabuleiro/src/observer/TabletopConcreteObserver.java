@@ -1,7 +1,12 @@
 package observer;
+
+import log.Log;
+
 // Observer Pattern - GOF
 // Observador concreto
 public class TabletopConcreteObserver implements TabletopObserver {
+    private static final Log LOG = Log.get(TabletopConcreteObserver.class);
+
     private String name;
 
     public TabletopConcreteObserver(String name) {
@@ -10,6 +15,6 @@ public class TabletopConcreteObserver implements TabletopObserver {
 
     @Override
     public void update(String data) {
-        System.out.println(name + " recebeu atualização: " + data);
+        LOG.debug("{} recebeu atualização: {}", name, data);
     }
 }
@@ -1,10 +1,13 @@
 package observer;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jfr.ObserverDispatchEvent;
 
 public abstract class TabletopSubject {
-    protected List<TabletopObserver> observers = new ArrayList<>();
+    // a lista é copiada só em attach/detach; notificar não copia nem trava
+    protected List<TabletopObserver> observers = new CopyOnWriteArrayList<>();
 
     public void attach(TabletopObserver observer) {
         if(observer != null && !observers.contains(observer)) {
@@ -17,10 +20,16 @@ public abstract class TabletopSubject {
     }
     
     public void notifyObservers(String data) {
-        List<TabletopObserver> observersCopy = new ArrayList<>(observers);
-        for (TabletopObserver observer : observersCopy) {
+        ObserverDispatchEvent event = new ObserverDispatchEvent();
+        event.begin();
+        for (TabletopObserver observer : observers) {
             observer.update(data);
         }
+        if (event.shouldCommit()) {
+            event.message = data;
+            event.observers = observers.size();
+            event.commit();
+        }
     }
     
     public abstract String getState();
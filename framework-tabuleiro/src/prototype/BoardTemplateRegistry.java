@@ -0,0 +1,73 @@
+package prototype;
+
+import abstractfactory.SelvaPieceFactory;
+import builder.SelvaTabletopBuilder;
+import builder.TabletopDirector;
+import builder.TabletopProduct;
+import codec.BoardSnapshotCodec;
+import factorymethod.CellCreator;
+import flyweight.TabletopFlyweightFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de protótipos de tabuleiro. Cada layout (tipo do criador de células, da fábrica de
+ * flyweights e da fábrica de peças, mais as dimensões) é montado uma única vez pelo Director,
+ * sem renderizar as células; os novos jogos recebem cópias desse modelo.
+ *
+ * As cópias compartilham as células e os flyweights do modelo e criam peças novas,
+ * então o modelo nunca é alterado pelas partidas.
+ */
+public class BoardTemplateRegistry {
+
+    private static final BoardTemplateRegistry SHARED = new BoardTemplateRegistry();
+
+    private final Map<Key, TabletopConcretePrototype> templates = new ConcurrentHashMap<>();
+
+    /** Registro compartilhado por todas as partidas do processo. */
+    public static BoardTemplateRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Retorna um tabuleiro novo com o layout pedido, montando o modelo na primeira chamada.
+     */
+    public TabletopProduct create(int width,
+                                  int height,
+                                  CellCreator cellFactory,
+                                  TabletopFlyweightFactory flyFactory,
+                                  SelvaPieceFactory pieceFactory) {
+        TabletopProduct template = template(width, height, cellFactory, flyFactory, pieceFactory);
+        return BoardSnapshotCodec.copy(template, pieceFactory);
+    }
+
+    /** Modelo registrado para o layout; não deve ser usado como tabuleiro de uma partida. */
+    public TabletopProduct template(int width,
+                                    int height,
+                                    CellCreator cellFactory,
+                                    TabletopFlyweightFactory flyFactory,
+                                    SelvaPieceFactory pieceFactory) {
+        Key key = new Key(cellFactory.getClass(), flyFactory.getClass(), pieceFactory.getClass(), width, height);
+        return templates.computeIfAbsent(key, k -> {
+            TabletopDirector director = new TabletopDirector(new SelvaTabletopBuilder().withRendering(false));
+            return new TabletopConcretePrototype(
+                director.construct(width, height, cellFactory, flyFactory, pieceFactory));
+        }).getProduct();
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public void clear() {
+        templates.clear();
+    }
+
+    private record Key(Class<?> cellCreator,
+                       Class<?> flyFactory,
+                       Class<?> pieceFactory,
+                       int width,
+                       int height) {
+    }
+}
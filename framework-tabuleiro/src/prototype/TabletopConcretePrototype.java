@@ -1,6 +1,7 @@
 package prototype;
 
 import builder.TabletopProduct;
+import codec.BoardSnapshotCodec;
 
 public class TabletopConcretePrototype implements TabletopPrototype {
     private TabletopProduct product;
@@ -11,8 +12,8 @@ public class TabletopConcretePrototype implements TabletopPrototype {
 
     @Override
     public TabletopPrototype clonePrototype() {
-        // usa o deepClone() que acabamos de implementar
-        TabletopProduct cloned = product.deepClone();
+        // copia as peças pelo snapshot em bytes; as células são compartilhadas
+        TabletopProduct cloned = BoardSnapshotCodec.copy(product);
         return new TabletopConcretePrototype(cloned);
     }
 
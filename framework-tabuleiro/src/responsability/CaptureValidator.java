@@ -4,12 +4,18 @@ package responsability;
 
 import builder.TabletopProduct;
 import context.Peca;
+import enums.CellType;
+import rules.CaptureMatrix;
 
 public class CaptureValidator extends MoveValidator {
     public CaptureValidator(MoveValidator next) { super(next); }
     @Override protected boolean check(Peca peca, TabletopProduct b, int ox, int oy, int dx, int dy) {
         Peca target = b.getPieceAt(dx, dy);
         if (target == null) return true;
-        return target.getSide() != peca.getSide();
+        if (target.getSide() == peca.getSide()) return false;
+        // peças que não são do Selva: basta serem de lados diferentes
+        if (peca.getKind() == null || target.getKind() == null) return true;
+        return CaptureMatrix.podeCapturar(peca.getKind(), peca.getSide(), b.getCellType(ox, oy) == CellType.WATER,
+                                          target.getKind(), target.getSide(), b.getCellType(dx, dy));
     }
 }
\ No newline at end of file
@@ -1,17 +1,51 @@
 package responsability;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import builder.TabletopProduct;
 import context.Peca;
+import jfr.ValidationEvent;
+import metrics.Metrics;
 import rules.CellRules;
 
 public abstract class MoveValidator {
     private final MoveValidator next;
+    // recusas de jogadas submetidas, exposto por JMX com o nome do validador
+    private final LongAdder rejections = Metrics.shared().rejections(getClass().getSimpleName());
     public MoveValidator(MoveValidator next) { this.next = next; }
     public boolean validate(Peca peca, TabletopProduct board,
                             int ox, int oy, int dx, int dy) {
         if (!check(peca, board, ox, oy, dx, dy)) return false;
         return next == null || next.validate(peca, board, ox, oy, dx, dy);
     }
+    /**
+     * Como {@link #validate}, mas conta a recusa no validador que a fez e emite um
+     * {@link ValidationEvent} por validador. Para jogadas submetidas; o gerador de movimentos
+     * usa {@link #validate} e não entra nas métricas nem na gravação JFR.
+     */
+    public boolean validateSubmitted(Peca peca, TabletopProduct board,
+                                     int ox, int oy, int dx, int dy) {
+        if (!checkSubmitted(peca, board, ox, oy, dx, dy)) return false;
+        return next == null || next.validateSubmitted(peca, board, ox, oy, dx, dy);
+    }
+    // só este validador, com a recusa contada e o evento JFR
+    boolean checkSubmitted(Peca peca, TabletopProduct board,
+                           int ox, int oy, int dx, int dy) {
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        boolean passed = check(peca, board, ox, oy, dx, dy);
+        if (event.shouldCommit()) {
+            event.set(peca, ox, oy, dx, dy);
+            event.validator = getClass().getSimpleName();
+            event.passed = passed;
+            event.commit();
+        }
+        if (!passed) rejections.increment();
+        return passed;
+    }
+    MoveValidator next() {
+        return next;
+    }
     protected abstract boolean check(Peca peca, TabletopProduct board,
                                      int ox, int oy, int dx, int dy);
 }
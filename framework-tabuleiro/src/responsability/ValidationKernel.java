@@ -0,0 +1,125 @@
+package responsability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import bitboard.Bitboards;
+import builder.TabletopProduct;
+import context.Peca;
+import flyweight.BoardGeometry;
+import jfr.ValidationEvent;
+import rules.CaptureMatrix;
+
+/**
+ * Cadeia de validadores compilada em um único predicado. Quando a cadeia tem os três validadores
+ * do Selva ({@link BoundsValidator}, {@link CellEntryValidator} e {@link CaptureValidator}), eles
+ * são trocados por uma consulta às tabelas do layout e à {@link CaptureMatrix}; os demais
+ * validadores da cadeia (regras próprias de quem usa o framework) continuam sendo chamados, na
+ * ordem da cadeia, depois dessa consulta. Sem os três, o kernel só repassa à cadeia.
+ *
+ * Peças que não são do Selva (sem {@code PieceKind}) passam pelos validadores originais.
+ * Em {@link #validateSubmitted} uma jogada recusada pela tabela passa também pela cadeia, só
+ * para que a recusa seja contada (e registrada no JFR) no validador que a fez; o resultado é
+ * sempre o da tabela.
+ */
+public final class ValidationKernel {
+    private final MoveValidator chain;
+    private final boolean fused;
+    private final MoveValidator[] fusedValidators;
+    private final MoveValidator[] custom;
+
+    private ValidationKernel(MoveValidator chain, MoveValidator[] fusedValidators, MoveValidator[] custom) {
+        this.chain = chain;
+        this.fused = fusedValidators.length == 3;
+        this.fusedValidators = fusedValidators;
+        this.custom = custom;
+    }
+
+    /** Compila a cadeia (pode ser null: nenhuma validação). */
+    public static ValidationKernel compile(MoveValidator chain) {
+        List<MoveValidator> fusedValidators = new ArrayList<>();
+        List<MoveValidator> custom = new ArrayList<>();
+        boolean bounds = false, entry = false, capture = false;
+        for (MoveValidator v = chain; v != null; v = v.next()) {
+            // só as classes do framework: uma subclasse pode ter mudado a regra
+            if (v.getClass() == BoundsValidator.class && !bounds) {
+                bounds = true;
+                fusedValidators.add(v);
+            } else if (v.getClass() == CellEntryValidator.class && !entry) {
+                entry = true;
+                fusedValidators.add(v);
+            } else if (v.getClass() == CaptureValidator.class && !capture) {
+                capture = true;
+                fusedValidators.add(v);
+            } else {
+                custom.add(v);
+            }
+        }
+        if (fusedValidators.size() < 3) {
+            return new ValidationKernel(chain, new MoveValidator[0], new MoveValidator[0]);
+        }
+        return new ValidationKernel(chain,
+                                    fusedValidators.toArray(new MoveValidator[0]),
+                                    custom.toArray(new MoveValidator[0]));
+    }
+
+    /** Cadeia original. */
+    public MoveValidator getChain() {
+        return chain;
+    }
+
+    /** Os validadores do Selva foram trocados pela tabela. */
+    public boolean isFused() {
+        return fused;
+    }
+
+    /** Mesmo resultado de {@link MoveValidator#validate} na cadeia original, sem métricas nem JFR. */
+    public boolean validate(Peca peca, TabletopProduct board, int ox, int oy, int dx, int dy) {
+        if (!fused) return chain == null || chain.validate(peca, board, ox, oy, dx, dy);
+        if (!allows(peca, board, ox, oy, dx, dy)) return false;
+        for (MoveValidator v : custom) {
+            if (!v.check(peca, board, ox, oy, dx, dy)) return false;
+        }
+        return true;
+    }
+
+    /** Como {@link MoveValidator#validateSubmitted}: conta recusas e emite eventos de validação. */
+    public boolean validateSubmitted(Peca peca, TabletopProduct board, int ox, int oy, int dx, int dy) {
+        if (!fused) return chain == null || chain.validateSubmitted(peca, board, ox, oy, dx, dy);
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        boolean passed = allows(peca, board, ox, oy, dx, dy);
+        if (!passed) {
+            // a tabela decide; a cadeia roda só para atribuir a recusa ao validador que a faz
+            chain.validateSubmitted(peca, board, ox, oy, dx, dy);
+            return false;
+        }
+        if (event.shouldCommit()) {
+            event.set(peca, ox, oy, dx, dy);
+            event.validator = getClass().getSimpleName();
+            event.passed = true;
+            event.commit();
+        }
+        for (MoveValidator v : custom) {
+            if (!v.checkSubmitted(peca, board, ox, oy, dx, dy)) return false;
+        }
+        return true;
+    }
+
+    // limites, entrada na célula e captura em uma consulta à tabela
+    private boolean allows(Peca peca, TabletopProduct board, int ox, int oy, int dx, int dy) {
+        BoardGeometry geometry = board.getGeometry();
+        int to = geometry.squareOf(dx, dy);
+        if (to < 0) return false;
+        int from = geometry.squareOf(ox, oy);
+        int attacker = CaptureMatrix.attacker(peca, from >= 0 && Bitboards.contains(geometry.getWater(), from));
+        int defender = CaptureMatrix.defender(board.getPieceAtSquare(to));
+        if (attacker == CaptureMatrix.UNKNOWN || defender == CaptureMatrix.UNKNOWN) {
+            for (MoveValidator v : fusedValidators) {
+                if (!v.check(peca, board, ox, oy, dx, dy)) return false;
+            }
+            return true;
+        }
+        return CaptureMatrix.allows(attacker, defender, board.getTerrain().getType(to).ordinal());
+    }
+}
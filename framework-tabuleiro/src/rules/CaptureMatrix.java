@@ -0,0 +1,92 @@
+package rules;
+
+import context.Peca;
+import context.PlayerSide;
+import enums.CellType;
+import enums.PieceKind;
+
+/**
+ * Regras de entrada e captura do Selva pré-calculadas em uma tabela
+ * [atacante][defensor][terreno do destino], consultada pelo {@code ValidationKernel} com um
+ * acesso a vetor por jogada.
+ *
+ * O código do atacante junta tipo, lado e se ele sai da água; o do defensor junta tipo e lado, ou
+ * {@link #EMPTY} para casa vazia. Uma entrada é verdadeira se o atacante pode entrar no terreno
+ * ({@link CellRules#podeEntrar}) e, havendo defensor, pode capturá-lo ({@link #podeCapturar}).
+ */
+public final class CaptureMatrix {
+    private static final PieceKind[] KINDS = PieceKind.values();
+    private static final PlayerSide[] SIDES = PlayerSide.values();
+    private static final CellType[] TYPES = CellType.values();
+
+    /** Códigos de peça (tipo e lado). */
+    private static final int PIECES = KINDS.length * SIDES.length;
+    /** Código do defensor quando a casa de destino está vazia. */
+    public static final int EMPTY = PIECES;
+    /** Código desconhecido: a peça não é do Selva. */
+    public static final int UNKNOWN = -1;
+
+    private static final int ATTACKERS = 2 * PIECES;
+    private static final int DEFENDERS = PIECES + 1;
+    private static final boolean[] ALLOWED = new boolean[ATTACKERS * DEFENDERS * TYPES.length];
+
+    static {
+        for (int attacker = 0; attacker < ATTACKERS; attacker++) {
+            PieceKind kind = KINDS[attacker % KINDS.length];
+            PlayerSide side = SIDES[attacker / KINDS.length % SIDES.length];
+            boolean inWater = attacker >= PIECES;
+            for (int defender = 0; defender < DEFENDERS; defender++) {
+                for (CellType type : TYPES) {
+                    boolean allowed = CellRules.podeEntrar(kind, side, type);
+                    if (allowed && defender != EMPTY) {
+                        allowed = podeCapturar(kind, side, inWater,
+                                               KINDS[defender % KINDS.length], SIDES[defender / KINDS.length], type);
+                    }
+                    ALLOWED[index(attacker, defender, type.ordinal())] = allowed;
+                }
+            }
+        }
+    }
+
+    private CaptureMatrix() {
+    }
+
+    /**
+     * Regra de captura: o atacante captura peças inimigas de força igual ou menor; o Rato captura
+     * o Elefante e o Elefante não captura o Rato; qualquer atacante captura a peça que estiver em
+     * uma armadilha do lado dele. Não há captura entre a água e a terra.
+     */
+    public static boolean podeCapturar(PieceKind attacker, PlayerSide attackerSide, boolean attackerInWater,
+                                       PieceKind defender, PlayerSide defenderSide, CellType terrain) {
+        if (attackerSide == defenderSide) return false;
+        if (attackerInWater != (terrain == CellType.WATER)) return false;
+        if (CellRules.estaEmArmadilhaInimiga(defenderSide, terrain)) return true;
+        if (attacker == PieceKind.RATO && defender == PieceKind.ELEFANTE) return true;
+        if (attacker == PieceKind.ELEFANTE && defender == PieceKind.RATO) return false;
+        return attacker.getRank() >= defender.getRank();
+    }
+
+    /** Código da peça que se move, ou {@link #UNKNOWN}. */
+    public static int attacker(Peca peca, boolean inWater) {
+        PieceKind kind = peca.getKind();
+        if (kind == null) return UNKNOWN;
+        return (inWater ? PIECES : 0) + peca.getSide().ordinal() * KINDS.length + kind.ordinal();
+    }
+
+    /** Código da peça no destino, {@link #EMPTY} se não houver ou {@link #UNKNOWN}. */
+    public static int defender(Peca peca) {
+        if (peca == null) return EMPTY;
+        PieceKind kind = peca.getKind();
+        if (kind == null) return UNKNOWN;
+        return peca.getSide().ordinal() * KINDS.length + kind.ordinal();
+    }
+
+    /** Consulta a tabela com códigos conhecidos e o ordinal do terreno do destino. */
+    public static boolean allows(int attacker, int defender, int terrain) {
+        return ALLOWED[index(attacker, defender, terrain)];
+    }
+
+    private static int index(int attacker, int defender, int terrain) {
+        return (attacker * DEFENDERS + defender) * TYPES.length + terrain;
+    }
+}
@@ -5,19 +5,24 @@ import factorymethod.CellAbstractProduct;
 import context.Peca;
 import context.PlayerSide;
 import enums.CellType;
+import enums.PieceKind;
 
 public class CellRules {
 
     /**
      * Verifica se a peça pode entrar na célula especificada.
      * - Uma peça não pode entrar na sua própria toca (Den).
+     * - Só o Rato entra na água.
      */
     public static boolean podeEntrar(Peca peca, CellAbstractProduct cell) {
-        CellType type = cell.getType();
-        PlayerSide side = peca.getSide();
+        return podeEntrar(peca.getKind(), peca.getSide(), cell.getType());
+    }
 
+    /** {@link #podeEntrar(Peca, CellAbstractProduct)} pelo tipo e lado da peça e pelo tipo da célula. */
+    public static boolean podeEntrar(PieceKind kind, PlayerSide side, CellType type) {
         if (type == CellType.DEN_WHITE && side == PlayerSide.WHITE) return false;
         if (type == CellType.DEN_BLACK && side == PlayerSide.BLACK) return false;
+        if (type == CellType.WATER && kind != PieceKind.RATO) return false;
 
         return true;
     }
@@ -27,9 +32,11 @@ public class CellRules {
      * Isso torna a peça vulnerável a qualquer inimigo.
      */
     public static boolean estaEmArmadilhaInimiga(Peca peca, CellAbstractProduct cell) {
-        CellType type = cell.getType();
-        PlayerSide side = peca.getSide();
+        return estaEmArmadilhaInimiga(peca.getSide(), cell.getType());
+    }
 
+    /** {@link #estaEmArmadilhaInimiga(Peca, CellAbstractProduct)} pelo lado da peça e tipo da célula. */
+    public static boolean estaEmArmadilhaInimiga(PlayerSide side, CellType type) {
         return (type == CellType.TRAP_WHITE && side == PlayerSide.BLACK) ||
                (type == CellType.TRAP_BLACK && side == PlayerSide.WHITE);
     }
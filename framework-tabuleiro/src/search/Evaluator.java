@@ -0,0 +1,71 @@
+package search;
+
+import bitboard.Bitboards;
+import builder.TabletopProduct;
+import context.PlayerSide;
+import enums.CellType;
+import enums.PieceKind;
+
+/**
+ * Avaliação estática de uma posição do Selva: material (valor de cada tipo de peça) mais um bônus
+ * por casa de aproximação da toca inimiga. As tabelas de aproximação são calculadas uma vez
+ * para o layout do tabuleiro informado no construtor.
+ */
+public final class Evaluator {
+    /** Valor de cada tipo de peça, pelo ordinal de {@link PieceKind}. */
+    private static final int[] VALUES = {
+        400,  // Rato: captura o Elefante
+        200,  // Gato
+        300,  // Lobo
+        350,  // Cão
+        450,  // Leopardo
+        750,  // Tigre
+        850,  // Leão
+        950,  // Elefante
+    };
+    private static final int ADVANCE = 6;
+
+    private static final PieceKind[] KINDS = PieceKind.values();
+    private static final int SIDES = PlayerSide.values().length;
+
+    // [lado][casa]: bônus de aproximação da toca do outro lado
+    private final int[][] advance;
+
+    public Evaluator(TabletopProduct board) {
+        int squares = board.getWidth() * board.getHeight();
+        this.advance = new int[SIDES][squares];
+        for (PlayerSide side : PlayerSide.values()) {
+            long den = board.getTerrainMask(side == PlayerSide.WHITE ? CellType.DEN_BLACK : CellType.DEN_WHITE);
+            if (den == 0) continue;
+            int target = Bitboards.first(den);
+            int tx = board.squareX(target), ty = board.squareY(target);
+            int far = board.getWidth() + board.getHeight();
+            for (int square = 0; square < squares; square++) {
+                int distance = Math.abs(board.squareX(square) - tx) + Math.abs(board.squareY(square) - ty);
+                advance[side.ordinal()][square] = (far - distance) * ADVANCE;
+            }
+        }
+    }
+
+    public static int value(PieceKind kind) {
+        return VALUES[kind.ordinal()];
+    }
+
+    /** Pontuação da posição do ponto de vista de {@code side} (positiva: {@code side} está melhor). */
+    public int evaluate(TabletopProduct board, PlayerSide side) {
+        return score(board, side) - score(board, side.opponent());
+    }
+
+    private int score(TabletopProduct board, PlayerSide side) {
+        long own = board.getOccupancy(side);
+        int score = 0;
+        for (PieceKind kind : KINDS) {
+            score += Long.bitCount(own & board.getOccupancy(kind)) * VALUES[kind.ordinal()];
+        }
+        int[] bonus = advance[side.ordinal()];
+        for (long bb = own; bb != 0; bb = Bitboards.withoutFirst(bb)) {
+            score += bonus[Bitboards.first(bb)];
+        }
+        return score;
+    }
+}
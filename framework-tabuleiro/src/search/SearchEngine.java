@@ -0,0 +1,198 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import builder.TabletopProduct;
+import context.PlayerSide;
+import log.Log;
+import movegen.MoveGenerator;
+import movegen.PackedMove;
+import responsability.BoundsValidator;
+import responsability.CaptureValidator;
+import responsability.CellEntryValidator;
+import responsability.MoveValidator;
+
+/**
+ * Adversário do computador: busca a melhor jogada de um lado em uma posição do Selva dentro de
+ * um tempo. Usa negamax alfa-beta com aprofundamento iterativo, ordenação de jogadas (jogada da
+ * tabela, capturas, killers e histórico) e uma {@link TranspositionTable} que é mantida entre as
+ * buscas. As jogadas candidatas vêm do {@link MoveGenerator}, ou seja, da mesma validação e das
+ * mesmas estratégias das jogadas da partida.
+ *
+ * Com mais de uma thread a busca é Lazy SMP: as threads auxiliares buscam a mesma raiz, cada uma
+ * com a sua cópia do tabuleiro e pulando profundidades em fases diferentes, e se ajudam só pela
+ * tabela de transposição compartilhada. Quando a thread principal termina (tempo, profundidade
+ * ou {@link #stop()}) todas param; o resultado é o da thread que completou a maior profundidade.
+ *
+ * A posição informada não é alterada: a busca trabalha em cópias ({@link TabletopProduct#deepClone()}).
+ * Uma instância faz uma busca por vez; {@link #stop()} pode ser chamado de outra thread.
+ */
+public class SearchEngine implements AutoCloseable {
+    private static final Log LOG = Log.get(SearchEngine.class);
+
+    public static final int DEFAULT_TABLE_MEGABYTES = 16;
+    /** Profundidade máxima de uma busca (sem contar a quiescência). */
+    public static final int MAX_DEPTH = SearchWorker.MAX_DEPTH;
+
+    private final TranspositionTable table;
+    private final MoveGenerator generator;
+    private final int threads;
+    // threads auxiliares (threads - 1); null com uma thread só
+    private final ExecutorService helpers;
+    private volatile boolean stopped;
+    private volatile long deadline;
+
+    public SearchEngine() {
+        this(TranspositionTable.ofMegabytes(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /** Motor com os validadores padrão do Selva, em uma thread. */
+    public SearchEngine(TranspositionTable table) {
+        this(table, 1);
+    }
+
+    /** Motor com os validadores padrão do Selva, buscando com {@code threads} threads. */
+    public SearchEngine(TranspositionTable table, int threads) {
+        this(table, new BoundsValidator(new CellEntryValidator(new CaptureValidator(null))), threads);
+    }
+
+    /**
+     * Motor que gera as jogadas com a cadeia de validadores informada (a mesma da partida).
+     * @param threads threads por busca, contando a que chama {@link #search}; as auxiliares são
+     *                criadas aqui e encerradas em {@link #close()}
+     */
+    public SearchEngine(TranspositionTable table, MoveValidator validatorChain, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads de busca inválido: " + threads);
+        }
+        this.table = table;
+        this.generator = new MoveGenerator(validatorChain);
+        this.threads = threads;
+        this.helpers = threads == 1 ? null : helperExecutor(threads - 1);
+    }
+
+    /**
+     * Busca até acabar o tempo (a primeira profundidade sempre é completada);
+     * {@code Long.MAX_VALUE} busca sem limite de tempo até {@link #MAX_DEPTH}.
+     */
+    public SearchResult search(TabletopProduct position, PlayerSide sideToMove, long budgetMillis) {
+        return search(position, sideToMove, budgetMillis, MAX_DEPTH);
+    }
+
+    /**
+     * Busca até acabar o tempo ou completar {@code maxDepth}.
+     * @return a melhor jogada da maior profundidade completa e a variante principal
+     */
+    public SearchResult search(TabletopProduct position, PlayerSide sideToMove, long budgetMillis, int maxDepth) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Profundidade deve estar entre 1 e " + MAX_DEPTH + ": " + maxDepth);
+        }
+        long start = System.nanoTime();
+        // toNanos satura: Long.MAX_VALUE é uma busca sem limite de tempo
+        deadline = start + Math.min(TimeUnit.MILLISECONDS.toNanos(Math.max(0, budgetMillis)), Long.MAX_VALUE / 2);
+        stopped = false;
+        table.newSearch();
+
+        SearchWorker main = new SearchWorker(this, 0, position.deepClone(), sideToMove, table, generator);
+        List<SearchWorker> workers = new ArrayList<>(threads);
+        workers.add(main);
+        List<Future<?>> running = new ArrayList<>(threads - 1);
+        for (int id = 1; id < threads; id++) {
+            SearchWorker helper = new SearchWorker(this, id, position.deepClone(), sideToMove, table, generator);
+            workers.add(helper);
+            running.add(helpers.submit(() -> helper.iterate(maxDepth)));
+        }
+        try {
+            main.iterate(maxDepth);
+        } finally {
+            // a principal terminou: as auxiliares param no próximo bloco de nós
+            stopped = true;
+            awaitHelpers(running);
+        }
+
+        SearchWorker best = main;
+        long nodes = 0;
+        for (SearchWorker worker : workers) {
+            nodes += worker.getNodes();
+            if (worker.getCompletedDepth() > best.getCompletedDepth() && worker.getCompletedPv().length > 0) {
+                best = worker;
+            }
+        }
+        int[] pv = best.getCompletedPv();
+        SearchResult result = new SearchResult(pv.length == 0 ? PackedMove.NONE : pv[0],
+                                               best.getCompletedScore(), best.getCompletedDepth(),
+                                               nodes, System.nanoTime() - start,
+                                               pv, position.getWidth(), threads);
+        LOG.debug("Busca ({}): {}", sideToMove, result);
+        return result;
+    }
+
+    private void awaitHelpers(List<Future<?>> running) {
+        boolean interrupted = false;
+        for (Future<?> helper : running) {
+            while (true) {
+                try {
+                    helper.get();
+                    break;
+                } catch (InterruptedException e) {
+                    // as auxiliares já foram paradas; só falta elas saírem
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Falha em uma thread de busca", e.getCause());
+                }
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /** Interrompe a busca em andamento, que devolve a última profundidade completa. */
+    public void stop() {
+        stopped = true;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /** Threads por busca, contando a que chama {@link #search}. */
+    public int getThreads() {
+        return threads;
+    }
+
+    /** Encerra as threads auxiliares; o motor não deve mais ser usado. */
+    @Override
+    public void close() {
+        if (helpers == null) return;
+        stopped = true;
+        helpers.shutdown();
+        try {
+            if (!helpers.awaitTermination(10, TimeUnit.SECONDS)) {
+                helpers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            helpers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // consultado pelas threads de busca a cada bloco de nós
+    boolean shouldStop() {
+        return stopped || System.nanoTime() - deadline >= 0;
+    }
+
+    private static ExecutorService helperExecutor(int count) {
+        AtomicInteger next = new AtomicInteger(1);
+        return Executors.newFixedThreadPool(count, r -> {
+            Thread t = new Thread(r, "search-helper-" + next.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package search;
+
+import movegen.PackedMove;
+
+/**
+ * Resultado de uma busca: a melhor jogada da última profundidade completa, a variante principal
+ * a partir dela e os números da busca (nós visitados e tempo, para os nós por segundo).
+ */
+public final class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final int[] principalVariation;
+    private final int boardWidth;
+    private final int threads;
+
+    SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos,
+                 int[] principalVariation, int boardWidth, int threads) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.principalVariation = principalVariation;
+        this.boardWidth = boardWidth;
+        this.threads = threads;
+    }
+
+    /** Melhor jogada ({@link PackedMove}), ou {@link PackedMove#NONE} se o lado não tem jogadas. */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /** Pontuação do ponto de vista do lado a jogar. */
+    public int getScore() {
+        return score;
+    }
+
+    /** A pontuação é de vitória (positiva) ou derrota forçada. */
+    public boolean isMate() {
+        return Math.abs(score) >= SearchWorker.MATE - SearchWorker.MAX_PLY;
+    }
+
+    /** Profundidade da última iteração completa. */
+    public int getDepth() {
+        return depth;
+    }
+
+    /** Nós visitados, somados entre todas as threads da busca. */
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    /** Threads que buscaram, contando a principal. */
+    public int getThreads() {
+        return threads;
+    }
+
+    /** Sequência de jogadas esperada a partir da posição, começando pela melhor. */
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append("profundidade ").append(depth)
+            .append(" pontuação ").append(score)
+            .append(" nós ").append(nodes)
+            .append(" nós/s ").append(getNodesPerSecond())
+            .append(" threads ").append(threads)
+            .append(" pv");
+        for (int move : principalVariation) {
+            text.append(" [").append(PackedMove.toString(move, boardWidth)).append(']');
+        }
+        return text.toString();
+    }
+}
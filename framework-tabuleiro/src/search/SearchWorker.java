@@ -0,0 +1,351 @@
+package search;
+
+import java.util.Arrays;
+
+import bitboard.Bitboards;
+import builder.TabletopProduct;
+import context.Peca;
+import context.PlayerSide;
+import enums.CellType;
+import enums.PieceKind;
+import movegen.MoveBuffer;
+import movegen.MoveGenerator;
+import movegen.PackedMove;
+
+/**
+ * Uma thread de busca: negamax alfa-beta com aprofundamento iterativo sobre a sua própria cópia
+ * do tabuleiro, com busca de quiescência nas capturas e entradas na toca. Jogadas são executadas
+ * e desfeitas no lugar ({@link TabletopProduct#makeMove} / {@link TabletopProduct#unmakeMove});
+ * o estado de ordenação (killers, histórico) e a variante principal são desta thread, e só a
+ * {@link TranspositionTable} é compartilhada.
+ *
+ * A thread 0 é a principal e busca todas as profundidades. As auxiliares (Lazy SMP) pulam
+ * profundidades em blocos de tamanho e fase diferentes por thread, de modo que em cada momento
+ * as threads estejam em profundidades distintas e preencham a tabela umas para as outras.
+ *
+ * Vence quem entra na toca do adversário; perde o lado sem peças ou sem jogadas.
+ */
+final class SearchWorker {
+    static final int MAX_PLY = 128;
+    static final int MAX_DEPTH = 64;
+    static final int MATE = 30000;
+    static final int INFINITY = 32000;
+    // nós entre consultas ao relógio e ao pedido de parada
+    private static final int CHECK_INTERVAL = 1023;
+
+    private static final int TABLE_MOVE = 1 << 30;
+    private static final int DEN_ENTRY = 1 << 29;
+    private static final int CAPTURE = 1 << 20;
+    private static final int KILLER = 1 << 19;
+    private static final int HISTORY_LIMIT = KILLER - 2;
+
+    // auxiliar i pula a profundidade d quando ((d + SKIP_PHASE[i]) / SKIP_SIZE[i]) é ímpar
+    private static final int[] SKIP_SIZE  = { 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4 };
+    private static final int[] SKIP_PHASE = { 0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7 };
+
+    private final SearchEngine engine;
+    private final int id;
+    private final TabletopProduct board;
+    private final PlayerSide rootSide;
+    private final TranspositionTable table;
+    private final MoveGenerator generator;
+    private final Evaluator evaluator;
+    // [lado]: toca do lado
+    private final long[] dens = new long[PlayerSide.values().length];
+
+    private final MoveBuffer[] moves = new MoveBuffer[MAX_PLY];
+    private final int[][] order = new int[MAX_PLY][];
+    private final int[][] killers = new int[MAX_PLY][2];
+    // [lado][origem * 64 + destino]
+    private final int[][] history = new int[PlayerSide.values().length][Bitboards.MAX_SQUARES * Bitboards.MAX_SQUARES];
+    private final int[][] pv = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+
+    private long nodes;
+    private boolean aborted;
+    private int completedDepth;
+    private int completedScore;
+    private int[] completedPv = new int[0];
+
+    SearchWorker(SearchEngine engine, int id, TabletopProduct board, PlayerSide rootSide,
+                 TranspositionTable table, MoveGenerator generator) {
+        this.engine = engine;
+        this.id = id;
+        this.board = board;
+        this.rootSide = rootSide;
+        this.table = table;
+        this.generator = generator;
+        this.evaluator = new Evaluator(board);
+        dens[PlayerSide.WHITE.ordinal()] = board.getTerrainMask(CellType.DEN_WHITE);
+        dens[PlayerSide.BLACK.ordinal()] = board.getTerrainMask(CellType.DEN_BLACK);
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            moves[ply] = new MoveBuffer();
+            order[ply] = new int[64];
+        }
+    }
+
+    /** Aprofunda de 1 até {@code maxDepth} ou até a busca ser interrompida. */
+    void iterate(int maxDepth) {
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            if (skips(depth)) continue;
+            int score = negamax(rootSide, depth, 0, -INFINITY, INFINITY);
+            if (aborted) break;
+            completedDepth = depth;
+            completedScore = score;
+            completedPv = principalVariation(depth);
+            // vitória ou derrota forçada: aprofundar não muda a jogada
+            if (Math.abs(score) >= MATE - MAX_PLY) break;
+        }
+    }
+
+    private boolean skips(int depth) {
+        if (id == 0 || depth == 1) return false;
+        int i = (id - 1) % SKIP_SIZE.length;
+        return ((depth + SKIP_PHASE[i]) / SKIP_SIZE[i]) % 2 != 0;
+    }
+
+    /**
+     * Variante principal da iteração: a linha guardada durante a busca, completada pelas jogadas
+     * da tabela quando um corte pela tabela a encurtou (até a profundidade da iteração).
+     */
+    private int[] principalVariation(int depth) {
+        int[] line = Arrays.copyOf(pv[0], Math.max(depth, pvLength[0]));
+        int length = pvLength[0];
+        PlayerSide side = rootSide;
+        Peca[] captured = new Peca[line.length];
+        for (int i = 0; i < length; i++) {
+            captured[i] = board.makeMove(PackedMove.from(line[i]), PackedMove.to(line[i]));
+            side = side.opponent();
+        }
+        while (length < line.length && !lost(side)) {
+            long entry = table.probe(board.getPositionKey(side));
+            int move = entry == 0 ? PackedMove.NONE : TranspositionTable.move(entry);
+            if (move == PackedMove.NONE || !isLegal(side, move)) break;
+            line[length] = move;
+            captured[length++] = board.makeMove(PackedMove.from(move), PackedMove.to(move));
+            side = side.opponent();
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            int to = PackedMove.to(line[i]);
+            board.unmakeMove(board.getPieceAtSquare(to), PackedMove.from(line[i]), to, captured[i]);
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    // a jogada da tabela pode ser de outra posição com a mesma entrada
+    private boolean isLegal(PlayerSide side, int move) {
+        MoveBuffer list = moves[0];
+        int count = generator.generate(board, side, list);
+        for (int i = 0; i < count; i++) {
+            if (list.get(i) == move) return true;
+        }
+        return false;
+    }
+
+    private int negamax(PlayerSide side, int depth, int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if (ply > 0 && lost(side)) return -MATE + ply;
+        if (depth <= 0) return quiesce(side, ply, alpha, beta);
+        if (visit()) return 0;
+        if (ply >= MAX_PLY - 1) return evaluator.evaluate(board, side);
+
+        long key = board.getPositionKey(side);
+        long entry = table.probe(key);
+        int tableMove = PackedMove.NONE;
+        if (entry != 0) {
+            tableMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        MoveBuffer list = moves[ply];
+        int count = generator.generate(board, side, list);
+        if (count == 0) return -MATE + ply;
+        int[] scores = scoreMoves(list, count, side, ply, tableMove, false);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(list, scores, i, count);
+            int from = PackedMove.from(move), to = PackedMove.to(move);
+            Peca captured = board.makeMove(from, to);
+            int score = -negamax(side.opponent(), depth - 1, ply + 1, -beta, -alpha);
+            board.unmakeMove(board.getPieceAtSquare(to), from, to, captured);
+            if (aborted) return 0;
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (score >= beta) {
+                        if (!PackedMove.isCapture(move)) rememberQuiet(side, ply, move, depth);
+                        break;
+                    }
+                }
+            }
+        }
+        int bound = best >= beta ? TranspositionTable.LOWER
+                  : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    // só capturas e entradas na toca, até a posição ficar quieta
+    private int quiesce(PlayerSide side, int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if (ply > 0 && lost(side)) return -MATE + ply;
+        if (visit()) return 0;
+        int standPat = evaluator.evaluate(board, side);
+        if (ply >= MAX_PLY - 1 || standPat >= beta) return standPat;
+        if (standPat > alpha) alpha = standPat;
+
+        MoveBuffer list = moves[ply];
+        int count = generator.generate(board, side, list);
+        if (count == 0) return -MATE + ply;
+        int[] scores = scoreMoves(list, count, side, ply, PackedMove.NONE, true);
+
+        int best = standPat;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(list, scores, i, count);
+            // as jogadas quietas ficam no fim da ordenação
+            if (scores[i] < CAPTURE) break;
+            int from = PackedMove.from(move), to = PackedMove.to(move);
+            Peca captured = board.makeMove(from, to);
+            int score = -quiesce(side.opponent(), ply + 1, -beta, -alpha);
+            board.unmakeMove(board.getPieceAtSquare(to), from, to, captured);
+            if (aborted) return 0;
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (score >= beta) break;
+                }
+            }
+        }
+        return best;
+    }
+
+    // conta o nó e, de tempos em tempos, consulta o relógio (a primeira iteração da thread
+    // principal sempre termina; as auxiliares param assim que a principal para)
+    private boolean visit() {
+        if ((++nodes & CHECK_INTERVAL) == 0 && (completedDepth > 0 || id > 0) && engine.shouldStop()) {
+            aborted = true;
+        }
+        return aborted;
+    }
+
+    // o adversário entrou na toca do lado ou o lado ficou sem peças
+    private boolean lost(PlayerSide side) {
+        return (board.getOccupancy(side.opponent()) & dens[side.ordinal()]) != 0
+            || board.getOccupancy(side) == 0;
+    }
+
+    // jogada da tabela, entradas na toca, capturas (vítima mais valiosa, atacante mais fraco),
+    // killers e histórico; em quiescência as quietas ficam com 0
+    private int[] scoreMoves(MoveBuffer list, int count, PlayerSide side, int ply, int tableMove, boolean tactical) {
+        int[] scores = order[ply];
+        if (scores.length < count) scores = order[ply] = new int[Math.max(count, 2 * scores.length)];
+        long enemyDen = dens[side.opponent().ordinal()];
+        int[] sideHistory = history[side.ordinal()];
+        for (int i = 0; i < count; i++) {
+            int move = list.get(i);
+            int to = PackedMove.to(move);
+            int score;
+            if (!tactical && PackedMove.sameSquares(move, tableMove)) {
+                score = TABLE_MOVE;
+            } else if (Bitboards.contains(enemyDen, to)) {
+                score = DEN_ENTRY;
+            } else if (PackedMove.isCapture(move)) {
+                PieceKind victim = PackedMove.captured(move), attacker = PackedMove.kind(move);
+                score = CAPTURE + (victim == null ? 0 : Evaluator.value(victim)) * 16
+                      - (attacker == null ? 0 : attacker.getRank());
+            } else if (tactical) {
+                score = 0;
+            } else if (move == killers[ply][0]) {
+                score = KILLER;
+            } else if (move == killers[ply][1]) {
+                score = KILLER - 1;
+            } else {
+                score = sideHistory[PackedMove.from(move) * Bitboards.MAX_SQUARES + to];
+            }
+            scores[i] = score;
+        }
+        return scores;
+    }
+
+    // seleção: traz para i a jogada de maior pontuação entre i e count
+    private static int pickNext(MoveBuffer list, int[] scores, int i, int count) {
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (scores[j] > scores[best]) best = j;
+        }
+        if (best != i) {
+            list.swap(i, best);
+            int score = scores[i];
+            scores[i] = scores[best];
+            scores[best] = score;
+        }
+        return list.get(i);
+    }
+
+    private void rememberQuiet(PlayerSide side, int ply, int move, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int[] sideHistory = history[side.ordinal()];
+        int i = PackedMove.from(move) * Bitboards.MAX_SQUARES + PackedMove.to(move);
+        sideHistory[i] += depth * depth;
+        if (sideHistory[i] > HISTORY_LIMIT) {
+            for (int j = 0; j < sideHistory.length; j++) sideHistory[j] >>= 1;
+        }
+    }
+
+    private void updatePv(int ply, int move) {
+        int[] line = pv[ply];
+        line[ply] = move;
+        int next = ply + 1;
+        int length = pvLength[next];
+        System.arraycopy(pv[next], next, line, next, length - next);
+        pvLength[ply] = Math.max(next, length);
+    }
+
+    // pontuações de vitória na tabela ficam relativas ao nó, não à raiz
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score + ply;
+        if (score <= -MATE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score - ply;
+        if (score <= -MATE + MAX_PLY) return score + ply;
+        return score;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    int getCompletedScore() {
+        return completedScore;
+    }
+
+    int[] getCompletedPv() {
+        return completedPv;
+    }
+}
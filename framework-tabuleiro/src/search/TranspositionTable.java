@@ -0,0 +1,140 @@
+package search;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de transposição de tamanho fixo, indexada pela chave Zobrist da posição, sem travas:
+ * pode ser lida e escrita por várias threads de busca ao mesmo tempo.
+ *
+ * Cada entrada são dois longs, a chave XOR os dados e os dados. Uma leitura só vale se o XOR dos
+ * dois devolver a chave procurada, então uma entrada escrita pela metade por outra thread é
+ * tratada como ausente. Os dados de uma entrada cabem em um long:
+ * <pre>
+ * bits  0-23  jogada ({@code PackedMove})
+ * bits 24-39  pontuação (16 bits com sinal)
+ * bits 40-47  profundidade
+ * bits 48-49  tipo do limite ({@link #EXACT}, {@link #LOWER}, {@link #UPPER})
+ * bits 50-55  geração (busca que gravou a entrada)
+ * bit  56     entrada ocupada
+ * </pre>
+ * Uma entrada de outra chave é substituída se for de uma busca anterior ou tiver profundidade
+ * menor ou igual; uma da mesma chave é sempre atualizada.
+ */
+public final class TranspositionTable {
+    public static final int EXACT = 0;
+    /** A pontuação é um limite inferior (corte beta). */
+    public static final int LOWER = 1;
+    /** A pontuação é um limite superior (nenhuma jogada superou alfa). */
+    public static final int UPPER = 2;
+
+    private static final long MOVE_MASK = 0xFFFFFFL;
+    private static final int SCORE_SHIFT = 24;
+    private static final int DEPTH_SHIFT = 40;
+    private static final int BOUND_SHIFT = 48;
+    private static final int GENERATION_SHIFT = 50;
+    private static final int GENERATIONS = 64;
+    private static final long USED = 1L << 56;
+    // 2^27 entradas (2 GB): o vetor de longs tem de caber em um array Java
+    private static final int MAX_CAPACITY = 1 << 27;
+
+    private final long[] entries;
+    private final int mask;
+    private volatile int generation;
+
+    /** @param capacity número de entradas, arredondado para a próxima potência de dois */
+    public TranspositionTable(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Tabela de transposição com mais de " + MAX_CAPACITY + " entradas");
+        }
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.entries = new long[2 * size];
+        this.mask = size - 1;
+    }
+
+    /** Tabela com o número de entradas que cabe em {@code megabytes} (16 bytes por entrada). */
+    public static TranspositionTable ofMegabytes(int megabytes) {
+        if (megabytes <= 0) {
+            throw new IllegalArgumentException("Tamanho da tabela de transposição inválido: " + megabytes + " MB");
+        }
+        return new TranspositionTable(Integer.highestOneBit((int) Math.min(MAX_CAPACITY, (long) megabytes << 16)));
+    }
+
+    /**
+     * Dados gravados para a chave, ou 0 se não houver entrada válida.
+     * Use {@link #move}, {@link #score}, {@link #depth} e {@link #bound} para ler os campos.
+     */
+    public long probe(long key) {
+        int i = index(key);
+        long data = entries[i + 1];
+        if ((data & USED) == 0 || (entries[i] ^ data) != key) return 0;
+        return data;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        int i = index(key);
+        long old = entries[i + 1];
+        int gen = generation;
+        if ((old & USED) != 0 && (entries[i] ^ old) != key
+                && generation(old) == gen && depth(old) > depth) {
+            return;
+        }
+        // sem jogada nova, mantém a da entrada anterior da mesma posição
+        if (move == 0 && (entries[i] ^ old) == key) move = move(old);
+        long data = (move & MOVE_MASK)
+            | ((score & 0xFFFFL) << SCORE_SHIFT)
+            | ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT)
+            | ((long) bound << BOUND_SHIFT)
+            | ((long) gen << GENERATION_SHIFT)
+            | USED;
+        entries[i] = key ^ data;
+        entries[i + 1] = data;
+    }
+
+    /** Começa uma busca nova: as entradas das anteriores passam a ser substituídas primeiro. */
+    public void newSearch() {
+        generation = (generation + 1) % GENERATIONS;
+    }
+
+    public void clear() {
+        Arrays.fill(entries, 0L);
+    }
+
+    public int capacity() {
+        return entries.length / 2;
+    }
+
+    /** Entradas ocupadas pela busca atual, em milésimos, por amostragem das primeiras entradas. */
+    public int hashfull() {
+        int sample = Math.min(1000, capacity());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = entries[2 * i + 1];
+            if ((data & USED) != 0 && generation(data) == generation) used++;
+        }
+        return used * 1000 / sample;
+    }
+
+    public static int move(long data) {
+        return (int) (data & MOVE_MASK);
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & (GENERATIONS - 1);
+    }
+
+    private int index(long key) {
+        return ((int) (key ^ (key >>> 32)) & mask) << 1;
+    }
+}
@@ -1,23 +1,34 @@
 package singleton;
 
 import context.PlayerSide;
+import log.Log;
 
+/**
+ * Controle de turno. {@link #getInstance()} é o turno global usado pelo jogo de console;
+ * partidas hospedadas em paralelo (ver {@code host.GameHost}) usam cada uma o seu,
+ * criado por {@link #newInstance()}.
+ */
 public class TurnManager {
+    private static final Log LOG = Log.get(TurnManager.class);
 
-    private static TurnManager instance;
-
-    private PlayerSide currentSide;
+    private volatile PlayerSide currentSide;
 
     private TurnManager() {
         this.currentSide = PlayerSide.WHITE; 
     }
 
+    // inicialização tardia e segura entre threads (holder idiom)
+    private static class Holder {
+        private static final TurnManager INSTANCE = new TurnManager();
+    }
 
     public static TurnManager getInstance() {
-        if (instance == null) {
-            instance = new TurnManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    /** Turno próprio de uma partida, independente do turno global. */
+    public static TurnManager newInstance() {
+        return new TurnManager();
     }
 
     
@@ -26,9 +37,14 @@ public class TurnManager {
     }
 
 
+    /** Define o lado a jogar (ex.: ao retomar uma partida de um log). */
+    public void setCurrentSide(PlayerSide side) {
+        this.currentSide = side;
+    }
+
     public void switchTurn() {
         currentSide = (currentSide == PlayerSide.WHITE) ? PlayerSide.BLACK : PlayerSide.WHITE;
-        System.out.println("✔️ Agora é a vez do jogador: " + currentSide);
+        LOG.debug("✔️ Agora é a vez do jogador: {}", currentSide);
     }
 
    
@@ -39,6 +55,6 @@ public class TurnManager {
    
     public void reset() {
         this.currentSide = PlayerSide.WHITE;
-        System.out.println("Turno reiniciado: começa o jogador branco.");
+        LOG.info("Turno reiniciado: começa o jogador branco.");
     }
 }
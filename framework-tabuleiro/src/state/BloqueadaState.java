@@ -3,15 +3,24 @@ package state;
 import builder.TabletopProduct;
 import observer.TabletopSubject;
 import context.Peca;
+import log.Log;
 
 public class BloqueadaState implements PecaState {
+    private static final Log LOG = Log.get(BloqueadaState.class);
 
     @Override
     public boolean mover(Peca peca, TabletopProduct board, 
                          int origemX, int origemY, 
                          int destinoX, int destinoY, 
                          TabletopSubject subject) {
-        System.out.println("A peça " + peca.getNome() + " está bloqueada e não pode se mover.");
+        LOG.debug("A peça {} está bloqueada e não pode se mover.", peca.getNome());
+        return false;
+    }
+
+    @Override
+    public boolean podeMover(Peca peca, TabletopProduct board,
+                             int origemX, int origemY,
+                             int destinoX, int destinoY) {
         return false;
     }
 }
@@ -3,8 +3,11 @@ package state;
 import builder.TabletopProduct;
 import observer.TabletopSubject;
 import context.Peca;
+import jfr.StrategyEvent;
+import log.Log;
 
 public class NormalState implements PecaState {
+    private static final Log LOG = Log.get(NormalState.class);
 
     @Override
     public boolean mover(Peca peca, TabletopProduct board, 
@@ -12,13 +15,32 @@ public class NormalState implements PecaState {
                          int destinoX, int destinoY, 
                          TabletopSubject subject) {
         if (peca.getMovimentoStrategy() == null) {
-            System.out.println("Nenhuma estratégia definida para " + peca.getNome());
+            LOG.warn("Nenhuma estratégia definida para {}", peca.getNome());
             return false;
         }
-        System.out.println("Estado Normal: Movimento solicitado para a peça " + peca.getNome());
-        return peca.getMovimentoStrategy().mover(peca, board, 
-                                                 origemX, origemY, 
-                                                 destinoX, destinoY, 
-                                                 subject);
+        LOG.debug("Estado Normal: Movimento solicitado para a peça {}", peca.getNome());
+        StrategyEvent event = new StrategyEvent();
+        event.begin();
+        boolean moved = peca.getMovimentoStrategy().mover(peca, board,
+                                                          origemX, origemY,
+                                                          destinoX, destinoY,
+                                                          subject);
+        if (event.shouldCommit()) {
+            event.set(peca, origemX, origemY, destinoX, destinoY);
+            event.strategy = peca.getMovimentoStrategy().getClass().getSimpleName();
+            event.moved = moved;
+            event.commit();
+        }
+        return moved;
+    }
+
+    @Override
+    public boolean podeMover(Peca peca, TabletopProduct board,
+                             int origemX, int origemY,
+                             int destinoX, int destinoY) {
+        return peca.getMovimentoStrategy() != null
+            && peca.getMovimentoStrategy().podeMover(peca, board,
+                                                     origemX, origemY,
+                                                     destinoX, destinoY);
     }
 }
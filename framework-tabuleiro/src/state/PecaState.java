@@ -9,4 +9,9 @@ public interface PecaState {
                   int origemX, int origemY, 
                   int destinoX, int destinoY, 
                   TabletopSubject subject);
+
+    /** Verifica, sem mover, se a peça pode fazer o movimento neste estado. */
+    boolean podeMover(Peca peca, TabletopProduct board,
+                      int origemX, int origemY,
+                      int destinoX, int destinoY);
 }
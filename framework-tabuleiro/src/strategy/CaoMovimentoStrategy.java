@@ -1,6 +1,5 @@
 package strategy;
 
 public class CaoMovimentoStrategy extends MovimentoBasicoStrategy {
-
-    
+    public static final CaoMovimentoStrategy INSTANCE = new CaoMovimentoStrategy();
 }
@@ -1,24 +1,35 @@
 package strategy;
 
+import bitboard.Bitboards;
 import builder.TabletopProduct;
 import context.Peca;
-import enums.CellType;
+import flyweight.BoardGeometry;
 import observer.TabletopSubject;
 
 public class ElefanteMovimentoStrategy implements MovimentoStrategy {
+    public static final ElefanteMovimentoStrategy INSTANCE = new ElefanteMovimentoStrategy();
+
     @Override
     public boolean mover(Peca peca,
                          TabletopProduct board,
                          int ox, int oy, int dx, int dy,
                          TabletopSubject subject) {
-        if (!board.isWithinBounds(dx, dy) || Math.abs(ox - dx) + Math.abs(oy - dy) != 1)
-            return false;
-        if (board.getCellType(dx, dy) == CellType.WATER) return false;
+        if (!podeMover(peca, board, ox, oy, dx, dy)) return false;
         Peca alvo = board.getPieceAt(dx, dy);
-        if (alvo != null && alvo.getSide() == peca.getSide()) return false;
-        if (alvo != null && alvo.getNome().equals("Rato")) return false;
         board.movePiece(peca, ox, oy, dx, dy);
         if (alvo != null) board.removePiece(alvo);
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean podeMover(Peca peca,
+                             TabletopProduct board,
+                             int ox, int oy, int dx, int dy) {
+        BoardGeometry geometry = board.getGeometry();
+        int from = geometry.squareOf(ox, oy), to = geometry.squareOf(dx, dy);
+        if (from < 0 || to < 0) return false;
+        // vizinha fora da água e sem peça do mesmo lado; quem o Elefante captura (não o Rato)
+        // é decidido pela CaptureMatrix na validação
+        return Bitboards.contains(geometry.landNeighbours(from) & ~board.getOccupancy(peca.getSide()), to);
+    }
+}
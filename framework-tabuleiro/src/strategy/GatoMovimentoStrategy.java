@@ -1,5 +1,5 @@
 package strategy;
 
 public class GatoMovimentoStrategy extends MovimentoBasicoStrategy {
-    
+    public static final GatoMovimentoStrategy INSTANCE = new GatoMovimentoStrategy();
 }
@@ -1,34 +1,54 @@
 package strategy;
 
+import bitboard.Bitboards;
 import builder.TabletopProduct;
 import context.Peca;
+import enums.PieceKind;
+import flyweight.BoardGeometry;
 import observer.TabletopSubject;
 
+/**
+ * Movimento do Leão (e do Tigre): uma casa como o Elefante ou o salto sobre o rio, em linha reta
+ * até a primeira casa seca depois da água, desde que nenhum Rato esteja na água atravessada.
+ */
 public class LeaoMovimentoStrategy implements MovimentoStrategy {
+    public static final LeaoMovimentoStrategy INSTANCE = new LeaoMovimentoStrategy();
+
     @Override
     public boolean mover(Peca peca,
                          TabletopProduct board,
                          int ox, int oy, int dx, int dy,
                          TabletopSubject subject) {
-        if (ox == dx && isRiverJump(board, ox, oy, dx, dy)) {
-            return jump(board, peca, ox, oy, dx, dy);
-        }
-        if (oy == dy && isRiverJump(board, ox, oy, dx, dy)) {
-            return jump(board, peca, ox, oy, dx, dy);
+        if (!isRiverJump(board, ox, oy, dx, dy)) {
+            return ElefanteMovimentoStrategy.INSTANCE.mover(peca, board, ox, oy, dx, dy, subject);
         }
-        return new ElefanteMovimentoStrategy().mover(peca, board, ox, oy, dx, dy, subject);
-    }
-
-    private boolean isRiverJump(TabletopProduct board, int ox, int oy, int dx, int dy) {
-        return Math.abs(ox - dx + oy - dy) > 1; 
-    }
-
-    private boolean jump(TabletopProduct board, Peca peca,
-                         int ox, int oy, int dx, int dy) {
+        if (!podeMover(peca, board, ox, oy, dx, dy)) return false;
         Peca alvo = board.getPieceAt(dx, dy);
-        if (alvo != null && alvo.getSide() == peca.getSide()) return false;
         board.movePiece(peca, ox, oy, dx, dy);
         if (alvo != null) board.removePiece(alvo);
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean podeMover(Peca peca,
+                             TabletopProduct board,
+                             int ox, int oy, int dx, int dy) {
+        BoardGeometry geometry = board.getGeometry();
+        int from = geometry.squareOf(ox, oy), to = geometry.squareOf(dx, dy);
+        if (from < 0 || to < 0) return false;
+        long river = geometry.crossedWater(from, to);
+        if (river == 0) {
+            return ElefanteMovimentoStrategy.INSTANCE.podeMover(peca, board, ox, oy, dx, dy);
+        }
+        // nenhum Rato na água atravessada e destino sem peça do mesmo lado
+        long blocked = (board.getOccupancy(PieceKind.RATO) & river)
+                     | (board.getOccupancy(peca.getSide()) & Bitboards.bit(to));
+        return blocked == 0;
+    }
+
+    private boolean isRiverJump(TabletopProduct board, int ox, int oy, int dx, int dy) {
+        BoardGeometry geometry = board.getGeometry();
+        int from = geometry.squareOf(ox, oy), to = geometry.squareOf(dx, dy);
+        return from >= 0 && to >= 0 && geometry.crossedWater(from, to) != 0;
+    }
+}
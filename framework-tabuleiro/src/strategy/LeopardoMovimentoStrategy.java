@@ -1,5 +1,5 @@
 package strategy;
 
 public class LeopardoMovimentoStrategy extends MovimentoBasicoStrategy {
-    
+    public static final LeopardoMovimentoStrategy INSTANCE = new LeopardoMovimentoStrategy();
 }
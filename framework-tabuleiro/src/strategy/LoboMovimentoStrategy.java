@@ -1,5 +1,5 @@
 package strategy;
 
 public class LoboMovimentoStrategy extends MovimentoBasicoStrategy {
-    
+    public static final LoboMovimentoStrategy INSTANCE = new LoboMovimentoStrategy();
 }
@@ -6,6 +6,8 @@ import observer.TabletopSubject;
 
 /**
  * Interface que define a estratégia de movimentação de uma peça.
+ * As estratégias do Selva não guardam estado e são compartilhadas por todas as peças do tipo
+ * (cada uma tem a sua {@code INSTANCE}); uma implementação nova deve seguir a mesma regra.
  */
 public interface MovimentoStrategy {
     boolean mover(Peca peca,
@@ -13,4 +15,12 @@ public interface MovimentoStrategy {
                   int origemX, int origemY,
                   int destinoX, int destinoY,
                   TabletopSubject subject);
+
+    /**
+     * Verifica se o movimento é permitido pela estratégia, sem alterar o tabuleiro.
+     */
+    boolean podeMover(Peca peca,
+                      TabletopProduct board,
+                      int origemX, int origemY,
+                      int destinoX, int destinoY);
 }
@@ -1,31 +1,34 @@
 package strategy;
 
+import bitboard.Bitboards;
 import builder.TabletopProduct;
 import context.Peca;
-import enums.CellType;
+import flyweight.BoardGeometry;
 import observer.TabletopSubject;
 
 public class RatoMovimentoStrategy implements MovimentoStrategy {
+    public static final RatoMovimentoStrategy INSTANCE = new RatoMovimentoStrategy();
+
     @Override
     public boolean mover(Peca peca,
                          TabletopProduct board,
                          int ox, int oy, int dx, int dy,
                          TabletopSubject subject) {
-        if (!board.isWithinBounds(dx, dy) || Math.abs(ox - dx) + Math.abs(oy - dy) != 1)
-            return false;
-
-        CellType origemType = board.getCellType(ox, oy);
-        CellType destinoType = board.getCellType(dx, dy);
-
+        if (!podeMover(peca, board, ox, oy, dx, dy)) return false;
         Peca alvo = board.getPieceAt(dx, dy);
-        if (alvo != null && alvo.getSide() == peca.getSide()) return false;
-
-        
-        if (origemType == CellType.WATER && destinoType == CellType.LAND &&
-            alvo != null && alvo.getNome().equals("Elefante")) return false;
-
         board.movePiece(peca, ox, oy, dx, dy);
         if (alvo != null) board.removePiece(alvo);
         return true;
     }
+
+    @Override
+    public boolean podeMover(Peca peca,
+                             TabletopProduct board,
+                             int ox, int oy, int dx, int dy) {
+        BoardGeometry geometry = board.getGeometry();
+        int from = geometry.squareOf(ox, oy), to = geometry.squareOf(dx, dy);
+        if (from < 0 || to < 0) return false;
+        // o Rato entra na água; as capturas dele (nenhuma entre a água e a terra) ficam na CaptureMatrix
+        return Bitboards.contains(geometry.neighbours(from) & ~board.getOccupancy(peca.getSide()), to);
+    }
 }
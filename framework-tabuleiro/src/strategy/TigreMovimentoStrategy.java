@@ -1,3 +1,5 @@
 package strategy;
 
-public class TigreMovimentoStrategy extends LeaoMovimentoStrategy {}
\ No newline at end of file
+public class TigreMovimentoStrategy extends LeaoMovimentoStrategy {
+    public static final TigreMovimentoStrategy INSTANCE = new TigreMovimentoStrategy();
+}
@@ -2,8 +2,10 @@ package templatemethod;
 
 import builder.TabletopProduct;
 import flyweight.TabletopFlyweightConcreteCreator;
+import log.Log;
 
 public abstract class AbstractBoardDivider {
+    private static final Log LOG = Log.get(AbstractBoardDivider.class);
 
   
     public final void divideBoard(TabletopProduct board, TabletopFlyweightConcreteCreator flyFactory) {
@@ -15,7 +17,7 @@ public abstract class AbstractBoardDivider {
     
     
     protected void setInitialDivision(TabletopProduct board) {
-        System.out.println("Iniciando divisão do tabuleiro.");
+        LOG.info("Iniciando divisão do tabuleiro.");
     }
   
     protected abstract void addWhiteSide(TabletopProduct board, TabletopFlyweightConcreteCreator flyFactory);
@@ -25,6 +27,6 @@ public abstract class AbstractBoardDivider {
     
    
     protected void finalizeDivision(TabletopProduct board) {
-        System.out.println("Divisão do tabuleiro concluída.");
+        LOG.info("Divisão do tabuleiro concluída.");
     }
 }
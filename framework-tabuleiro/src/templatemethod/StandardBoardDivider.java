@@ -3,8 +3,10 @@ package templatemethod;
 import builder.TabletopProduct;
 import composite.TabletopComposite;
 import flyweight.TabletopFlyweightConcreteCreator;
+import log.Log;
 
 public class StandardBoardDivider extends AbstractBoardDivider {
+    private static final Log LOG = Log.get(StandardBoardDivider.class);
 
     @Override
     protected void addWhiteSide(TabletopProduct board, TabletopFlyweightConcreteCreator flyFactory) {
@@ -14,7 +16,7 @@ public class StandardBoardDivider extends AbstractBoardDivider {
         whiteSide.add(flyFactory.getFlyweight("Branco2"), 0, 1);
         // Adiciona o lado branco à lista de componentes do tabuleiro
         board.getTiles().add(whiteSide);
-        System.out.println("Adicionado o lado branco ao tabuleiro.");
+        LOG.info("Adicionado o lado branco ao tabuleiro.");
     }
 
     @Override
@@ -24,6 +26,6 @@ public class StandardBoardDivider extends AbstractBoardDivider {
         blackSide.add(flyFactory.getFlyweight("Preto1"), 1, 0);
         blackSide.add(flyFactory.getFlyweight("Preto2"), 1, 1);
         board.getTiles().add(blackSide);
-        System.out.println("Adicionado o lado preto ao tabuleiro.");
+        LOG.info("Adicionado o lado preto ao tabuleiro.");
     }
 }
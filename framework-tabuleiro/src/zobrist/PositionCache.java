@@ -0,0 +1,46 @@
+package zobrist;
+
+import java.util.Arrays;
+
+/**
+ * Cache de tamanho fixo indexado pela chave Zobrist da posição.
+ * Mapeamento direto (a chave escolhe o slot); uma colisão substitui a entrada anterior,
+ * então o consumo de memória não cresce com o número de posições vistas.
+ */
+public class PositionCache<V> {
+    private final long[] keys;
+    private final Object[] values;
+    private final int mask;
+
+    /** @param capacity arredondada para a próxima potência de dois */
+    public PositionCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.keys = new long[size];
+        this.values = new Object[size];
+        this.mask = size - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int i = index(key);
+        return values[i] != null && keys[i] == key ? (V) values[i] : null;
+    }
+
+    public void put(long key, V value) {
+        int i = index(key);
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    private int index(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
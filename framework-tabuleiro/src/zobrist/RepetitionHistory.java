@@ -0,0 +1,80 @@
+package zobrist;
+
+import java.util.Arrays;
+
+/**
+ * Histórico circular das chaves de posição, uma por lance, para detectar repetições.
+ * Um contador por balde (bits baixos da chave) responde em O(1) quando a posição certamente
+ * não se repetiu; só quando o balde atinge o limite o anel é percorrido para confirmar.
+ * Quando o anel enche, a posição mais antiga é descartada.
+ */
+public class RepetitionHistory {
+    private static final int BUCKETS = 1 << 12;
+
+    private final long[] ring;
+    private final int[] bucketCounts = new int[BUCKETS];
+    private int head;
+    private int size;
+
+    public RepetitionHistory() {
+        this(4096);
+    }
+
+    public RepetitionHistory(int capacity) {
+        this.ring = new long[capacity];
+    }
+
+    public void push(long key) {
+        if (size == ring.length) {
+            bucketCounts[bucket(ring[head])]--;
+            size--;
+        }
+        ring[head] = key;
+        head = (head + 1) % ring.length;
+        size++;
+        bucketCounts[bucket(key)]++;
+    }
+
+    /** Remove a posição mais recente (usado no undo). */
+    public void pop() {
+        if (size == 0) return;
+        head = (head - 1 + ring.length) % ring.length;
+        size--;
+        bucketCounts[bucket(ring[head])]--;
+    }
+
+    public long last() {
+        if (size == 0) throw new IllegalStateException("Histórico de posições vazio");
+        return ring[(head - 1 + ring.length) % ring.length];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        Arrays.fill(bucketCounts, 0);
+    }
+
+    /** Verifica se a chave aparece pelo menos {@code times} vezes no histórico. */
+    public boolean isRepeated(long key, int times) {
+        if (bucketCounts[bucket(key)] < times) return false;
+        int found = 0;
+        for (int i = 0, idx = head; i < size; i++) {
+            idx = (idx - 1 + ring.length) % ring.length;
+            if (ring[idx] == key && ++found >= times) return true;
+        }
+        return false;
+    }
+
+    /** A posição atual ocorreu três vezes. */
+    public boolean isThreefold() {
+        return size > 0 && isRepeated(last(), 3);
+    }
+
+    private static int bucket(long key) {
+        return (int) (key ^ (key >>> 32)) & (BUCKETS - 1);
+    }
+}
@@ -0,0 +1,47 @@
+package zobrist;
+
+import bitboard.Bitboards;
+import context.Peca;
+import context.PlayerSide;
+import enums.PieceKind;
+
+import java.util.SplittableRandom;
+
+/**
+ * Tabela de chaves Zobrist: um long aleatório por (lado, tipo de peça, casa) e um para o lado
+ * a jogar. A chave de uma posição é o XOR das chaves das peças presentes, o que permite
+ * atualizá-la com um XOR por peça colocada ou retirada.
+ * A semente é fixa para que as chaves sejam iguais entre execuções (logs e caches em disco).
+ */
+public final class ZobristKeys {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+    // índice 0 de tipo é reservado para peças sem PieceKind (ex.: NullPiece)
+    private static final long[][][] PIECES =
+        new long[PlayerSide.values().length][PieceKind.values().length + 1][Bitboards.MAX_SQUARES];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[][] side : PIECES) {
+            for (long[] kind : side) {
+                for (int sq = 0; sq < kind.length; sq++) {
+                    kind[sq] = random.nextLong();
+                }
+            }
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private ZobristKeys() {
+    }
+
+    public static long piece(Peca peca, int square) {
+        PieceKind kind = peca.getKind();
+        return PIECES[peca.getSide().ordinal()][kind == null ? 0 : kind.ordinal() + 1][square];
+    }
+
+    /** Chave do lado a jogar; as pretas alteram a chave, as brancas não. */
+    public static long sideToMove(PlayerSide side) {
+        return side == PlayerSide.BLACK ? BLACK_TO_MOVE : 0L;
+    }
+}
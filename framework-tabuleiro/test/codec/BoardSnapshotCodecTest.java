@@ -0,0 +1,113 @@
+package codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import abstractfactory.SelvaPieceFactory;
+import abstractfactory.SelvaPieceFactoryImpl;
+import builder.TabletopProduct;
+import context.Peca;
+import context.PlayerSide;
+import enums.PieceKind;
+import facade.GameFacade;
+import fixture.SelvaFixture;
+import state.BloqueadaState;
+
+/** Snapshot das peças: ida e volta pelo codec preserva tipo, lado, casa, estado e lado a jogar. */
+class BoardSnapshotCodecTest {
+    private static final SelvaPieceFactory PIECES = new SelvaPieceFactoryImpl();
+
+    private GameFacade facade;
+    private TabletopProduct board;
+
+    @BeforeEach
+    void setUp() {
+        facade = SelvaFixture.newGame();
+        board = facade.getBoard();
+        board.clearPieces();
+        for (PlayerSide side : PlayerSide.values()) {
+            for (PieceKind kind : PieceKind.values()) {
+                board.placePiece(PIECES.create(kind.getNome(), side));
+            }
+        }
+        board.getPieceAt(0, 2).setState(new BloqueadaState());
+    }
+
+    @AfterEach
+    void tearDown() {
+        facade.close();
+    }
+
+    @Test
+    void roundTripKeepsEveryPiece() {
+        byte[] snapshot = BoardSnapshotCodec.toBytes(board, PlayerSide.BLACK);
+        assertEquals(3 + 2 * 16, snapshot.length, "2 bytes por peça do Selva");
+        assertEquals(PlayerSide.BLACK, BoardSnapshotCodec.sideToMove(snapshot));
+
+        TabletopProduct target = board.emptyCopy();
+        assertEquals(PlayerSide.BLACK, BoardSnapshotCodec.decode(snapshot, target, PIECES));
+        assertSamePieces(board, target);
+        assertEquals(board.getPositionKey(PlayerSide.BLACK), target.getPositionKey(PlayerSide.BLACK));
+    }
+
+    @Test
+    void encodeWritesFromTheBufferPosition() {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + BoardSnapshotCodec.MAX_SNAPSHOT_BYTES);
+        buffer.position(8);
+        int written = BoardSnapshotCodec.encode(board, PlayerSide.WHITE, buffer);
+        assertEquals(BoardSnapshotCodec.toBytes(board, PlayerSide.WHITE).length, written);
+        assertEquals(8 + written, buffer.position());
+
+        buffer.flip().position(8);
+        TabletopProduct target = board.emptyCopy();
+        assertEquals(PlayerSide.WHITE, BoardSnapshotCodec.decode(buffer, target, PIECES));
+        assertFalse(buffer.hasRemaining(), "a decodificação lê exatamente o snapshot");
+        assertSamePieces(board, target);
+    }
+
+    @Test
+    void copyHasItsOwnPieces() {
+        TabletopProduct copy = BoardSnapshotCodec.copy(board);
+        assertSamePieces(board, copy);
+        Peca original = board.getPieceAt(6, 2);
+        Peca copied = copy.getPieceAt(6, 2);
+        assertNotSame(original, copied);
+
+        copy.movePiece(copied, 6, 2, 6, 3);
+        assertNull(copy.getPieceAt(6, 2));
+        assertEquals(original, board.getPieceAt(6, 2), "a cópia não altera o original");
+    }
+
+    @Test
+    void unknownVersionIsRejected() {
+        byte[] snapshot = BoardSnapshotCodec.toBytes(board, PlayerSide.WHITE);
+        snapshot[0] = 99;
+        assertThrows(IllegalArgumentException.class,
+                     () -> BoardSnapshotCodec.decode(snapshot, board.emptyCopy(), PIECES));
+    }
+
+    private static void assertSamePieces(TabletopProduct expected, TabletopProduct actual) {
+        assertEquals(expected.getOccupancy(), actual.getOccupancy());
+        assertEquals(expected.getPieceCount(), actual.getPieceCount());
+        for (int square = 0; square < expected.getWidth() * expected.getHeight(); square++) {
+            Peca e = expected.getPieceAtSquare(square);
+            if (e == null) continue;
+            Peca a = actual.getPieceAtSquare(square);
+            assertEquals(e.getKind(), a.getKind(), "tipo na casa " + square);
+            assertEquals(e.getSide(), a.getSide(), "lado na casa " + square);
+            assertEquals(e.getState() instanceof BloqueadaState, a.getState() instanceof BloqueadaState,
+                         "estado na casa " + square);
+        }
+        assertTrue(actual.getPieceAt(0, 2).getState() instanceof BloqueadaState);
+    }
+}
@@ -0,0 +1,109 @@
+package command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import builder.TabletopProduct;
+import context.Peca;
+import facade.GameFacade;
+import fixture.SelvaFixture;
+import observer.TabletopConcreteSubject;
+
+/** Histórico de undo e de posições do invoker. */
+class CommandInvokerTest {
+    private GameFacade facade;
+    private TabletopProduct board;
+    private final TabletopConcreteSubject subject = new TabletopConcreteSubject("teste");
+
+    @BeforeEach
+    void setUp() {
+        facade = SelvaFixture.newGame();
+        board = facade.getBoard();
+    }
+
+    @AfterEach
+    void tearDown() {
+        facade.close();
+    }
+
+    @Test
+    void positionsShareTheUndoCapacity() {
+        CommandInvoker invoker = new CommandInvoker(2);
+        invoker.resetPositions(board.getZobristKey());
+        long[] keys = new long[3];
+        for (int i = 0; i < keys.length; i++) {
+            assertTrue(invoker.executeCommand(move(6, 2 + i, 6, 3 + i)));
+            invoker.recordPosition(keys[i] = board.getZobristKey());
+        }
+
+        // duas jogadas desfazíveis mais a posição de onde elas partem
+        assertEquals(2, invoker.getHistorySize());
+        assertEquals(3, invoker.getPositions().size());
+
+        invoker.undo();
+        invoker.undo();
+        assertEquals(0, invoker.getHistorySize());
+        assertEquals(1, invoker.getPositions().size());
+        assertEquals(keys[0], invoker.getPositions().last());
+        assertEquals(keys[0], board.getZobristKey());
+    }
+
+    @Test
+    void rejectedMoveOnAFullLogKeepsTheHistory() {
+        CommandInvoker invoker = new CommandInvoker(2);
+        long start = board.getZobristKey();
+        assertTrue(invoker.executeCommand(move(6, 2, 6, 3)));
+        assertTrue(invoker.executeCommand(move(6, 3, 6, 4)));
+
+        // o Elefante não anda duas casas: a estratégia recusa com o anel já cheio
+        assertFalse(invoker.executeCommand(move(6, 4, 6, 6)));
+
+        assertEquals(2, invoker.getHistorySize());
+        invoker.undo();
+        invoker.undo();
+        assertEquals(start, board.getZobristKey());
+        assertEquals("Elefante", board.getPieceAt(6, 2).getNome());
+    }
+
+    @Test
+    void failedAppendRollsTheMoveBack() {
+        CommandInvoker invoker = new CommandInvoker(2);
+        assertTrue(invoker.executeCommand(move(6, 2, 6, 3)));
+        long before = board.getZobristKey();
+
+        CommandLog failing = new CommandLog() {
+            @Override public void append(Command command) {
+                throw new UncheckedIOException(new IOException("disco cheio"));
+            }
+            @Override public void flush() { }
+            @Override public void close() { }
+        };
+        assertThrows(UncheckedIOException.class,
+                     () -> invoker.executeCommand(move(6, 3, 6, 4, failing)));
+
+        assertEquals(before, board.getZobristKey(), "a jogada não registrada é desfeita");
+        assertNull(board.getPieceAt(6, 4));
+        assertEquals(1, invoker.getHistorySize(), "o registro pendente é descartado");
+        invoker.undo();
+        assertEquals("Elefante", board.getPieceAt(6, 2).getNome());
+    }
+
+    private MoverPecaCommand move(int ox, int oy, int dx, int dy) {
+        return move(ox, oy, dx, dy, CommandLog.DISCARD);
+    }
+
+    private MoverPecaCommand move(int ox, int oy, int dx, int dy, CommandLog log) {
+        Peca peca = board.getPieceAt(ox, oy);
+        return new MoverPecaCommand(peca, board, ox, oy, dx, dy, subject, log);
+    }
+}
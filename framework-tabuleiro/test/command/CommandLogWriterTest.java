@@ -0,0 +1,86 @@
+package command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import builder.TabletopProduct;
+import facade.GameFacade;
+import fixture.SelvaFixture;
+import observer.TabletopConcreteSubject;
+
+/** Lotes do log de comandos em texto e o comportamento depois de um erro de gravação. */
+class CommandLogWriterTest {
+    @TempDir
+    Path dir;
+
+    private GameFacade facade;
+    private MoverPecaCommand command;
+
+    @BeforeEach
+    void setUp() {
+        facade = SelvaFixture.newGame();
+        TabletopProduct board = facade.getBoard();
+        command = new MoverPecaCommand(board.getPieceAt(6, 2), board, 6, 2, 6, 3,
+                                       new TabletopConcreteSubject("teste"), CommandLog.DISCARD);
+    }
+
+    @AfterEach
+    void tearDown() {
+        facade.close();
+    }
+
+    @Test
+    void writesInBatches() throws IOException {
+        Path file = dir.resolve("command.log");
+        try (CommandLogWriter writer = new CommandLogWriter(file, CommandLogWriter.Durability.NO_FSYNC, 2, 0)) {
+            writer.append(command);
+            assertEquals(0, Files.size(file), "primeira linha ainda no lote");
+            writer.append(command);
+            assertEquals(List.of(command.serialize(), command.serialize()), Files.readAllLines(file));
+            writer.append(command);
+        }
+        assertEquals(3, Files.readAllLines(file).size(), "close grava o lote incompleto");
+    }
+
+    @Test
+    void writeErrorDropsTheBatchAndDisablesTheLog() throws IOException {
+        Path file = dir.resolve("command.log");
+        CommandLogWriter writer = new CommandLogWriter(file, CommandLogWriter.Durability.NO_FSYNC, 100, 0);
+        writer.append(command);
+        // uma interrupção durante a escrita fecha o canal (ClosedByInterruptException)
+        Thread.currentThread().interrupt();
+        try {
+            writer.flush();
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertTrue(writer.isFailed());
+        assertThrows(UncheckedIOException.class, () -> writer.append(command));
+        writer.flush();
+        writer.close();
+        assertEquals(0, Files.size(file));
+    }
+
+    @Test
+    void healthyWriterIsNotFailed() {
+        try (CommandLogWriter writer = new CommandLogWriter(dir.resolve("command.log"))) {
+            writer.append(command);
+            writer.flush();
+            assertFalse(writer.isFailed());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Backpressure das assinaturas, filtro por partida e espera das threads sem eventos. */
+class EventBusTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private EventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) bus.close();
+    }
+
+    @Test
+    void dropOldestNeverHoldsTheProducer() throws InterruptedException {
+        bus = new EventBus(8);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = new ArrayList<>();
+        Subscription<StateRestored> subscription = bus.subscribe(StateRestored.class, event -> {
+            awaitQuietly(release);
+            received.add(event.gameId());
+        }, Backpressure.DROP_OLDEST);
+
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            for (int i = 0; i < 100; i++) bus.publish(restored(i));
+        }, "o consumidor parado não segura o produtor");
+        release.countDown();
+        subscription.close();
+
+        assertTrue(subscription.getDroppedCount() > 0, "o consumidor ficou mais de uma volta atrás");
+        assertEquals(100, received.size() + subscription.getDroppedCount(), "cada evento foi entregue ou contado como perdido");
+        assertEquals(99, received.get(received.size() - 1), "o último evento chega");
+    }
+
+    @Test
+    void blockHoldsTheProducerUntilTheConsumerCatchesUp() throws InterruptedException {
+        bus = new EventBus(4);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = new ArrayList<>();
+        Subscription<StateRestored> subscription = bus.subscribe(StateRestored.class, event -> {
+            awaitQuietly(release);
+            received.add(event.gameId());
+        }, Backpressure.BLOCK);
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 10; i++) bus.publish(restored(i));
+        });
+        producer.start();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (bus.cursor() < bus.capacity() && System.nanoTime() < deadline) Thread.sleep(1);
+        producer.join(50);
+        assertTrue(producer.isAlive(), "o produtor espera uma casa livre");
+        assertEquals(bus.capacity(), bus.cursor(), "nenhuma casa além de uma volta do ring");
+        assertFalse(bus.tryPublish(restored(-1)), "tryPublish não espera");
+        assertEquals(1, bus.getRejectedCount());
+
+        release.countDown();
+        producer.join(TIMEOUT.toMillis());
+        assertFalse(producer.isAlive());
+        subscription.close();
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), received);
+        assertEquals(0, subscription.getDroppedCount());
+    }
+
+    @Test
+    void subscriptionOnlySeesItsGame() throws InterruptedException {
+        bus = new EventBus(16);
+        List<String> received = new ArrayList<>();
+        Subscription<GameEvent> subscription = bus.subscribe(GameEvent.class, 1,
+            event -> received.add(event.description()), Backpressure.BLOCK);
+
+        bus.publish(new StateRestored(1, "a"));
+        bus.publish(new StateRestored(2, "b"));
+        bus.publish(new BoardConfigured(1, "c"));
+        bus.publish(new BoardConfigured(3, "d"));
+        subscription.close();
+
+        assertEquals(List.of("a", "c"), received);
+        assertEquals(1, subscription.getGameId());
+    }
+
+    @Test
+    void idleSubscriptionParksUntilAnEventForIt() throws InterruptedException {
+        bus = new EventBus(16);
+        CountDownLatch delivered = new CountDownLatch(1);
+        Subscription<StateRestored> subscription = bus.subscribe(StateRestored.class, 7,
+            event -> delivered.countDown(), Backpressure.DROP_OLDEST);
+        Thread thread = subscription.thread();
+        assertEquals("event-StateRestored-7", thread.getName());
+
+        awaitState(thread, Thread.State.WAITING);
+        bus.publish(restored(8));
+        Thread.sleep(20);
+        assertEquals(Thread.State.WAITING, thread.getState(), "evento de outra partida não acorda a assinatura");
+        assertEquals(1, delivered.getCount());
+
+        bus.publish(restored(7));
+        assertTrue(delivered.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        subscription.close();
+        assertFalse(thread.isAlive());
+    }
+
+    @Test
+    void eventsReachTheSubscriptionsOfTheirGame() throws InterruptedException {
+        bus = new EventBus(16);
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        List<Integer> all = new ArrayList<>();
+        Subscription<StateRestored> one = bus.subscribe(StateRestored.class, 1,
+            event -> first.add(event.gameId()), Backpressure.BLOCK);
+        Subscription<StateRestored> two = bus.subscribe(StateRestored.class, 2,
+            event -> second.add(event.gameId()), Backpressure.BLOCK);
+        Subscription<StateRestored> every = bus.subscribe(StateRestored.class,
+            event -> all.add(event.gameId()), Backpressure.BLOCK);
+
+        for (int i = 0; i < 6; i++) bus.publish(restored(1 + i % 3));
+        two.close();
+        // sem assinaturas da partida 2, o índice não a tem mais
+        bus.publish(restored(2));
+        bus.publish(restored(1));
+        one.close();
+        every.close();
+
+        assertEquals(List.of(1, 1, 1), first);
+        assertEquals(List.of(2, 2), second);
+        assertEquals(List.of(1, 2, 3, 1, 2, 3, 2, 1), all);
+    }
+
+    private static StateRestored restored(int gameId) {
+        return new StateRestored(gameId, "teste");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // estacionada sem prazo: WAITING, e não TIMED_WAITING como numa espera por intervalos
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (thread.getState() != state && System.nanoTime() < deadline) Thread.sleep(1);
+        assertEquals(state, thread.getState());
+    }
+}
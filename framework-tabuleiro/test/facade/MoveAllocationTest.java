@@ -0,0 +1,76 @@
+package facade;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import context.PlayerSide;
+import fixture.SelvaFixture;
+
+/**
+ * Garante que a jogada não aloca em regime: depois do aquecimento (JIT), executar jogadas pela
+ * fachada não cria nenhum objeto. Mede os bytes alocados pela thread em janelas de jogadas e
+ * exige que alguma janela, dentro do limite de aquecimento, fique em zero.
+ */
+class MoveAllocationTest {
+    private static final int X = 6, Y = 2;
+    // pares de jogadas (ida e volta) por janela medida
+    private static final int ROUND_TRIPS = 10_000;
+    // janelas até desistir do regime (o C2 costuma compilar o caminho em ~200 mil jogadas)
+    private static final int MAX_WINDOWS = 300;
+
+    private com.sun.management.ThreadMXBean threads;
+    private GameFacade facade;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                   "JVM sem medição de alocação por thread");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        facade = SelvaFixture.newGame();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (facade != null) facade.close();
+    }
+
+    @Test
+    void executeMoveDoesNotAllocate() {
+        assertEquals(0, steadyStateBytes(() -> {
+            boolean ida = facade.executeMove("Elefante", PlayerSide.WHITE, X, Y, X, Y + 1);
+            boolean volta = facade.executeMove("Elefante", PlayerSide.WHITE, X, Y + 1, X, Y);
+            assertTrue(ida && volta);
+        }), "bytes alocados por janela de " + 2 * ROUND_TRIPS + " jogadas em regime");
+    }
+
+    @Test
+    void executeMoveAndUndoDoNotAllocate() {
+        assertEquals(0, steadyStateBytes(() -> {
+            assertTrue(facade.executeMove("Elefante", PlayerSide.WHITE, X, Y, X, Y + 1));
+            facade.undo();
+        }), "bytes alocados por janela de " + ROUND_TRIPS + " jogadas desfeitas em regime");
+    }
+
+    /** Menor quantidade de bytes alocados em uma janela, parando na primeira janela sem alocação. */
+    private long steadyStateBytes(Runnable roundTrip) {
+        long thread = Thread.currentThread().getId();
+        long least = Long.MAX_VALUE;
+        for (int window = 0; window < MAX_WINDOWS && least > 0; window++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < ROUND_TRIPS; i++) {
+                roundTrip.run();
+            }
+            least = Math.min(least, threads.getThreadAllocatedBytes(thread) - before);
+        }
+        return least;
+    }
+}
@@ -0,0 +1,78 @@
+package facade;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import context.PlayerSide;
+import enums.PieceKind;
+import fixture.SelvaFixture;
+import journal.MoveRecord;
+
+/** O histórico de repetição acompanha o tabuleiro em todos os caminhos que aplicam jogadas. */
+class PositionHistoryTest {
+    private GameFacade facade;
+
+    @BeforeEach
+    void setUp() {
+        facade = SelvaFixture.newGame();
+    }
+
+    @AfterEach
+    void tearDown() {
+        facade.close();
+    }
+
+    @Test
+    void fastForwardRecordsEveryPosition() {
+        // duas voltas de ida e volta: a posição inicial ocorre pela terceira vez no ply 8
+        int reached = facade.fastForward(shuffle(2).stream(), Integer.MAX_VALUE);
+
+        assertEquals(8, reached);
+        assertEquals(PlayerSide.WHITE, facade.getTurnManager().getCurrentSide());
+        assertTrue(facade.isThreefoldRepetition());
+    }
+
+    @Test
+    void fastForwardKeepsCountingAfterwards() {
+        facade.fastForward(shuffle(1).stream(), Integer.MAX_VALUE);
+        assertFalse(facade.isThreefoldRepetition());
+
+        assertTrue(facade.executeMove("Elefante", PlayerSide.WHITE, 6, 2, 6, 3));
+        assertTrue(facade.executeMove("Leão", PlayerSide.BLACK, 6, 8, 5, 8));
+        assertTrue(facade.executeMove("Elefante", PlayerSide.WHITE, 6, 3, 6, 2));
+        assertTrue(facade.executeMove("Leão", PlayerSide.BLACK, 5, 8, 6, 8));
+
+        assertTrue(facade.isThreefoldRepetition());
+    }
+
+    @Test
+    void replayRecordsEveryPosition() {
+        int applied = facade.replay(shuffle(2).stream());
+
+        assertEquals(8, applied);
+        assertTrue(facade.isThreefoldRepetition());
+        for (int i = 0; i < applied; i++) facade.undo();
+        assertFalse(facade.isThreefoldRepetition());
+    }
+
+    // o Elefante branco e o Leão preto vão uma casa e voltam, {@code rounds} vezes
+    private static List<MoveRecord> shuffle(int rounds) {
+        List<MoveRecord> moves = new ArrayList<>();
+        for (int round = 0; round < rounds; round++) {
+            int ply = round * 4;
+            moves.add(new MoveRecord(0, ply, PieceKind.ELEFANTE, PlayerSide.WHITE, 6, 2, 6, 3));
+            moves.add(new MoveRecord(0, ply + 1, PieceKind.LEAO, PlayerSide.BLACK, 6, 8, 5, 8));
+            moves.add(new MoveRecord(0, ply + 2, PieceKind.ELEFANTE, PlayerSide.WHITE, 6, 3, 6, 2));
+            moves.add(new MoveRecord(0, ply + 3, PieceKind.LEAO, PlayerSide.BLACK, 5, 8, 6, 8));
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,158 @@
+package facade;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import checkpoint.CheckpointManager;
+import context.PlayerSide;
+import fixture.SelvaFixture;
+import journal.MoveJournal;
+
+/** Checkpoints gravados durante a partida e a recuperação a partir deles e do journal. */
+class RecoveryTest {
+    // segmentos pequenos para a compactação remover jogadas já cobertas
+    private static final int SEGMENT_RECORDS = 4;
+
+    @TempDir
+    Path dir;
+
+    private MoveJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = MoveJournal.open(dir, SEGMENT_RECORDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void recoversFromTheCheckpointAfterCompaction() {
+        int gameId = journal.newGameId();
+        GameFacade original = SelvaFixture.newGame(journal.forGame(gameId));
+        try (CheckpointManager checkpoints = new CheckpointManager(journal, 4, Long.MAX_VALUE)) {
+            original.enableCheckpoints(checkpoints);
+            play(original);
+            checkpoints.awaitWrites();
+            assertEquals(8, checkpoints.coveredPly(gameId), "checkpoints nos plies 4 e 8");
+            assertEquals(2, checkpoints.compact(), "os segmentos dos plies 0-7 estão cobertos");
+        }
+
+        GameFacade recovered = SelvaFixture.newGame(journal.forGame(gameId));
+        try (CheckpointManager checkpoints = new CheckpointManager(journal)) {
+            assertEquals(10, recovered.recover(checkpoints));
+        }
+        assertSamePosition(original, recovered);
+        original.close();
+        recovered.close();
+    }
+
+    @Test
+    void recoversFromTheJournalWithoutCheckpoint() {
+        int gameId = journal.newGameId();
+        GameFacade original = SelvaFixture.newGame(journal.forGame(gameId));
+        try (CheckpointManager checkpoints = new CheckpointManager(journal)) {
+            original.enableCheckpoints(checkpoints);
+            play(original);
+            checkpoints.awaitWrites();
+            assertEquals(0, checkpoints.coveredPly(gameId), "menos jogadas que o intervalo");
+        }
+
+        GameFacade recovered = SelvaFixture.newGame(journal.forGame(gameId));
+        try (CheckpointManager checkpoints = new CheckpointManager(journal)) {
+            assertEquals(10, recovered.recover(checkpoints));
+        }
+        assertSamePosition(original, recovered);
+        original.close();
+        recovered.close();
+    }
+
+    @Test
+    void undoneMoveIsNotRecovered() {
+        int gameId = journal.newGameId();
+        GameFacade original = SelvaFixture.newGame(journal.forGame(gameId));
+        assertTrue(original.executeMove("Elefante", PlayerSide.WHITE, 6, 2, 6, 1));
+        original.undo();
+        assertEquals(0, journal.plies(gameId), "o undo volta o journal um ply");
+        assertTrue(original.executeMove("Elefante", PlayerSide.WHITE, 6, 2, 6, 3));
+        assertEquals(1, journal.plies(gameId));
+        long key = original.getBoard().getPositionKey(PlayerSide.BLACK);
+        original.close();
+
+        // ao reabrir, o índice é refeito com o registro do undo
+        journal.close();
+        journal = MoveJournal.open(dir, SEGMENT_RECORDS);
+        assertEquals(1, journal.plies(gameId));
+        GameFacade recovered = SelvaFixture.newGame(journal.forGame(gameId));
+        try (CheckpointManager checkpoints = new CheckpointManager(journal)) {
+            assertEquals(1, recovered.recover(checkpoints));
+        }
+        assertEquals("Elefante", recovered.getBoard().getPieceAt(6, 3).getNome());
+        assertNull(recovered.getBoard().getPieceAt(6, 1));
+        assertEquals(key, recovered.getBoard().getPositionKey(PlayerSide.BLACK));
+        recovered.close();
+    }
+
+    @Test
+    void undoRetakesTheCheckpointThatCoveredTheMove() {
+        int gameId = journal.newGameId();
+        GameFacade original = SelvaFixture.newGame(journal.forGame(gameId));
+        try (CheckpointManager checkpoints = new CheckpointManager(journal, 4, Long.MAX_VALUE)) {
+            original.enableCheckpoints(checkpoints);
+            assertTrue(original.executeMove("Elefante", PlayerSide.WHITE, 6, 2, 6, 1));
+            assertTrue(original.executeMove("Leão", PlayerSide.BLACK, 6, 8, 6, 7));
+            assertTrue(original.executeMove("Elefante", PlayerSide.WHITE, 6, 1, 5, 1));
+            assertTrue(original.executeMove("Leão", PlayerSide.BLACK, 6, 7, 5, 7));
+            checkpoints.awaitWrites();
+            assertEquals(4, checkpoints.coveredPly(gameId));
+
+            // o checkpoint do ply 4 tem a jogada desfeita: é refeito no ply 3
+            original.undo();
+            assertEquals(3, checkpoints.coveredPly(gameId));
+            assertTrue(original.executeMove("Leão", PlayerSide.BLACK, 6, 7, 6, 6));
+            checkpoints.awaitWrites();
+            assertEquals(3, checkpoints.coveredPly(gameId), "uma jogada depois do checkpoint refeito");
+        }
+
+        GameFacade recovered = SelvaFixture.newGame(journal.forGame(gameId));
+        try (CheckpointManager checkpoints = new CheckpointManager(journal)) {
+            assertEquals(4, recovered.recover(checkpoints));
+        }
+        assertEquals("Leão", recovered.getBoard().getPieceAt(6, 6).getNome());
+        assertNull(recovered.getBoard().getPieceAt(5, 7));
+        assertEquals(original.getBoard().getPositionKey(PlayerSide.WHITE),
+                     recovered.getBoard().getPositionKey(PlayerSide.WHITE));
+        original.close();
+        recovered.close();
+    }
+
+    // dez jogadas sem repetir posição: Elefante até (4,1) e Leão até (4,7)
+    private static void play(GameFacade game) {
+        int[][] white = {{6, 2}, {6, 1}, {5, 1}, {5, 0}, {4, 0}, {4, 1}};
+        int[][] black = {{6, 8}, {6, 7}, {5, 7}, {5, 8}, {4, 8}, {4, 7}};
+        for (int i = 0; i < 5; i++) {
+            assertTrue(game.executeMove("Elefante", PlayerSide.WHITE,
+                white[i][0], white[i][1], white[i + 1][0], white[i + 1][1]));
+            assertTrue(game.executeMove("Leão", PlayerSide.BLACK,
+                black[i][0], black[i][1], black[i + 1][0], black[i + 1][1]));
+        }
+    }
+
+    private static void assertSamePosition(GameFacade expected, GameFacade actual) {
+        assertEquals("Elefante", actual.getBoard().getPieceAt(4, 1).getNome());
+        assertEquals("Leão", actual.getBoard().getPieceAt(4, 7).getNome());
+        assertEquals(PlayerSide.WHITE, actual.getTurnManager().getCurrentSide(), "a última jogada foi das pretas");
+        assertEquals(expected.getBoard().getPositionKey(PlayerSide.WHITE),
+                     actual.getBoard().getPositionKey(PlayerSide.WHITE));
+    }
+}
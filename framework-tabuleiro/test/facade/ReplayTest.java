@@ -0,0 +1,70 @@
+package facade;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import context.PlayerSide;
+import fixture.SelvaFixture;
+import journal.MoveJournal;
+import journal.MoveRecord;
+
+/** Jogadas reexecutadas de um log não são registradas de novo em lugar nenhum. */
+class ReplayTest {
+    // destino do store() de comandos sem log
+    private static final Path LEGACY_LOG = Paths.get("command.log");
+
+    @TempDir
+    Path dir;
+
+    private MoveJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = MoveJournal.open(dir.resolve("journal"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void replayedGameIsNotLoggedAgain() throws IOException {
+        GameFacade original = new GameFacade(journal, journal.newGameId());
+        SelvaFixture.setup(original);
+        assertTrue(original.executeMove("Elefante", PlayerSide.WHITE, 6, 2, 6, 1));
+        assertTrue(original.executeMove("Leão", PlayerSide.BLACK, 6, 8, 6, 7));
+        assertTrue(original.executeMove("Elefante", PlayerSide.WHITE, 6, 1, 5, 1));
+        assertEquals(3, journal.plies(original.getGameId()));
+
+        GameFacade copy = new GameFacade(journal, journal.newGameId());
+        SelvaFixture.setup(copy);
+        long legacyBefore = Files.exists(LEGACY_LOG) ? Files.size(LEGACY_LOG) : -1;
+
+        int applied;
+        try (Stream<MoveRecord> moves = journal.read(original.getGameId(), 0)) {
+            applied = copy.replay(moves);
+        }
+
+        assertEquals(3, applied);
+        assertEquals("Elefante", copy.getBoard().getPieceAt(5, 1).getNome());
+        assertEquals("Leão", copy.getBoard().getPieceAt(6, 7).getNome());
+        assertEquals(legacyBefore, Files.exists(LEGACY_LOG) ? Files.size(LEGACY_LOG) : -1,
+                     "replay não escreve no command.log");
+        assertEquals(0, journal.plies(copy.getGameId()), "replay não grava de novo no journal");
+        assertEquals(3, journal.plies(original.getGameId()));
+        original.close();
+        copy.close();
+    }
+}
@@ -0,0 +1,158 @@
+package facade;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import builder.TabletopProduct;
+import command.Command;
+import command.CommandLog;
+import context.PlayerSide;
+import fixture.SelvaFixture;
+import movegen.MoveBuffer;
+
+/** Jogadas condicionadas à versão do tabuleiro (compare-and-set). */
+class VersionedMoveTest {
+    private GameFacade facade;
+    private TabletopProduct board;
+
+    @BeforeEach
+    void setUp() {
+        facade = SelvaFixture.newGame();
+        board = facade.getBoard();
+    }
+
+    @AfterEach
+    void tearDown() {
+        facade.close();
+    }
+
+    @Test
+    void currentVersionMovesAndAdvancesTheVersion() {
+        long version = board.getVersion();
+        assertTrue(facade.executeMove(version, "Elefante", PlayerSide.WHITE, 6, 2, 6, 3));
+        assertEquals(version + 1, board.getVersion());
+        assertEquals("Elefante", board.getPieceAt(6, 3).getNome());
+    }
+
+    @Test
+    void staleVersionLeavesTheBoardUnchanged() {
+        long stale = board.getVersion();
+        assertTrue(facade.executeMove("Leão", PlayerSide.BLACK, 6, 8, 6, 7));
+        long version = board.getVersion();
+        long key = facade.getPositionKey();
+
+        assertFalse(facade.executeMove(stale, "Elefante", PlayerSide.WHITE, 6, 2, 6, 3));
+        assertEquals(version, board.getVersion());
+        assertEquals(key, facade.getPositionKey());
+        assertEquals("Elefante", board.getPieceAt(6, 2).getNome());
+        assertNull(board.getPieceAt(6, 3));
+
+        facade.undo();
+        assertEquals("Leão", board.getPieceAt(6, 8).getNome(), "o undo desfaz a última jogada aceita");
+        assertEquals("Elefante", board.getPieceAt(6, 2).getNome());
+    }
+
+    @Test
+    void repeatedSubmissionIsAppliedOnce() {
+        long version = board.getVersion();
+        assertTrue(facade.executeMove(version, "Elefante", PlayerSide.WHITE, 6, 2, 6, 3));
+        assertFalse(facade.executeMove(version, "Elefante", PlayerSide.WHITE, 6, 3, 6, 2),
+                    "o reenvio com a versão antiga é recusado");
+        assertEquals("Elefante", board.getPieceAt(6, 3).getNome());
+    }
+
+    @Test
+    void failedAppendStillAdvancesTheVersion() {
+        CommandLog failing = new CommandLog() {
+            @Override public void append(Command command) {
+                throw new UncheckedIOException(new IOException("disco cheio"));
+            }
+            @Override public void flush() { }
+            @Override public void close() { }
+        };
+        GameFacade game = SelvaFixture.newGame(failing);
+        try {
+            TabletopProduct gameBoard = game.getBoard();
+            long version = gameBoard.getVersion();
+            long key = game.getPositionKey();
+
+            assertThrows(UncheckedIOException.class,
+                         () -> game.executeMove(version, "Elefante", PlayerSide.WHITE, 6, 2, 6, 3));
+            assertEquals("Elefante", gameBoard.getPieceAt(6, 2).getNome(), "a jogada foi revertida");
+            assertNull(gameBoard.getPieceAt(6, 3));
+            assertEquals(key, game.getPositionKey());
+            // o tabuleiro foi alterado e revertido: quem leu no meio não pode confirmar com a versão antiga
+            assertTrue(gameBoard.getVersion() > version);
+            assertFalse(game.executeMove(version, "Elefante", PlayerSide.WHITE, 6, 2, 6, 3));
+        } finally {
+            game.close();
+        }
+    }
+
+    @Test
+    void concurrentMovesOnTheSameVersionOnlyOneWins() throws InterruptedException {
+        long version = board.getVersion();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger moved = new AtomicInteger();
+        Thread white = new Thread(() -> {
+            awaitQuietly(start);
+            if (facade.executeMove(version, "Elefante", PlayerSide.WHITE, 6, 2, 6, 3)) moved.incrementAndGet();
+        });
+        Thread black = new Thread(() -> {
+            awaitQuietly(start);
+            if (facade.executeMove(version, "Leão", PlayerSide.BLACK, 6, 8, 6, 7)) moved.incrementAndGet();
+        });
+        white.start();
+        black.start();
+        start.countDown();
+        white.join();
+        black.join();
+
+        assertEquals(1, moved.get());
+        assertEquals(version + 1, board.getVersion());
+        boolean whiteMoved = board.getPieceAt(6, 3) != null;
+        boolean blackMoved = board.getPieceAt(6, 7) != null;
+        assertTrue(whiteMoved ^ blackMoved, "só uma das jogadas foi aplicada");
+    }
+
+    @Test
+    void moveQueriesRunUnderTheReadLock() throws Exception {
+        // outra leitura em andamento não segura as consultas, como seguraria a escrita
+        long stamp = board.lockRead();
+        try {
+            CompletableFuture<Integer> generated = CompletableFuture.supplyAsync(
+                () -> facade.generateMoves(PlayerSide.WHITE, new MoveBuffer()));
+            CompletableFuture<Integer> valid = CompletableFuture.supplyAsync(
+                () -> facade.getValidMoves(6, 2).size());
+            assertTrue(generated.get(10, TimeUnit.SECONDS) > 0);
+            assertEquals(3, valid.get(10, TimeUnit.SECONDS), "o Elefante em (6,2) tem três casas livres");
+        } finally {
+            board.unlockRead(stamp);
+        }
+        long version = board.getVersion();
+        facade.getValidMoves(6, 2);
+        assertEquals(version, board.getVersion(), "consultas não mudam a versão");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
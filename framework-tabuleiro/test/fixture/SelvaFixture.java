@@ -0,0 +1,54 @@
+package fixture;
+
+import abstractfactory.SelvaPieceFactory;
+import abstractfactory.SelvaPieceFactoryImpl;
+import builder.TabletopProduct;
+import command.CommandLog;
+import context.Peca;
+import context.PlayerSide;
+import facade.GameFacade;
+import factorymethod.SelvaCellCreator;
+import flyweight.TabletopFlyweightConcreteCreator;
+import singleton.TurnManager;
+
+/**
+ * Partidas para os testes: tabuleiro Selva 7x9 padrão com turno próprio e log de comandos
+ * descartado. O log de diagnóstico é desligado para todos os testes pelo surefire
+ * ({@code selva.log.level=OFF} no pom).
+ */
+public final class SelvaFixture {
+    private static final SelvaPieceFactory PIECES = new SelvaPieceFactoryImpl();
+
+    private SelvaFixture() {
+    }
+
+    /** Partida nova cujas jogadas não são registradas em lugar nenhum. */
+    public static GameFacade newGame() {
+        return newGame(CommandLog.DISCARD);
+    }
+
+    /** Partida nova registrada em {@code commandLog}. */
+    public static GameFacade newGame(CommandLog commandLog) {
+        GameFacade facade = new GameFacade(commandLog, TurnManager.newInstance());
+        setup(facade);
+        return facade;
+    }
+
+    /** Monta o tabuleiro Selva padrão em uma fachada já criada. */
+    public static void setup(GameFacade facade) {
+        facade.setupSelva(7, 9,
+                          new SelvaCellCreator(),
+                          new TabletopFlyweightConcreteCreator(),
+                          PIECES);
+    }
+
+    /** Coloca uma peça nova da fábrica em (x, y). */
+    public static Peca place(TabletopProduct board, String nome, PlayerSide side, int x, int y) {
+        Peca peca = PIECES.create(nome, side);
+        peca.setPosition(board.positionOf(board.squareOf(x, y)));
+        if (!board.placePiece(peca)) {
+            throw new IllegalStateException("Casa " + x + "," + y + " ocupada ou fora do tabuleiro");
+        }
+        return peca;
+    }
+}
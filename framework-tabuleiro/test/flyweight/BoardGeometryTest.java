@@ -0,0 +1,146 @@
+package flyweight;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bitboard.Bitboards;
+import builder.TabletopProduct;
+import context.Peca;
+import context.PlayerSide;
+import enums.CellType;
+import facade.GameFacade;
+import fixture.SelvaFixture;
+import strategy.LeaoMovimentoStrategy;
+
+/**
+ * Tabelas de vizinhas e de salto sobre o rio conferidas casa a casa com o terreno do tabuleiro,
+ * e o salto do Leão decidido por elas.
+ */
+class BoardGeometryTest {
+    private static final int[] DIR_X = { 1, -1, 0, 0 };
+    private static final int[] DIR_Y = { 0, 0, 1, -1 };
+
+    private GameFacade facade;
+    private TabletopProduct board;
+    private BoardGeometry geometry;
+
+    @BeforeEach
+    void setUp() {
+        facade = SelvaFixture.newGame();
+        board = facade.getBoard();
+        board.clearPieces();
+        geometry = board.getGeometry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        facade.close();
+    }
+
+    @Test
+    void tablesMatchTheTerrain() {
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                int square = board.squareOf(x, y);
+                long neighbours = 0, land = 0, jumps = 0;
+                for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+                    int nx = x + DIR_X[d], ny = y + DIR_Y[d];
+                    if (board.isWithinBounds(nx, ny)) {
+                        neighbours |= Bitboards.bit(board.squareOf(nx, ny));
+                        if (!isWater(nx, ny)) land |= Bitboards.bit(board.squareOf(nx, ny));
+                    }
+                    int target = expectedJump(x, y, d);
+                    assertEquals(target, geometry.jumpTarget(square, d), "salto de " + x + "," + y + " na direção " + d);
+                    if (target >= 0) {
+                        jumps |= Bitboards.bit(target);
+                        assertEquals(crossedWater(x, y, d), geometry.crossedWater(square, target));
+                    }
+                }
+                assertEquals(neighbours, geometry.neighbours(square), "vizinhas de " + x + "," + y);
+                assertEquals(land, geometry.landNeighbours(square), "vizinhas secas de " + x + "," + y);
+                assertEquals(jumps, geometry.jumpTargets(square), "saltos de " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void riverCrossingsOfTheSelvaBoard() {
+        // coluna 1: três casas de água; linha 3: duas
+        assertEquals(board.squareOf(1, 6), geometry.jumpTarget(board.squareOf(1, 2), 2));
+        assertEquals(board.squareOf(3, 3), geometry.jumpTarget(board.squareOf(0, 3), 0));
+        assertEquals(board.squareOf(0, 3), geometry.jumpTarget(board.squareOf(3, 3), 1));
+        assertEquals(board.squareOf(6, 3), geometry.jumpTarget(board.squareOf(3, 3), 0));
+        assertEquals(-1, geometry.jumpTarget(board.squareOf(3, 2), 2), "coluna 3 não tem água");
+        assertEquals(0, geometry.crossedWater(board.squareOf(3, 2), board.squareOf(3, 4)),
+                     "duas casas em terra não são um salto");
+    }
+
+    @Test
+    void lionJumpsOnlyAcrossTheRiver() {
+        Peca leao = SelvaFixture.place(board, "Leão", PlayerSide.WHITE, 1, 2);
+        LeaoMovimentoStrategy strategy = LeaoMovimentoStrategy.INSTANCE;
+        assertTrue(strategy.podeMover(leao, board, 1, 2, 1, 6));
+        assertFalse(strategy.podeMover(leao, board, 1, 2, 1, 5), "não para na água");
+        assertFalse(strategy.podeMover(leao, board, 1, 2, 1, 4));
+
+        Peca tigre = SelvaFixture.place(board, "Tigre", PlayerSide.WHITE, 3, 2);
+        assertFalse(strategy.podeMover(tigre, board, 3, 2, 3, 4), "duas casas sem rio");
+    }
+
+    @Test
+    void ratInTheRiverBlocksTheJump() {
+        Peca leao = SelvaFixture.place(board, "Leão", PlayerSide.WHITE, 1, 2);
+        SelvaFixture.place(board, "Rato", PlayerSide.WHITE, 1, 4);
+        assertFalse(LeaoMovimentoStrategy.INSTANCE.podeMover(leao, board, 1, 2, 1, 6), "Rato do mesmo lado");
+        board.clearPieces();
+
+        leao = SelvaFixture.place(board, "Leão", PlayerSide.WHITE, 1, 2);
+        SelvaFixture.place(board, "Rato", PlayerSide.BLACK, 2, 4);
+        assertTrue(LeaoMovimentoStrategy.INSTANCE.podeMover(leao, board, 1, 2, 1, 6), "Rato em outra coluna");
+        SelvaFixture.place(board, "Rato", PlayerSide.BLACK, 1, 3);
+        assertFalse(LeaoMovimentoStrategy.INSTANCE.podeMover(leao, board, 1, 2, 1, 6), "Rato inimigo");
+    }
+
+    @Test
+    void jumpLandingFollowsOccupancy() {
+        Peca leao = SelvaFixture.place(board, "Leão", PlayerSide.WHITE, 0, 3);
+        SelvaFixture.place(board, "Gato", PlayerSide.WHITE, 3, 3);
+        assertFalse(LeaoMovimentoStrategy.INSTANCE.podeMover(leao, board, 0, 3, 3, 3), "peça do mesmo lado no destino");
+        board.clearPieces();
+
+        leao = SelvaFixture.place(board, "Leão", PlayerSide.WHITE, 0, 3);
+        SelvaFixture.place(board, "Gato", PlayerSide.BLACK, 3, 3);
+        assertTrue(LeaoMovimentoStrategy.INSTANCE.mover(leao, board, 0, 3, 3, 3, null));
+        assertEquals(leao, board.getPieceAt(3, 3), "o salto captura a peça no destino");
+        assertEquals(1, board.getPieceCount());
+    }
+
+    private boolean isWater(int x, int y) {
+        return board.getCellType(x, y) == CellType.WATER;
+    }
+
+    // primeira casa seca depois de uma faixa de água vizinha, saindo de uma casa seca
+    private int expectedJump(int x, int y, int d) {
+        if (isWater(x, y)) return -1;
+        int nx = x + DIR_X[d], ny = y + DIR_Y[d];
+        if (!board.isWithinBounds(nx, ny) || !isWater(nx, ny)) return -1;
+        while (board.isWithinBounds(nx, ny) && isWater(nx, ny)) {
+            nx += DIR_X[d];
+            ny += DIR_Y[d];
+        }
+        return board.isWithinBounds(nx, ny) ? board.squareOf(nx, ny) : -1;
+    }
+
+    private long crossedWater(int x, int y, int d) {
+        long crossed = 0;
+        for (int nx = x + DIR_X[d], ny = y + DIR_Y[d]; isWater(nx, ny); nx += DIR_X[d], ny += DIR_Y[d]) {
+            crossed |= Bitboards.bit(board.squareOf(nx, ny));
+        }
+        return crossed;
+    }
+}
@@ -0,0 +1,99 @@
+package host;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import context.PlayerSide;
+import journal.GameJournal;
+
+/** Várias partidas no mesmo host: cada uma com o seu turno e o seu log no journal compartilhado. */
+class GameHostTest {
+    private static final int GAMES = 16;
+
+    @TempDir
+    Path dir;
+
+    private GameHost host;
+
+    @BeforeEach
+    void setUp() {
+        host = new GameHost(dir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        host.close();
+    }
+
+    @Test
+    void concurrentSubmitsAcrossGames() throws InterruptedException {
+        List<GameSession> sessions = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++) sessions.add(host.createGame());
+
+        // uma thread por partida, todas enviando ao mesmo tempo
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> players = new ArrayList<>();
+        List<List<CompletableFuture<Boolean>>> results = new ArrayList<>();
+        for (GameSession session : sessions) {
+            List<CompletableFuture<Boolean>> moves = new ArrayList<>();
+            results.add(moves);
+            Thread player = new Thread(() -> {
+                awaitQuietly(start);
+                moves.add(session.submitMove(PlayerSide.WHITE, 6, 2, 6, 3));
+                moves.add(session.submitMove(PlayerSide.BLACK, 6, 8, 6, 7));
+                moves.add(session.submitMove(PlayerSide.WHITE, 6, 3, 6, 4));
+                moves.add(session.submitMove(PlayerSide.BLACK, 6, 7, 6, 6));
+            });
+            players.add(player);
+            player.start();
+        }
+        start.countDown();
+        for (Thread player : players) player.join();
+
+        for (int i = 0; i < GAMES; i++) {
+            GameSession session = sessions.get(i);
+            for (CompletableFuture<Boolean> move : results.get(i)) {
+                assertTrue(move.join(), "partida " + session.getGameId());
+            }
+            int plies = session.submit(f -> ((GameJournal) f.getCommandLog()).getJournal()
+                                             .plies(session.getGameId())).join();
+            assertEquals(4, plies, "jogadas da partida " + session.getGameId() + " no journal");
+            assertEquals("Elefante", session.submit(f -> f.getBoard().getPieceAt(6, 4).getNome()).join());
+            assertEquals("Leão", session.submit(f -> f.getBoard().getPieceAt(6, 6).getNome()).join());
+        }
+        assertEquals(GAMES, host.liveGames());
+    }
+
+    @Test
+    void endGameClosesTheSessionAfterItsActions() {
+        GameSession session = host.createGame();
+        CompletableFuture<Boolean> moved = session.submitMove(PlayerSide.WHITE, 6, 2, 6, 3);
+        host.endGame(session.getGameId()).join();
+
+        assertTrue(moved.join());
+        assertTrue(session.isClosed());
+        assertNull(host.getSession(session.getGameId()));
+        assertThrows(IllegalStateException.class, () -> session.submitMove(PlayerSide.BLACK, 6, 8, 6, 7));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
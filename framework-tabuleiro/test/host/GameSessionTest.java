@@ -0,0 +1,104 @@
+package host;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import context.PlayerSide;
+import fixture.SelvaFixture;
+
+/** Fila de ações da sessão: ordem, falhas das ações e encerramento depois das pendentes. */
+class GameSessionTest {
+    private ExecutorService executor;
+    private GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        session = new GameSession(1, SelvaFixture.newGame(), executor);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        session.close().join();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void actionsRunInSubmissionOrder() {
+        // só as ações da sessão tocam a lista: ela não precisa de sincronização
+        List<Integer> order = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            results.add(session.submit(f -> {
+                order.add(n);
+                return n;
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    void movesFollowTheTurn() {
+        assertFalse(session.submitMove(PlayerSide.BLACK, 6, 8, 6, 7).join(), "as brancas começam");
+        assertTrue(session.submitMove(PlayerSide.WHITE, 6, 2, 6, 3).join());
+        assertFalse(session.submitMove(PlayerSide.WHITE, 6, 3, 6, 4).join(), "vez das pretas");
+        assertTrue(session.submitMove(PlayerSide.BLACK, 6, 8, 6, 7).join());
+        assertEquals(PlayerSide.WHITE, session.getCurrentSide());
+    }
+
+    @Test
+    void failingActionDoesNotStopTheSession() {
+        CompletableFuture<Object> failed = session.submit(f -> {
+            throw new AssertionError("falha da ação");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+        assertTrue(e.getCause() instanceof AssertionError);
+        assertEquals("ok", session.submit(f -> "ok").join(), "a sessão continua drenando a fila");
+    }
+
+    @Test
+    void closeRunsAfterThePendingActions() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocked = session.submit(f -> awaitQuietly(release));
+        CompletableFuture<Boolean> moved = session.submitMove(PlayerSide.WHITE, 6, 2, 6, 3);
+        CompletableFuture<Void> closed = session.close();
+
+        assertTrue(session.isClosed());
+        assertThrows(IllegalStateException.class, () -> session.submit(f -> null));
+        assertFalse(closed.isDone(), "há ações pendentes");
+
+        release.countDown();
+        closed.join();
+        assertTrue(blocked.join());
+        assertTrue(moved.join(), "a jogada enviada antes do close é aplicada");
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import context.PlayerSide;
+import enums.PieceKind;
+import movegen.MoveBuffer;
+import movegen.PackedMove;
+
+/** Índice por partida, leitura, reabertura e compactação do journal com partidas intercaladas. */
+class MoveJournalTest {
+    private static final int WIDTH = 7;
+    private static final int GAMES = 3;
+    private static final int PLIES = 40;
+
+    @TempDir
+    Path dir;
+
+    private MoveJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) journal.close();
+    }
+
+    @Test
+    void seeksEachGameAmongInterleavedRecords() {
+        journal = MoveJournal.open(dir, 16);
+        appendInterleaved();
+
+        for (int game = 0; game < GAMES; game++) {
+            assertEquals(PLIES, journal.plies(game));
+            for (int ply = 0; ply < PLIES; ply++) {
+                assertEquals((long) ply * GAMES + game, journal.positionOf(game, ply));
+            }
+            assertEquals(-1, journal.positionOf(game, PLIES));
+        }
+        assertEquals(-1, journal.positionOf(GAMES, 0));
+    }
+
+    @Test
+    void readsOnlyTheGameFromAnyPly() {
+        journal = MoveJournal.open(dir, 16);
+        appendInterleaved();
+
+        List<MoveRecord> records = journal.read(1, 25).collect(Collectors.toList());
+        assertEquals(PLIES - 25, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            MoveRecord record = records.get(i);
+            assertEquals(1, record.gameId());
+            assertEquals(25 + i, record.ply());
+            assertEquals(move(1, 25 + i), record.toMove(WIDTH));
+        }
+
+        MoveBuffer out = new MoveBuffer();
+        assertEquals(PLIES - 38, journal.read(2, 38, WIDTH, out));
+        assertEquals(move(2, 38), out.get(0));
+        assertEquals(move(2, 39), out.get(1));
+        assertEquals(0, journal.read(2, PLIES, WIDTH, out));
+    }
+
+    @Test
+    void reopeningRebuildsTheIndex() {
+        journal = MoveJournal.open(dir, 16);
+        appendInterleaved();
+        journal.close();
+
+        journal = MoveJournal.open(dir, 16);
+        for (int game = 0; game < GAMES; game++) {
+            assertEquals(PLIES, journal.plies(game));
+            assertEquals((long) 17 * GAMES + game, journal.positionOf(game, 17));
+        }
+        assertEquals(GAMES, journal.newGameId());
+        assertEquals(PLIES, journal.append(0, move(0, PLIES), WIDTH));
+        assertEquals(move(0, PLIES), journal.read(0, PLIES).findFirst().orElseThrow().toMove(WIDTH));
+    }
+
+    @Test
+    void compactionDropsCoveredSegmentsAndKeepsTheRest() throws Exception {
+        journal = MoveJournal.open(dir, 16);
+        appendInterleaved();
+        // 120 registros em segmentos de 16: os plies < 20 de todas as partidas ocupam os 60 primeiros
+        int removed = journal.compact(game -> 20);
+
+        assertEquals(3, removed);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(5, files.count());
+        }
+        // ply 16 de cada partida está na posição 48 + partida (segmento 3, que ficou)
+        for (int game = 0; game < GAMES; game++) {
+            assertEquals(-1, journal.positionOf(game, 15));
+            assertEquals(48L + game, journal.positionOf(game, 16));
+            List<MoveRecord> records = journal.read(game, 0).collect(Collectors.toList());
+            assertTrue(records.isEmpty(), "plies compactados não são lidos");
+            assertEquals(PLIES - 20, journal.read(game, 20).count());
+        }
+
+        journal.close();
+        journal = MoveJournal.open(dir, 16);
+        assertEquals(PLIES, journal.plies(0));
+        assertEquals(48L, journal.positionOf(0, 16));
+        assertEquals(move(0, 39), journal.read(0, 39).findFirst().orElseThrow().toMove(WIDTH));
+    }
+
+    private void appendInterleaved() {
+        for (int ply = 0; ply < PLIES; ply++) {
+            for (int game = 0; game < GAMES; game++) {
+                assertEquals(ply, journal.append(game, move(game, ply), WIDTH));
+            }
+        }
+    }
+
+    // jogada distinta por partida e ply, com casas de um tabuleiro 7x9
+    private static int move(int game, int ply) {
+        int from = (ply + game * 7) % 62;
+        return PackedMove.encode(from, from + 1, PieceKind.values()[game], PlayerSide.values()[ply % 2], null, 0);
+    }
+}
@@ -0,0 +1,72 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** Baldes log-lineares do histograma e os percentis lidos deles. */
+class LatencyHistogramTest {
+    // o último balde recebe também os valores acima de 2^MAX_EXPONENT
+    private static final int LAST = LatencyHistogram.indexOf(Long.MAX_VALUE);
+
+    @Test
+    void smallValuesHaveOneBucketEach() {
+        for (int v = 0; v < LatencyHistogram.SUB_BUCKETS; v++) {
+            assertEquals(v, LatencyHistogram.indexOf(v));
+            assertEquals(v, LatencyHistogram.upperBound(v));
+        }
+    }
+
+    @Test
+    void bucketsAreContiguous() {
+        for (int i = 0; i < LAST; i++) {
+            long upper = LatencyHistogram.upperBound(i);
+            assertEquals(i, LatencyHistogram.indexOf(upper), "limite superior do balde " + i);
+            assertEquals(i + 1, LatencyHistogram.indexOf(upper + 1), "primeiro valor depois do balde " + i);
+        }
+        assertEquals(LAST, LatencyHistogram.indexOf(1L << (LatencyHistogram.MAX_EXPONENT + 1)));
+    }
+
+    @Test
+    void bucketErrorIsAtMostOneSixteenth() {
+        for (long v = 1; v < (1L << LatencyHistogram.MAX_EXPONENT); v = v * 3 + 1) {
+            long upper = LatencyHistogram.upperBound(LatencyHistogram.indexOf(v));
+            assertTrue(upper >= v, "o balde de " + v + " termina em " + upper);
+            assertTrue(upper - v <= v / LatencyHistogram.SUB_BUCKETS, "erro do balde de " + v + ": " + (upper - v));
+        }
+    }
+
+    @Test
+    void percentilesFollowTheRecordedValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(0.99), "sem amostras");
+
+        for (long v = 1; v <= 1000; v++) histogram.record(v * 1000);
+        assertEquals(1000, histogram.getCount());
+        assertWithinBucket(500_000, histogram.getPercentile(0.5));
+        assertWithinBucket(990_000, histogram.getPercentile(0.99));
+        assertEquals(1_000_000, histogram.getPercentile(1.0), "limitado ao máximo registrado");
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500.0, histogram.getMean(), 1e-9);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0.5));
+    }
+
+    @Test
+    void hugeValuesLandInTheLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getPercentile(0.5), "valores negativos contam como zero");
+        assertEquals(LatencyHistogram.upperBound(LAST), histogram.getPercentile(1.0), "limite do último balde");
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(actual >= expected && actual - expected <= expected / LatencyHistogram.SUB_BUCKETS,
+                   "esperado " + expected + ", lido " + actual);
+    }
+}
@@ -0,0 +1,132 @@
+package responsability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bitboard.Bitboards;
+import builder.TabletopProduct;
+import context.Peca;
+import context.PlayerSide;
+import enums.PieceKind;
+import facade.GameFacade;
+import flyweight.BoardGeometry;
+import fixture.SelvaFixture;
+
+/**
+ * O kernel compilado com a {@code CaptureMatrix} decide como a cadeia original de validadores,
+ * e a matriz segue as regras de captura do Selva.
+ */
+class ValidationKernelTest {
+    private static final int[] DIR_X = { 1, -1, 0, 0 };
+    private static final int[] DIR_Y = { 0, 0, 1, -1 };
+
+    private GameFacade facade;
+    private TabletopProduct board;
+    private MoveValidator chain;
+    private ValidationKernel kernel;
+
+    @BeforeEach
+    void setUp() {
+        facade = SelvaFixture.newGame();
+        board = facade.getBoard();
+        chain = new BoundsValidator(new CellEntryValidator(new CaptureValidator(null)));
+        kernel = ValidationKernel.compile(chain);
+    }
+
+    @AfterEach
+    void tearDown() {
+        facade.close();
+    }
+
+    @Test
+    void kernelAgreesWithTheChainOnEveryMove() {
+        assertTrue(kernel.isFused());
+        BoardGeometry geometry = board.getGeometry();
+        int compared = 0;
+        for (PlayerSide side : PlayerSide.values()) {
+            for (PieceKind kind : PieceKind.values()) {
+                for (int from = 0; from < board.getWidth() * board.getHeight(); from++) {
+                    int ox = board.squareX(from), oy = board.squareY(from);
+                    // vizinhas (inclusive fora do tabuleiro) e destinos de salto
+                    for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+                        compared += compareAll(kind, side, ox, oy, ox + DIR_X[d], oy + DIR_Y[d]);
+                    }
+                    for (long jumps = geometry.jumpTargets(from); jumps != 0; jumps = Bitboards.withoutFirst(jumps)) {
+                        int to = Bitboards.first(jumps);
+                        compared += compareAll(kind, side, ox, oy, board.squareX(to), board.squareY(to));
+                    }
+                }
+            }
+        }
+        assertTrue(compared > 50_000, "jogadas comparadas: " + compared);
+    }
+
+    @Test
+    void captureRulesOfTheSelva() {
+        assertTrue(allows("Rato", 3, 2, "Elefante", 3, 1), "Rato captura o Elefante");
+        assertFalse(allows("Elefante", 3, 1, "Rato", 3, 2), "Elefante não captura o Rato");
+        assertTrue(allows("Leão", 3, 1, "Tigre", 3, 2), "força maior");
+        assertTrue(allows("Gato", 3, 1, "Gato", 3, 2), "força igual");
+        assertFalse(allows("Gato", 3, 1, "Cão", 3, 2), "força menor");
+        assertFalse(allows("Rato", 1, 3, "Elefante", 1, 2), "Rato na água não captura em terra");
+        assertFalse(allows("Rato", 0, 3, "Rato", 1, 3), "da terra não se captura na água");
+        assertTrue(allows("Rato", 1, 4, "Rato", 1, 3), "na água, Rato captura Rato");
+    }
+
+    @Test
+    void anyPieceCapturesAnEnemyOnItsTrap() {
+        // (0,2) é armadilha das brancas (SelvaCellCreator); fora dela o Gato não captura o Elefante
+        assertFalse(allows("Gato", 1, 1, "Elefante", 1, 2));
+        assertTrue(allows("Gato", 0, 1, "Elefante", 0, 2));
+    }
+
+    @Test
+    void piecesStayOutOfTheWaterAndTheirOwnDen() {
+        board.clearPieces();
+        Peca leao = SelvaFixture.place(board, "Leão", PlayerSide.WHITE, 1, 2);
+        assertFalse(kernel.validate(leao, board, 1, 2, 1, 3), "só o Rato entra na água");
+        Peca rato = SelvaFixture.place(board, "Rato", PlayerSide.WHITE, 2, 2);
+        assertTrue(kernel.validate(rato, board, 2, 2, 2, 3));
+        Peca gato = SelvaFixture.place(board, "Gato", PlayerSide.WHITE, 3, 1);
+        assertFalse(kernel.validate(gato, board, 3, 1, 3, 0), "a própria toca");
+        Peca inimigo = SelvaFixture.place(board, "Gato", PlayerSide.BLACK, 4, 0);
+        assertTrue(kernel.validate(inimigo, board, 4, 0, 3, 0), "a toca do adversário");
+    }
+
+    // compara kernel e cadeia com a casa de destino vazia e com cada peça possível nela
+    private int compareAll(PieceKind kind, PlayerSide side, int ox, int oy, int dx, int dy) {
+        int compared = compare(kind, side, ox, oy, dx, dy, null, null);
+        if (!board.isWithinBounds(dx, dy)) return compared;
+        for (PlayerSide defenderSide : PlayerSide.values()) {
+            for (PieceKind defender : PieceKind.values()) {
+                compared += compare(kind, side, ox, oy, dx, dy, defender, defenderSide);
+            }
+        }
+        return compared;
+    }
+
+    private int compare(PieceKind kind, PlayerSide side, int ox, int oy, int dx, int dy,
+                        PieceKind defender, PlayerSide defenderSide) {
+        board.clearPieces();
+        Peca peca = SelvaFixture.place(board, kind.getNome(), side, ox, oy);
+        if (defender != null) SelvaFixture.place(board, defender.getNome(), defenderSide, dx, dy);
+        assertEquals(chain.validate(peca, board, ox, oy, dx, dy), kernel.validate(peca, board, ox, oy, dx, dy),
+                     () -> kind + " " + side + " " + ox + "," + oy + " -> " + dx + "," + dy
+                           + " sobre " + defender + " " + defenderSide);
+        return 1;
+    }
+
+    private boolean allows(String attacker, int ox, int oy, String defender, int dx, int dy) {
+        board.clearPieces();
+        Peca peca = SelvaFixture.place(board, attacker, PlayerSide.WHITE, ox, oy);
+        SelvaFixture.place(board, defender, PlayerSide.BLACK, dx, dy);
+        boolean expected = chain.validate(peca, board, ox, oy, dx, dy);
+        assertEquals(expected, kernel.validate(peca, board, ox, oy, dx, dy));
+        return expected;
+    }
+}
@@ -0,0 +1,110 @@
+package search;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import builder.TabletopProduct;
+import context.Peca;
+import context.PlayerSide;
+import facade.GameFacade;
+import fixture.SelvaFixture;
+import movegen.PackedMove;
+
+/** Jogadas táticas que o motor precisa achar e a posição que ele não pode alterar. */
+class SearchEngineTest {
+    private GameFacade facade;
+    private TabletopProduct board;
+
+    @BeforeEach
+    void setUp() {
+        facade = SelvaFixture.newGame();
+        board = facade.getBoard();
+        board.clearPieces();
+    }
+
+    @AfterEach
+    void tearDown() {
+        facade.close();
+    }
+
+    @Test
+    void entersTheEnemyDen() {
+        place("Leão", PlayerSide.BLACK, 3, 1);
+        place("Elefante", PlayerSide.WHITE, 6, 2);
+        place("Gato", PlayerSide.WHITE, 0, 7);
+
+        SearchResult result = new SearchEngine().search(board, PlayerSide.BLACK, Long.MAX_VALUE, 4);
+
+        assertEquals(board.squareOf(3, 1), PackedMove.from(result.getBestMove()));
+        assertEquals(board.squareOf(3, 0), PackedMove.to(result.getBestMove()));
+        assertTrue(result.isMate() && result.getScore() > 0, "pontuação de vitória: " + result.getScore());
+    }
+
+    @Test
+    void capturesAnUndefendedPiece() {
+        place("Elefante", PlayerSide.WHITE, 0, 4);
+        place("Tigre", PlayerSide.BLACK, 0, 5);
+        place("Gato", PlayerSide.BLACK, 6, 8);
+
+        SearchResult result = new SearchEngine().search(board, PlayerSide.WHITE, Long.MAX_VALUE, 3);
+
+        assertEquals(board.squareOf(0, 5), PackedMove.to(result.getBestMove()));
+        assertTrue(PackedMove.isCapture(result.getBestMove()));
+        assertEquals(result.getBestMove(), result.getPrincipalVariation()[0]);
+    }
+
+    @Test
+    void leavesThePositionUntouched() {
+        place("Leão", PlayerSide.WHITE, 0, 0);
+        place("Rato", PlayerSide.WHITE, 0, 2);
+        place("Leão", PlayerSide.BLACK, 6, 8);
+        place("Rato", PlayerSide.BLACK, 6, 6);
+        long key = board.getZobristKey();
+        Peca[] before = new Peca[board.getWidth() * board.getHeight()];
+        for (int square = 0; square < before.length; square++) before[square] = board.getPieceAtSquare(square);
+
+        SearchResult result = new SearchEngine().search(board, PlayerSide.WHITE, Long.MAX_VALUE, 5);
+
+        Peca[] after = new Peca[before.length];
+        for (int square = 0; square < after.length; square++) after[square] = board.getPieceAtSquare(square);
+        assertEquals(key, board.getZobristKey());
+        assertArrayEquals(before, after);
+        assertEquals(5, result.getDepth());
+        assertTrue(facade.executeMove(board.getPieceAtSquare(PackedMove.from(result.getBestMove())).getNome(),
+                                      PlayerSide.WHITE,
+                                      board.squareX(PackedMove.from(result.getBestMove())),
+                                      board.squareY(PackedMove.from(result.getBestMove())),
+                                      board.squareX(PackedMove.to(result.getBestMove())),
+                                      board.squareY(PackedMove.to(result.getBestMove()))),
+                   "a jogada escolhida é aceita pela partida");
+    }
+
+    @Test
+    void helperThreadsShareTheSearch() {
+        place("Elefante", PlayerSide.WHITE, 0, 4);
+        place("Tigre", PlayerSide.BLACK, 0, 5);
+        place("Leão", PlayerSide.WHITE, 3, 1);
+        place("Leão", PlayerSide.BLACK, 3, 7);
+        long key = board.getZobristKey();
+
+        try (SearchEngine engine = new SearchEngine(TranspositionTable.ofMegabytes(1), 4)) {
+            for (int i = 0; i < 3; i++) {
+                SearchResult result = engine.search(board, PlayerSide.WHITE, Long.MAX_VALUE, 5);
+
+                assertEquals(4, result.getThreads());
+                assertEquals(5, result.getDepth());
+                assertEquals(board.squareOf(0, 5), PackedMove.to(result.getBestMove()));
+                assertEquals(key, board.getZobristKey());
+            }
+        }
+    }
+
+    private void place(String nome, PlayerSide side, int x, int y) {
+        SelvaFixture.place(board, nome, side, x, y);
+    }
+}